@@ -0,0 +1,310 @@
+package org.example.backend.analytics;
+
+import jakarta.annotation.PreDestroy;
+import org.example.backend.dto.ActivityPoint;
+import org.example.backend.dto.HourlyCount;
+import org.example.backend.entity.EnrollmentActivityRollupEntity.Granularity;
+import org.example.backend.event.EnrollmentProgressedEvent;
+import org.example.backend.repository.EnrollmentActivityRollupRepository;
+import org.example.backend.repository.EnrollmentRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Zeitreihen für Einschreibungen, Fortschrittsmeldungen und Abschlüsse je Kurs und Lernpfad.
+ * <p>
+ * Ein Rollup-Lauf verdichtet die Enrollments seit dem letzten Lauf (abzüglich {@code analytics.rollup.lookback}
+ * für spät committete Zeilen) zu Stunden-Zeilen in {@code enrollment_activity_rollups} und berechnet daraus die
+ * betroffenen Tage und Wochen neu. Fortschrittsmeldungen haben keinen Zeitstempel in der Datenbank; sie werden
+ * nach dem Commit im Speicher je Stunde gezählt und beim nächsten Lauf aufaddiert. Abfragen lesen nur die Rollups.
+ * <p>
+ * Nach einem Neustart setzt der erste Lauf beim jüngsten vorhandenen Stunden-Rollup wieder an, statt alles neu
+ * zu verdichten. Enrollments, die nachträglich mit einem alten Zeitstempel entstehen, erfasst erst {@link #rebuild()}.
+ * <p>
+ * Beim geordneten Herunterfahren schreibt ein letzter Lauf die gezählten Fortschrittsmeldungen weg. Endet der Prozess
+ * ohne Shutdown (Absturz, {@code kill -9}), gehen die Meldungen seit dem letzten Lauf verloren, also bis zu
+ * {@code analytics.rollup.interval}; auch {@link #rebuild()} stellt sie nicht wieder her.
+ */
+@Service
+public class EnrollmentAnalyticsService {
+
+    private static final Logger log = LoggerFactory.getLogger(EnrollmentAnalyticsService.class);
+
+    private static final String TABLE = "enrollment_activity_rollups";
+
+    private final EnrollmentRepository enrollmentRepository;
+    private final EnrollmentActivityRollupRepository rollupRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration lookback;
+    private final int maxPoints;
+
+    // merge/remove sind je Schlüssel atomar, beim Leeren geht also keine Meldung verloren
+    private final Map<ProgressKey, Long> pendingProgressUpdates = new ConcurrentHashMap<>();
+    // Ende des letzten erfolgreichen Laufs, null = aus der Tabelle ableiten
+    private volatile LocalDateTime rolledUpUntil;
+
+    public EnrollmentAnalyticsService(EnrollmentRepository enrollmentRepository,
+                                      EnrollmentActivityRollupRepository rollupRepository,
+                                      JdbcTemplate jdbcTemplate,
+                                      TransactionTemplate transactionTemplate,
+                                      @Value("${analytics.rollup.lookback:PT2H}") Duration lookback,
+                                      @Value("${analytics.max-points:10000}") int maxPoints) {
+        this.enrollmentRepository = enrollmentRepository;
+        this.rollupRepository = rollupRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.lookback = lookback;
+        this.maxPoints = maxPoints;
+    }
+
+    /**
+     * Summen je Zeitfenster im Bereich [from, to), optional auf einen Kurs oder Lernpfad eingeschränkt.
+     * Zeitfenster ohne Aktivität fehlen in der Liste.
+     */
+    public List<ActivityPoint> getActivity(Granularity granularity, LocalDateTime from, LocalDateTime to,
+                                           Long courseId, Long learningPathId) {
+        if (!from.isBefore(to)) {
+            throw new IllegalArgumentException("'from' must be before 'to'");
+        }
+        LocalDateTime start = granularity.truncate(from);
+        long points = Duration.between(start, to).toHours()
+                / Duration.between(start, granularity.next(start)).toHours();
+        if (points > maxPoints) {
+            throw new IllegalArgumentException("Range too large for granularity " + granularity + " (max " + maxPoints + " points)");
+        }
+        if (learningPathId != null) {
+            return rollupRepository.findSeriesByLearningPathId(granularity, start, to, learningPathId);
+        }
+        if (courseId != null) {
+            return rollupRepository.findSeriesByCourseId(granularity, start, to, courseId);
+        }
+        return rollupRepository.findSeries(granularity, start, to);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProgressUpdated(EnrollmentProgressedEvent event) {
+        ProgressKey key = new ProgressKey(event.courseId(), event.learningPathId(), Granularity.HOUR.truncate(event.occurredAt()));
+        pendingProgressUpdates.merge(key, (long) event.updates(), Long::sum);
+    }
+
+    /**
+     * Verdichtet alle Enrollments neu, z.B. nach einem Import mit alten Zeitstempeln.
+     */
+    public void rebuild() {
+        rollup(true);
+    }
+
+    /**
+     * Holt beim Start nach, was seit dem letzten Lauf vor dem Neustart angefallen ist. Ein Fehler darf den Start
+     * nicht verhindern; der geplante Lauf versucht es erneut.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rollupOnStartup() {
+        try {
+            rollup();
+        } catch (RuntimeException e) {
+            log.warn("Initial enrollment activity rollup failed, retrying on schedule: {}", e.getMessage());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${analytics.rollup.interval:PT5M}", initialDelayString = "${analytics.rollup.interval:PT5M}")
+    public void rollup() {
+        rollup(false);
+    }
+
+    /**
+     * Läuft nach {@link org.example.backend.service.ProgressUpdateBuffer#shutdown()}, dessen letzter Flush
+     * also noch mitgezählt wird.
+     */
+    @PreDestroy
+    public void shutdown() {
+        rollup();
+    }
+
+    private synchronized void rollup(boolean full) {
+        long started = System.nanoTime();
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime to = Granularity.HOUR.next(Granularity.HOUR.truncate(now));
+        LocalDateTime from = full ? enrollmentRepository.findFirstEnrolledAt() : incrementalStart();
+
+        Map<ProgressKey, Long> progress = drainProgressUpdates();
+        for (ProgressKey key : progress.keySet()) {
+            if (from == null || key.bucketStart().isBefore(from)) {
+                from = key.bucketStart();
+            }
+        }
+        if (from == null) {
+            rolledUpUntil = now;
+            return;
+        }
+        LocalDateTime rangeStart = Granularity.HOUR.truncate(from);
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                rollupHours(rangeStart, to, progress);
+                rebuildFromHours(Granularity.DAY, rangeStart, to);
+                rebuildFromHours(Granularity.WEEK, rangeStart, to);
+            });
+        } catch (RuntimeException e) {
+            // Gepufferte Fortschrittsmeldungen nicht verlieren, der nächste Lauf versucht es erneut
+            progress.forEach((key, count) -> pendingProgressUpdates.merge(key, count, Long::sum));
+            throw e;
+        }
+        rolledUpUntil = now;
+        log.debug("Rolled up enrollment activity from {} to {} in {} ms", rangeStart, to, (System.nanoTime() - started) / 1_000_000);
+    }
+
+    /**
+     * Beginn eines inkrementellen Laufs. Ohne Lauf seit dem Start dient das jüngste Stunden-Rollup als Stand:
+     * alles davor ist bereits verdichtet, ab dort wird (abzüglich lookback) neu gezählt. Gibt es noch keines,
+     * wird vollständig aufgebaut.
+     */
+    private LocalDateTime incrementalStart() {
+        LocalDateTime until = rolledUpUntil;
+        if (until == null) {
+            until = rollupRepository.findLastBucketStart(Granularity.HOUR);
+            if (until == null) {
+                return enrollmentRepository.findFirstEnrolledAt();
+            }
+        }
+        return Granularity.HOUR.truncate(until.minus(lookback));
+    }
+
+    private Map<ProgressKey, Long> drainProgressUpdates() {
+        Map<ProgressKey, Long> drained = new HashMap<>();
+        for (ProgressKey key : pendingProgressUpdates.keySet()) {
+            Long count = pendingProgressUpdates.remove(key);
+            if (count != null) {
+                drained.put(key, count);
+            }
+        }
+        return drained;
+    }
+
+    /**
+     * Stunden-Zeilen: Einschreibungen und Abschlüsse werden aus den Rohdaten neu gesetzt,
+     * Fortschrittsmeldungen aufaddiert, da sie sich nicht aus den Enrollments rekonstruieren lassen.
+     */
+    private void rollupHours(LocalDateTime from, LocalDateTime to, Map<ProgressKey, Long> progress) {
+        Map<BucketKey, Counts> hours = new HashMap<>();
+        for (HourlyCount count : enrollmentRepository.countEnrollmentsPerHour(from, to)) {
+            counts(hours, count).enrollments += count.count();
+        }
+        for (HourlyCount count : enrollmentRepository.countCompletionsPerHour(from, to)) {
+            counts(hours, count).completions += count.count();
+        }
+        progress.forEach((key, updates) -> hours.computeIfAbsent(new BucketKey(key.learningPathId(), key.bucketStart()),
+                k -> new Counts(key.courseId())).progressUpdates += updates);
+
+        // Gelöschte Enrollments: was im Bereich nicht mehr vorkommt, fällt auf 0
+        jdbcTemplate.update("UPDATE " + TABLE + " SET enrollments = 0, completions = 0 " +
+                "WHERE granularity = ? AND bucket_start >= ? AND bucket_start < ?",
+                Granularity.HOUR.name(), Timestamp.valueOf(from), Timestamp.valueOf(to));
+
+        Set<BucketKey> existing = findExistingKeys(Granularity.HOUR, from, to);
+        List<Object[]> updates = new ArrayList<>();
+        List<Object[]> inserts = new ArrayList<>();
+        hours.forEach((key, counts) -> {
+            if (existing.contains(key)) {
+                updates.add(new Object[]{counts.enrollments, counts.completions, counts.progressUpdates,
+                        Granularity.HOUR.name(), key.learningPathId(), Timestamp.valueOf(key.bucketStart())});
+            } else {
+                inserts.add(insertArgs(Granularity.HOUR, key, counts));
+            }
+        });
+        jdbcTemplate.batchUpdate("UPDATE " + TABLE + " SET enrollments = ?, completions = ?, " +
+                "progress_updates = progress_updates + ? " +
+                "WHERE granularity = ? AND learning_path_id = ? AND bucket_start = ?", updates);
+        insert(inserts);
+    }
+
+    /**
+     * Tage und Wochen werden vollständig aus den Stunden-Zeilen der betroffenen Zeitfenster neu berechnet.
+     */
+    private void rebuildFromHours(Granularity granularity, LocalDateTime from, LocalDateTime to) {
+        LocalDateTime start = granularity.truncate(from);
+        LocalDateTime end = granularity.next(granularity.truncate(to.minusNanos(1)));
+        Map<BucketKey, Counts> buckets = new HashMap<>();
+        jdbcTemplate.query("SELECT course_id, learning_path_id, bucket_start, enrollments, completions, progress_updates " +
+                        "FROM " + TABLE + " WHERE granularity = ? AND bucket_start >= ? AND bucket_start < ?",
+                (RowCallbackHandler) rs -> {
+                    BucketKey key = new BucketKey(rs.getLong(2), granularity.truncate(rs.getTimestamp(3).toLocalDateTime()));
+                    long courseId = rs.getLong(1);
+                    Counts counts = buckets.computeIfAbsent(key, k -> new Counts(courseId));
+                    counts.enrollments += rs.getLong(4);
+                    counts.completions += rs.getLong(5);
+                    counts.progressUpdates += rs.getLong(6);
+                },
+                Granularity.HOUR.name(), Timestamp.valueOf(start), Timestamp.valueOf(end));
+
+        jdbcTemplate.update("DELETE FROM " + TABLE + " WHERE granularity = ? AND bucket_start >= ? AND bucket_start < ?",
+                granularity.name(), Timestamp.valueOf(start), Timestamp.valueOf(end));
+        List<Object[]> inserts = new ArrayList<>(buckets.size());
+        buckets.forEach((key, counts) -> inserts.add(insertArgs(granularity, key, counts)));
+        insert(inserts);
+    }
+
+    private Set<BucketKey> findExistingKeys(Granularity granularity, LocalDateTime from, LocalDateTime to) {
+        Set<BucketKey> keys = new HashSet<>();
+        jdbcTemplate.query("SELECT learning_path_id, bucket_start FROM " + TABLE +
+                        " WHERE granularity = ? AND bucket_start >= ? AND bucket_start < ?",
+                (RowCallbackHandler) rs -> keys.add(new BucketKey(rs.getLong(1), rs.getTimestamp(2).toLocalDateTime())),
+                granularity.name(), Timestamp.valueOf(from), Timestamp.valueOf(to));
+        return keys;
+    }
+
+    private void insert(List<Object[]> rows) {
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate("INSERT INTO " + TABLE + " (granularity, bucket_start, course_id, learning_path_id, " +
+                    "enrollments, completions, progress_updates) VALUES (?, ?, ?, ?, ?, ?, ?)", rows);
+        }
+    }
+
+    private static Object[] insertArgs(Granularity granularity, BucketKey key, Counts counts) {
+        return new Object[]{granularity.name(), Timestamp.valueOf(key.bucketStart()), counts.courseId,
+                key.learningPathId(), counts.enrollments, counts.completions, counts.progressUpdates};
+    }
+
+    private static Counts counts(Map<BucketKey, Counts> hours, HourlyCount count) {
+        return hours.computeIfAbsent(new BucketKey(count.learningPathId(), count.bucketStart()),
+                k -> new Counts(count.courseId()));
+    }
+
+    private record BucketKey(Long learningPathId, LocalDateTime bucketStart) {
+    }
+
+    private record ProgressKey(Long courseId, Long learningPathId, LocalDateTime bucketStart) {
+    }
+
+    private static final class Counts {
+        private final Long courseId;
+        private long enrollments;
+        private long completions;
+        private long progressUpdates;
+
+        private Counts(Long courseId) {
+            this.courseId = courseId;
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package org.example.backend.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.example.backend.dto.CourseResponse;
+import org.example.backend.dto.LearningContentResponse;
+import org.example.backend.dto.LearningPathResponse;
+import org.example.backend.event.CatalogChangedEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Lokaler Read-Through-Cache für den Kurskatalog. Es werden nur unveränderliche DTOs abgelegt,
+ * nie verwaltete Entities. Jeder Eintrag ist größen- und zeitbegrenzt; Änderungen in CourseService
+ * entfernen gezielt die betroffenen Einträge (siehe {@link #invalidate(CatalogChangedEvent)}).
+ */
+@Component
+public class CatalogCache {
+
+    private final Cache<PageKey, CatalogSnapshot> catalogPages;
+    private final Cache<Long, Optional<CourseResponse>> courses;
+    private final Cache<Long, List<LearningPathResponse>> learningPaths;
+    private final Cache<Long, List<LearningContentResponse>> contents;
+    private final AtomicLong catalogVersion = new AtomicLong();
+
+    public CatalogCache(@Value("${catalog.cache.max-size:10000}") long maxSize,
+                        @Value("${catalog.cache.ttl:PT10M}") Duration ttl) {
+        this.catalogPages = build(maxSize, ttl);
+        this.courses = build(maxSize, ttl);
+        this.learningPaths = build(maxSize, ttl);
+        this.contents = build(maxSize, ttl);
+    }
+
+    private static <K, V> Cache<K, V> build(long maxSize, Duration ttl) {
+        return Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+
+    public CatalogSnapshot getCatalogPage(Long afterId, int limit, Function<PageKey, CatalogSnapshot> loader) {
+        PageKey key = new PageKey(afterId, limit);
+        CatalogSnapshot snapshot = catalogPages.get(key, loader);
+        if (snapshot.version() != catalogVersion.get()) {
+            // Während des Renderns hat sich der Katalog geändert: veraltete Seite verwerfen und neu aufbauen
+            catalogPages.asMap().remove(key, snapshot);
+            snapshot = catalogPages.get(key, loader);
+        }
+        return snapshot;
+    }
+
+    public Optional<CourseResponse> getCourse(Long courseId, Function<Long, Optional<CourseResponse>> loader) {
+        return courses.get(courseId, loader);
+    }
+
+    public List<LearningPathResponse> getLearningPaths(Long courseId, Function<Long, List<LearningPathResponse>> loader) {
+        return learningPaths.get(courseId, loader);
+    }
+
+    public List<LearningContentResponse> getContents(Long learningPathId, Function<Long, List<LearningContentResponse>> loader) {
+        return contents.get(learningPathId, loader);
+    }
+
+    /**
+     * Entfernt genau die Einträge, die durch die Änderung veraltet sind.
+     * Katalogseiten enthalten Kurse samt Lernpfaden und werden bei Kurs- und Lernpfadänderungen komplett verworfen.
+     */
+    public void invalidate(CatalogChangedEvent event) {
+        switch (event.type()) {
+            case COURSE -> {
+                bumpVersion();
+                if (event.courseId() != null) {
+                    courses.invalidate(event.courseId());
+                    learningPaths.invalidate(event.courseId());
+                } else {
+                    courses.invalidateAll();
+                    learningPaths.invalidateAll();
+                }
+                // Beim Löschen eines Kurses verschwinden auch dessen Inhalte; deren Pfad-IDs sind hier unbekannt
+                contents.invalidateAll();
+            }
+            case LEARNING_PATH -> {
+                bumpVersion();
+                if (event.courseId() != null) {
+                    courses.invalidate(event.courseId());
+                    learningPaths.invalidate(event.courseId());
+                }
+                if (event.learningPathId() != null) {
+                    contents.invalidate(event.learningPathId());
+                }
+            }
+            case CONTENT -> {
+                if (event.learningPathId() != null) {
+                    contents.invalidate(event.learningPathId());
+                } else {
+                    contents.invalidateAll();
+                }
+            }
+        }
+    }
+
+    public void invalidateAll() {
+        bumpVersion();
+        courses.invalidateAll();
+        learningPaths.invalidateAll();
+        contents.invalidateAll();
+    }
+
+    /**
+     * Zählt bei jeder Änderung an Kursen oder Lernpfaden hoch; zu älteren Versionen gerenderte Seiten werden verworfen.
+     */
+    public long getCatalogVersion() {
+        return catalogVersion.get();
+    }
+
+    private void bumpVersion() {
+        catalogVersion.incrementAndGet();
+        catalogPages.invalidateAll();
+    }
+
+    public Map<String, Map<String, Object>> getStatistics() {
+        Map<String, Map<String, Object>> statistics = new LinkedHashMap<>();
+        statistics.put("catalog", Map.of("version", catalogVersion.get()));
+        statistics.put("catalogPages", describe(catalogPages));
+        statistics.put("courses", describe(courses));
+        statistics.put("learningPaths", describe(learningPaths));
+        statistics.put("contents", describe(contents));
+        return statistics;
+    }
+
+    private static Map<String, Object> describe(Cache<?, ?> cache) {
+        CacheStats stats = cache.stats();
+        Map<String, Object> values = new LinkedHashMap<>();
+        values.put("size", cache.estimatedSize());
+        values.put("hits", stats.hitCount());
+        values.put("misses", stats.missCount());
+        values.put("hitRate", stats.hitRate());
+        values.put("evictions", stats.evictionCount());
+        values.put("averageLoadMillis", stats.averageLoadPenalty() / 1_000_000.0);
+        return values;
+    }
+
+    public record PageKey(Long afterId, int limit) {
+    }
+
+    /**
+     * Fertig serialisierte Katalogseite samt starkem ETag (Hash über die Bytes) und Cursor der Folgeseite
+     */
+    public record CatalogSnapshot(long version, byte[] json, String etag, Long nextCursor) {
+    }
+}
@@ -0,0 +1,106 @@
+package org.example.backend.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.backend.event.CatalogChangedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Leert nach dem Commit einer Katalogänderung den lokalen Cache und benachrichtigt die übrigen Instanzen.
+ * Die Peers werden per HTTP an {@code /api/admin/cache/catalog/invalidate} informiert; schlägt das fehl,
+ * sorgt die TTL des Caches spätestens nach deren Ablauf für konsistente Daten.
+ */
+@Component
+public class CatalogCacheInvalidator {
+
+    public static final String PEER_TOKEN_HEADER = "X-Cache-Token";
+    private static final String INVALIDATE_PATH = "/api/admin/cache/catalog/invalidate";
+
+    private static final Logger log = LoggerFactory.getLogger(CatalogCacheInvalidator.class);
+
+    private final CatalogCache catalogCache;
+    private final ObjectMapper objectMapper;
+    private final List<URI> peers;
+    private final String peerToken;
+    private final HttpClient httpClient;
+
+    public CatalogCacheInvalidator(CatalogCache catalogCache,
+                                   ObjectMapper objectMapper,
+                                   @Value("${catalog.cache.peers:}") String peers,
+                                   @Value("${catalog.cache.peer-token:}") String peerToken) {
+        this.catalogCache = catalogCache;
+        this.objectMapper = objectMapper;
+        this.peers = Arrays.stream(peers.split(","))
+                .map(String::trim)
+                .filter(peer -> !peer.isEmpty())
+                .map(peer -> URI.create(peer.replaceAll("/+$", "") + INVALIDATE_PATH))
+                .toList();
+        this.peerToken = peerToken;
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(2))
+                .build();
+    }
+
+    // Erst nach dem Commit invalidieren, sonst könnte ein paralleler Leser den alten Stand erneut cachen
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        catalogCache.invalidate(event);
+        broadcast(event);
+    }
+
+    /**
+     * Von einer anderen Instanz gemeldete Änderung; wird nur lokal angewendet und nicht weitergereicht.
+     */
+    public boolean applyRemote(CatalogChangedEvent event, String token) {
+        // Vergleich in konstanter Zeit, die Laufzeit verrät nicht, wie viele Zeichen stimmen
+        if (peerToken.isBlank() || token == null
+                || !MessageDigest.isEqual(peerToken.getBytes(StandardCharsets.UTF_8), token.getBytes(StandardCharsets.UTF_8))) {
+            return false;
+        }
+        catalogCache.invalidate(event);
+        return true;
+    }
+
+    private void broadcast(CatalogChangedEvent event) {
+        if (peers.isEmpty()) {
+            return;
+        }
+        String body;
+        try {
+            body = objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            log.warn("Could not serialize catalog invalidation: {}", e.getMessage());
+            return;
+        }
+        for (URI peer : peers) {
+            HttpRequest request = HttpRequest.newBuilder(peer)
+                    .timeout(Duration.ofSeconds(5))
+                    .header("Content-Type", "application/json")
+                    .header(PEER_TOKEN_HEADER, peerToken)
+                    .POST(HttpRequest.BodyPublishers.ofString(body))
+                    .build();
+            httpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, error) -> {
+                        if (error != null) {
+                            log.warn("Catalog invalidation to {} failed: {}", peer, error.getMessage());
+                        } else if (response.statusCode() / 100 != 2) {
+                            log.warn("Catalog invalidation to {} was rejected with status {}", peer, response.statusCode());
+                        }
+                    });
+        }
+    }
+}
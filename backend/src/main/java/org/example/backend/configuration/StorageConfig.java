@@ -0,0 +1,37 @@
+package org.example.backend.configuration;
+
+import org.example.backend.storage.BlobStorage;
+import org.example.backend.storage.LocalFileSystemBlobStorage;
+import org.example.backend.storage.S3BlobStorage;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.net.URI;
+import java.nio.file.Paths;
+import java.time.Clock;
+import java.time.Duration;
+
+@Configuration
+public class StorageConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "storage.type", havingValue = "local", matchIfMissing = true)
+    public BlobStorage localBlobStorage(@Value("${storage.local.root:uploads}") String root) {
+        return new LocalFileSystemBlobStorage(Paths.get(root));
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "storage.type", havingValue = "s3")
+    public BlobStorage s3BlobStorage(@Value("${storage.s3.endpoint}") URI endpoint,
+                                     @Value("${storage.s3.bucket}") String bucket,
+                                     @Value("${storage.s3.region:us-east-1}") String region,
+                                     @Value("${storage.s3.access-key}") String accessKey,
+                                     @Value("${storage.s3.secret-key}") String secretKey,
+                                     @Value("${storage.s3.path-style-access:true}") boolean pathStyleAccess,
+                                     @Value("${storage.s3.presign-expiry:PT15M}") Duration presignExpiry) {
+        return new S3BlobStorage(endpoint, bucket, region, accessKey, secretKey,
+                pathStyleAccess, presignExpiry, Clock.systemUTC());
+    }
+}
@@ -1,51 +1,111 @@
 package org.example.backend.controller;
 
+import org.example.backend.analytics.EnrollmentAnalyticsService;
+import org.example.backend.cache.CatalogCache;
+import org.example.backend.cache.CatalogCacheInvalidator;
+import org.example.backend.dto.ActivityPoint;
 import org.example.backend.dto.AdminStatisticsResponse;
-import org.example.backend.repository.CourseRepository;
-import org.example.backend.repository.EnrollmentRepository;
-import org.example.backend.repository.TeacherRepository;
-import org.example.backend.repository.UserRepository;
+import org.example.backend.entity.EnrollmentActivityRollupEntity.Granularity;
+import org.example.backend.event.CatalogChangedEvent;
+import org.example.backend.points.PointsService;
+import org.example.backend.statistics.PlatformStatistics;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
 @RestController
 @RequestMapping("/api/admin")
 @CrossOrigin(origins = "http://localhost:5173")
 public class AdminController {
 
-    private final UserRepository userRepository;
-    private final TeacherRepository teacherRepository;
-    private final CourseRepository courseRepository;
-    private final EnrollmentRepository enrollmentRepository;
+    private final PlatformStatistics platformStatistics;
+    private final CatalogCache catalogCache;
+    private final CatalogCacheInvalidator catalogCacheInvalidator;
+    private final EnrollmentAnalyticsService enrollmentAnalyticsService;
+    private final PointsService pointsService;
 
-    public AdminController(UserRepository userRepository,
-                           TeacherRepository teacherRepository,
-                           CourseRepository courseRepository,
-                           EnrollmentRepository enrollmentRepository) {
-        this.userRepository = userRepository;
-        this.teacherRepository = teacherRepository;
-        this.courseRepository = courseRepository;
-        this.enrollmentRepository = enrollmentRepository;
+    public AdminController(PlatformStatistics platformStatistics,
+                           CatalogCache catalogCache,
+                           CatalogCacheInvalidator catalogCacheInvalidator,
+                           EnrollmentAnalyticsService enrollmentAnalyticsService,
+                           PointsService pointsService) {
+        this.platformStatistics = platformStatistics;
+        this.catalogCache = catalogCache;
+        this.catalogCacheInvalidator = catalogCacheInvalidator;
+        this.enrollmentAnalyticsService = enrollmentAnalyticsService;
+        this.pointsService = pointsService;
     }
 
+    // Aus dem Speicher, die Zähler werden nach jedem Commit fortgeschrieben (siehe PlatformStatistics)
     @GetMapping("/statistics")
     public ResponseEntity<AdminStatisticsResponse> getStatistics() {
-        long totalStudents = userRepository.count();
-        long totalTeachers = teacherRepository.count();
-        long totalCourses = courseRepository.count();
-        long totalEnrollments = enrollmentRepository.count();
-
-        // TODO: Implementiere Certificates wenn Entity existiert
-        long totalCertificates = 0;
-
-        AdminStatisticsResponse stats = new AdminStatisticsResponse(
-                totalStudents,
-                totalTeachers,
-                totalEnrollments,
-                totalCertificates,
-                totalCourses
-        );
-
-        return ResponseEntity.ok(stats);
+        return ResponseEntity.ok(platformStatistics.snapshot());
+    }
+
+    // Zeitreihe aus den vorverdichteten Rollups, z.B. ?granularity=DAY&from=2025-01-01T00:00&to=2026-01-01T00:00&courseId=1
+    @GetMapping("/analytics/activity")
+    public ResponseEntity<?> getActivity(
+            @RequestParam(defaultValue = "DAY") Granularity granularity,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) Long courseId,
+            @RequestParam(required = false) Long learningPathId) {
+        try {
+            List<ActivityPoint> points = enrollmentAnalyticsService.getActivity(granularity, from, to, courseId, learningPathId);
+            return ResponseEntity.ok(points);
+        } catch (IllegalArgumentException e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        }
+    }
+
+    // Verdichtet sofort, mit full=true alle Enrollments neu (z.B. nach einem Import mit alten Zeitstempeln)
+    @PostMapping("/analytics/rollup")
+    public ResponseEntity<Void> rollupAnalytics(@RequestParam(defaultValue = "false") boolean full) {
+        if (full) {
+            enrollmentAnalyticsService.rebuild();
+        } else {
+            enrollmentAnalyticsService.rollup();
+        }
+        return ResponseEntity.noContent().build();
+    }
+
+    // Fehlende Punkte nachbuchen und die Ranglisten aus dem Punktekonto neu aufbauen
+    @PostMapping("/points/reconcile")
+    public ResponseEntity<Void> reconcilePoints() {
+        pointsService.reconcile();
+        return ResponseEntity.noContent().build();
+    }
+
+    // Trefferquote, Größe und Ladezeiten des Katalog-Caches
+    @GetMapping("/cache/catalog")
+    public ResponseEntity<Map<String, Map<String, Object>>> getCatalogCacheStatistics() {
+        return ResponseEntity.ok(catalogCache.getStatistics());
+    }
+
+    @DeleteMapping("/cache/catalog")
+    public ResponseEntity<Map<String, String>> clearCatalogCache() {
+        catalogCache.invalidateAll();
+        Map<String, String> response = new HashMap<>();
+        response.put("message", "Catalog cache cleared");
+        return ResponseEntity.ok(response);
+    }
+
+    // Wird von anderen Instanzen aufgerufen, wenn sich dort der Katalog geändert hat
+    @PostMapping("/cache/catalog/invalidate")
+    public ResponseEntity<Void> invalidateCatalogCache(
+            @RequestBody CatalogChangedEvent event,
+            @RequestHeader(value = CatalogCacheInvalidator.PEER_TOKEN_HEADER, required = false) String token) {
+        if (!catalogCacheInvalidator.applyRemote(event, token)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        return ResponseEntity.noContent().build();
     }
 }
\ No newline at end of file
@@ -2,6 +2,7 @@ package org.example.backend.controller;
 
 import org.example.backend.entity.BookEntity;
 import org.example.backend.service.BookService;
+import org.example.backend.util.KeysetPagination;
 import org.springframework.core.io.Resource;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
@@ -11,10 +12,11 @@ import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.net.URI;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/books")
@@ -22,9 +24,11 @@ import java.util.stream.Collectors;
 public class BookController {
 
     private final BookService bookService;
+    private final KeysetPagination pagination;
 
-    public BookController(BookService bookService) {
+    public BookController(BookService bookService, KeysetPagination pagination) {
         this.bookService = bookService;
+        this.pagination = pagination;
     }
 
     @PostMapping
@@ -54,10 +58,10 @@ public class BookController {
     }
 
     @GetMapping
-    public ResponseEntity<List<Map<String, Object>>> getAllBooks() {
-        List<BookEntity> books = bookService.getAllBooks();
-
-        List<Map<String, Object>> response = books.stream().map(book -> {
+    public ResponseEntity<List<Map<String, Object>>> getAllBooks(
+            @RequestParam(value = "after", required = false) Long after,
+            @RequestParam(value = "limit", required = false) Integer limit) {
+        return pagination.page(after, limit, bookService::getBooks, BookEntity::getId, book -> {
             Map<String, Object> bookMap = new HashMap<>();
             bookMap.put("id", book.getId());
             bookMap.put("title", book.getTitle());
@@ -66,9 +70,7 @@ public class BookController {
             bookMap.put("courseId", book.getCourseId());
             bookMap.put("icon", book.getIcon());
             return bookMap;
-        }).collect(Collectors.toList());
-
-        return ResponseEntity.ok(response);
+        });
     }
 
     @GetMapping("/{id}")
@@ -138,13 +140,21 @@ public class BookController {
     @GetMapping("/{id}/download")
     public ResponseEntity<Resource> downloadBookFile(@PathVariable Long id) {
         try {
-            Resource resource = bookService.getBookFileAsResource(id);
             BookEntity book = bookService.getBookById(id);
+            String downloadFileName = book.getTitle().replaceAll("\\s+", "_") + ".pdf";
+
+            // Liegt die Datei in einem Object Store, lädt der Client sie direkt von dort
+            Optional<URI> presignedUrl = bookService.getPresignedDownloadUrl(book, downloadFileName);
+            if (presignedUrl.isPresent()) {
+                return ResponseEntity.status(HttpStatus.FOUND).location(presignedUrl.get()).build();
+            }
+
+            Resource resource = bookService.getBookFileAsResource(id);
 
             return ResponseEntity.ok()
                     .contentType(MediaType.APPLICATION_OCTET_STREAM)
                     .header(HttpHeaders.CONTENT_DISPOSITION,
-                            "attachment; filename=\"" + book.getTitle().replaceAll("\\s+", "_") + ".pdf\"")
+                            "attachment; filename=\"" + downloadFileName + "\"")
                     .body(resource);
         } catch (Exception e) {
             e.printStackTrace();
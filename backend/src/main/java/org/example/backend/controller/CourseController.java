@@ -1,16 +1,35 @@
 package org.example.backend.controller;
 
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
+import org.example.backend.cache.CatalogCache;
+import org.example.backend.dto.CatalogMapper;
+import org.example.backend.dto.ContentOrderRequest;
+import org.example.backend.dto.CourseOverviewResponse;
+import org.example.backend.dto.CourseRequest;
+import org.example.backend.dto.CourseResponse;
+import org.example.backend.dto.LearningContentRequest;
+import org.example.backend.dto.LearningContentResponse;
+import org.example.backend.dto.LearningPathRequest;
+import org.example.backend.dto.LearningPathResponse;
 import org.example.backend.entity.CourseEntity;
 import org.example.backend.entity.LearningPathEntity;
 import org.example.backend.entity.LearningContentEntity;
+import org.example.backend.service.CatalogSnapshotService;
+import org.example.backend.service.CoursePurgeService;
 import org.example.backend.service.CourseService;
+import org.example.backend.service.CurriculumTransferService;
+import org.example.backend.util.KeysetPagination;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/courses")
@@ -18,125 +37,105 @@ import java.util.stream.Collectors;
 public class CourseController {
 
     private final CourseService courseService;
-
-    public CourseController(CourseService courseService) {
+    private final CatalogSnapshotService catalogSnapshotService;
+    private final CurriculumTransferService curriculumTransferService;
+    private final CoursePurgeService coursePurgeService;
+    private final KeysetPagination pagination;
+
+    public CourseController(CourseService courseService,
+                            CatalogSnapshotService catalogSnapshotService,
+                            CurriculumTransferService curriculumTransferService,
+                            CoursePurgeService coursePurgeService,
+                            KeysetPagination pagination) {
         this.courseService = courseService;
+        this.catalogSnapshotService = catalogSnapshotService;
+        this.curriculumTransferService = curriculumTransferService;
+        this.coursePurgeService = coursePurgeService;
+        this.pagination = pagination;
     }
 
     @GetMapping
-    public ResponseEntity<List<Map<String, Object>>> getAllCourses() {
-        List<CourseEntity> courses = courseService.getAllCourses();
-
-        List<Map<String, Object>> response = courses.stream().map(course -> {
-            Map<String, Object> courseMap = new HashMap<>();
-            courseMap.put("id", course.getId());
-            courseMap.put("name", course.getName());
-            courseMap.put("description", course.getDescription());
+    public ResponseEntity<byte[]> getAllCourses(
+            @RequestParam(value = "after", required = false) Long after,
+            @RequestParam(value = "limit", required = false) Integer limit) {
+        CatalogCache.CatalogSnapshot page = catalogSnapshotService.getCatalogPage(after, limit);
+
+        // Bei passendem If-None-Match antwortet Spring anhand des ETags mit 304 ohne Body
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .eTag(page.etag())
+                .cacheControl(CacheControl.noCache());
+        if (page.nextCursor() != null) {
+            response.header(KeysetPagination.NEXT_CURSOR_HEADER, String.valueOf(page.nextCursor()));
+        }
+        return response.body(page.json());
+    }
 
-            List<Map<String, Object>> paths = course.getLearningPaths().stream().map(path -> {
-                Map<String, Object> pathMap = new HashMap<>();
-                pathMap.put("id", path.getId());
-                pathMap.put("level", path.getLevel());
-                pathMap.put("points", path.getPoints());
-                pathMap.put("durationWeeks", path.getDurationWeeks());
-                pathMap.put("overview", path.getOverview());
-                return pathMap;
-            }).collect(Collectors.toList());
+    // Kurse samt Lernpfaden, Inhaltszahlen und Einschreibungen in einer Antwort statt vieler Einzelabfragen
+    @GetMapping("/overview")
+    public ResponseEntity<List<CourseOverviewResponse>> getCourseOverview(
+            @RequestParam(value = "after", required = false) Long after,
+            @RequestParam(value = "limit", required = false) Integer limit) {
+        return pagination.page(after, limit, courseService::getCourseOverview, CourseOverviewResponse::id, overview -> overview);
+    }
 
-            courseMap.put("learningPaths", paths);
-            return courseMap;
-        }).collect(Collectors.toList());
+    // Lehrplan als JSON Lines: eine Zeile je Kurs, Lernpfad bzw. Inhalt (Format siehe CurriculumRecord)
+    @PostMapping("/import")
+    public ResponseEntity<Map<String, Object>> importCurriculum(HttpServletRequest request) {
+        try {
+            CurriculumTransferService.ImportResult result = curriculumTransferService.importCurriculum(request.getInputStream());
+            Map<String, Object> response = new HashMap<>();
+            response.put("courses", result.courses());
+            response.put("learningPaths", result.learningPaths());
+            response.put("contents", result.contents());
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            Map<String, Object> error = new HashMap<>();
+            error.put("error", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        }
+    }
 
-        return ResponseEntity.ok(response);
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportCurriculum(
+            @RequestParam(value = "courseId", required = false) Long courseId) {
+        if (courseId != null && courseService.getCourseById(courseId).isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        String filename = courseId != null ? "curriculum-" + courseId + ".jsonl" : "curriculum.jsonl";
+        StreamingResponseBody body = out -> curriculumTransferService.exportCurriculum(courseId, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/x-ndjson"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
+                .body(body);
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Map<String, Object>> getCourseById(@PathVariable Long id) {
-        return courseService.getCourseById(id)
-                .map(course -> {
-                    Map<String, Object> courseMap = new HashMap<>();
-                    courseMap.put("id", course.getId());
-                    courseMap.put("name", course.getName());
-                    courseMap.put("description", course.getDescription());
-
-                    List<Map<String, Object>> paths = course.getLearningPaths().stream().map(path -> {
-                        Map<String, Object> pathMap = new HashMap<>();
-                        pathMap.put("id", path.getId());
-                        pathMap.put("level", path.getLevel());
-                        pathMap.put("points", path.getPoints());
-                        pathMap.put("durationWeeks", path.getDurationWeeks());
-                        pathMap.put("overview", path.getOverview());
-                        return pathMap;
-                    }).collect(Collectors.toList());
-
-                    courseMap.put("learningPaths", paths);
-                    return ResponseEntity.ok(courseMap);
-                })
+    public ResponseEntity<CourseResponse> getCourseById(@PathVariable Long id) {
+        return courseService.getCourseResponseById(id)
+                .map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
     }
 
     @GetMapping("/name/{name}")
-    public ResponseEntity<Map<String, Object>> getCourseByName(@PathVariable String name) {
-        return courseService.getCourseByName(name)
-                .map(course -> {
-                    Map<String, Object> courseMap = new HashMap<>();
-                    courseMap.put("id", course.getId());
-                    courseMap.put("name", course.getName());
-                    courseMap.put("description", course.getDescription());
-
-                    List<Map<String, Object>> paths = course.getLearningPaths().stream().map(path -> {
-                        Map<String, Object> pathMap = new HashMap<>();
-                        pathMap.put("id", path.getId());
-                        pathMap.put("level", path.getLevel());
-                        pathMap.put("points", path.getPoints());
-                        pathMap.put("durationWeeks", path.getDurationWeeks());
-                        pathMap.put("overview", path.getOverview());
-                        return pathMap;
-                    }).collect(Collectors.toList());
-
-                    courseMap.put("learningPaths", paths);
-                    return ResponseEntity.ok(courseMap);
-                })
+    public ResponseEntity<CourseResponse> getCourseByName(@PathVariable String name) {
+        return courseService.getCourseResponseByName(name)
+                .map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
     }
 
     @GetMapping("/{courseId}/paths")
-    public ResponseEntity<List<Map<String, Object>>> getLearningPaths(@PathVariable Long courseId) {
-        List<LearningPathEntity> paths = courseService.getLearningPathsByCourseId(courseId);
-
-        List<Map<String, Object>> response = paths.stream().map(path -> {
-            Map<String, Object> pathMap = new HashMap<>();
-            pathMap.put("id", path.getId());
-            pathMap.put("level", path.getLevel());
-            pathMap.put("points", path.getPoints());
-            pathMap.put("durationWeeks", path.getDurationWeeks());
-            pathMap.put("overview", path.getOverview());
-            return pathMap;
-        }).collect(Collectors.toList());
-
-        return ResponseEntity.ok(response);
+    public ResponseEntity<List<LearningPathResponse>> getLearningPaths(@PathVariable Long courseId) {
+        return ResponseEntity.ok(courseService.getLearningPathsByCourseId(courseId));
     }
 
     @PostMapping("/{courseId}/paths")
-    public ResponseEntity<Map<String, Object>> createLearningPath(
+    public ResponseEntity<?> createLearningPath(
             @PathVariable Long courseId,
-            @RequestBody Map<String, Object> request) {
+            @Valid @RequestBody LearningPathRequest request) {
         try {
-            String level = (String) request.get("level");
-            Integer points = (Integer) request.get("points");
-            Integer durationWeeks = (Integer) request.get("durationWeeks");
-            String overview = (String) request.get("overview");
-
-            LearningPathEntity path = courseService.createLearningPath(courseId, level, points, durationWeeks, overview);
-
-            Map<String, Object> response = new HashMap<>();
-            response.put("id", path.getId());
-            response.put("level", path.getLevel());
-            response.put("points", path.getPoints());
-            response.put("durationWeeks", path.getDurationWeeks());
-            response.put("overview", path.getOverview());
-
-            return ResponseEntity.ok(response);
+            LearningPathEntity path = courseService.createLearningPath(courseId, request);
+            return ResponseEntity.ok(CatalogMapper.toResponse(path));
         } catch (Exception e) {
             Map<String, Object> error = new HashMap<>();
             error.put("error", e.getMessage());
@@ -145,28 +144,13 @@ public class CourseController {
     }
 
     @PutMapping("/{courseId}/paths/{pathId}")
-    public ResponseEntity<Map<String, Object>> updateLearningPath(
+    public ResponseEntity<?> updateLearningPath(
             @PathVariable Long courseId,
             @PathVariable Long pathId,
-            @RequestBody Map<String, Object> request) {
+            @Valid @RequestBody LearningPathRequest request) {
         try {
-            String level = (String) request.get("level");
-            String description = (String) request.get("description");
-            Integer points = (Integer) request.get("points");
-            Integer durationWeeks = (Integer) request.get("durationWeeks");
-            String overview = (String) request.get("overview");
-
-            LearningPathEntity path = courseService.updateLearningPath(courseId, pathId, level, points, durationWeeks, overview, description);
-
-            Map<String, Object> response = new HashMap<>();
-            response.put("id", path.getId());
-            response.put("level", path.getLevel());
-            response.put("description", path.getDescription());
-            response.put("points", path.getPoints());
-            response.put("durationWeeks", path.getDurationWeeks());
-            response.put("overview", path.getOverview());
-
-            return ResponseEntity.ok(response);
+            LearningPathEntity path = courseService.updateLearningPath(courseId, pathId, request);
+            return ResponseEntity.ok(CatalogMapper.toResponse(path));
         } catch (Exception e) {
             Map<String, Object> error = new HashMap<>();
             error.put("error", e.getMessage());
@@ -191,14 +175,10 @@ public class CourseController {
     }
 
     @PostMapping
-    public ResponseEntity<Map<String, Object>> createCourse(@RequestBody CourseEntity course) {
+    public ResponseEntity<CourseResponse> createCourse(@Valid @RequestBody CourseRequest request) {
         try {
-            CourseEntity created = courseService.createCourse(course.getName(), course.getDescription());
-            Map<String, Object> courseMap = new HashMap<>();
-            courseMap.put("id", created.getId());
-            courseMap.put("name", created.getName());
-            courseMap.put("description", created.getDescription());
-            return ResponseEntity.ok(courseMap);
+            CourseEntity created = courseService.createCourse(request.name(), request.description());
+            return ResponseEntity.ok(CatalogMapper.toResponse(created));
         } catch (Exception e) {
             return ResponseEntity.badRequest().build();
         }
@@ -213,10 +193,18 @@ public class CourseController {
     }
 
     @DeleteMapping("/{id}")
-    public ResponseEntity<Map<String, String>> deleteCourse(@PathVariable Long id) {
+    public ResponseEntity<Map<String, String>> deleteCourse(
+            @PathVariable Long id,
+            @RequestParam(value = "async", defaultValue = "false") boolean async) {
         try {
-            courseService.deleteCourse(id);
             Map<String, String> response = new HashMap<>();
+            if (async) {
+                // Sehr große Kurse blockweise im Hintergrund löschen
+                boolean scheduled = coursePurgeService.purgeAsync(id);
+                response.put("message", scheduled ? "Löschung des Kurses gestartet" : "Kurs wird bereits gelöscht");
+                return ResponseEntity.accepted().body(response);
+            }
+            courseService.deleteCourse(id);
             response.put("message", "Kurs erfolgreich gelöscht");
             return ResponseEntity.ok(response);
         } catch (Exception e) {
@@ -227,14 +215,10 @@ public class CourseController {
     }
 
     @PutMapping("/{id}")
-    public ResponseEntity<Map<String, Object>> updateCourse(@PathVariable Long id, @RequestBody CourseEntity courseUpdate) {
+    public ResponseEntity<CourseResponse> updateCourse(@PathVariable Long id, @Valid @RequestBody CourseRequest request) {
         try {
-            CourseEntity updated = courseService.updateCourse(id, courseUpdate);
-            Map<String, Object> courseMap = new HashMap<>();
-            courseMap.put("id", updated.getId());
-            courseMap.put("name", updated.getName());
-            courseMap.put("description", updated.getDescription());
-            return ResponseEntity.ok(courseMap);
+            CourseEntity updated = courseService.updateCourse(id, request);
+            return ResponseEntity.ok(CatalogMapper.toResponse(updated));
         } catch (Exception e) {
             return ResponseEntity.notFound().build();
         }
@@ -242,53 +226,34 @@ public class CourseController {
 
     // LearningContent Endpoints
     @GetMapping("/{courseId}/paths/{pathId}/contents")
-    public ResponseEntity<List<Map<String, Object>>> getContents(
+    public ResponseEntity<List<LearningContentResponse>> getContents(
             @PathVariable Long courseId,
             @PathVariable Long pathId) {
-        List<LearningContentEntity> contents = courseService.getContentsByLearningPathId(pathId);
-        
-        List<Map<String, Object>> response = contents.stream().map(content -> {
-            Map<String, Object> contentMap = new HashMap<>();
-            contentMap.put("id", content.getId());
-            contentMap.put("title", content.getTitle());
-            contentMap.put("type", content.getType());
-            contentMap.put("description", content.getDescription());
-            contentMap.put("contentUrl", content.getContentUrl());
-            contentMap.put("points", content.getPoints());
-            contentMap.put("orderIndex", content.getOrderIndex());
-            return contentMap;
-        }).collect(Collectors.toList());
-        
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok(courseService.getContentsByLearningPathId(pathId));
     }
 
     @PostMapping("/{courseId}/paths/{pathId}/contents")
-    public ResponseEntity<Map<String, Object>> createContent(
+    public ResponseEntity<?> createContent(
             @PathVariable Long courseId,
             @PathVariable Long pathId,
-            @RequestBody Map<String, Object> request) {
+            @Valid @RequestBody LearningContentRequest request) {
         try {
-            String title = (String) request.get("title");
-            String type = (String) request.get("type");
-            String description = (String) request.get("description");
-            String contentUrl = (String) request.get("contentUrl");
-            Integer points = (Integer) request.get("points");
-            Integer orderIndex = (Integer) request.get("orderIndex");
-            
-            LearningContentEntity content = courseService.createContent(
-                pathId, title, type, description, contentUrl, points, orderIndex
-            );
-            
-            Map<String, Object> response = new HashMap<>();
-            response.put("id", content.getId());
-            response.put("title", content.getTitle());
-            response.put("type", content.getType());
-            response.put("description", content.getDescription());
-            response.put("contentUrl", content.getContentUrl());
-            response.put("points", content.getPoints());
-            response.put("orderIndex", content.getOrderIndex());
-            
-            return ResponseEntity.ok(response);
+            LearningContentEntity content = courseService.createContent(pathId, request);
+            return ResponseEntity.ok(CatalogMapper.toResponse(content));
+        } catch (Exception e) {
+            Map<String, Object> error = new HashMap<>();
+            error.put("error", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        }
+    }
+
+    @PutMapping("/{courseId}/paths/{pathId}/contents/order")
+    public ResponseEntity<?> reorderContents(
+            @PathVariable Long courseId,
+            @PathVariable Long pathId,
+            @Valid @RequestBody ContentOrderRequest request) {
+        try {
+            return ResponseEntity.ok(courseService.reorderContents(courseId, pathId, request.contentIds()));
         } catch (Exception e) {
             Map<String, Object> error = new HashMap<>();
             error.put("error", e.getMessage());
@@ -297,33 +262,14 @@ public class CourseController {
     }
 
     @PutMapping("/{courseId}/paths/{pathId}/contents/{contentId}")
-    public ResponseEntity<Map<String, Object>> updateContent(
+    public ResponseEntity<?> updateContent(
             @PathVariable Long courseId,
             @PathVariable Long pathId,
             @PathVariable Long contentId,
-            @RequestBody Map<String, Object> request) {
+            @Valid @RequestBody LearningContentRequest request) {
         try {
-            String title = (String) request.get("title");
-            String type = (String) request.get("type");
-            String description = (String) request.get("description");
-            String contentUrl = (String) request.get("contentUrl");
-            Integer points = (Integer) request.get("points");
-            Integer orderIndex = (Integer) request.get("orderIndex");
-            
-            LearningContentEntity content = courseService.updateContent(
-                contentId, title, type, description, contentUrl, points, orderIndex
-            );
-            
-            Map<String, Object> response = new HashMap<>();
-            response.put("id", content.getId());
-            response.put("title", content.getTitle());
-            response.put("type", content.getType());
-            response.put("description", content.getDescription());
-            response.put("contentUrl", content.getContentUrl());
-            response.put("points", content.getPoints());
-            response.put("orderIndex", content.getOrderIndex());
-            
-            return ResponseEntity.ok(response);
+            LearningContentEntity content = courseService.updateContent(contentId, request);
+            return ResponseEntity.ok(CatalogMapper.toResponse(content));
         } catch (Exception e) {
             Map<String, Object> error = new HashMap<>();
             error.put("error", e.getMessage());
@@ -1,13 +1,20 @@
 package org.example.backend.controller;
 
+import jakarta.validation.Valid;
+import org.example.backend.dto.BulkEnrollmentRequest;
 import org.example.backend.dto.EnrollmentRequest;
 import org.example.backend.dto.EnrollmentResponse;
 import org.example.backend.dto.UserStatsResponse;
+import org.example.backend.service.ContentProgressService;
 import org.example.backend.service.EnrollmentService;
+import org.example.backend.util.KeysetPagination;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -19,10 +26,17 @@ public class EnrollmentController {
     @Autowired
     private EnrollmentService enrollmentService;
 
+    @Autowired
+    private ContentProgressService contentProgressService;
+
+    @Autowired
+    private KeysetPagination pagination;
+
     @GetMapping
-    public ResponseEntity<List<EnrollmentResponse>> getAllEnrollments() {
-        List<EnrollmentResponse> enrollments = enrollmentService.getAllEnrollments();
-        return ResponseEntity.ok(enrollments);
+    public ResponseEntity<List<EnrollmentResponse>> getAllEnrollments(
+            @RequestParam(value = "after", required = false) Long after,
+            @RequestParam(value = "limit", required = false) Integer limit) {
+        return pagination.page(after, limit, enrollmentService::getEnrollments, EnrollmentResponse::getId, enrollment -> enrollment);
     }
 
     @GetMapping("/user/{userId}/stats")
@@ -41,6 +55,18 @@ public class EnrollmentController {
         }
     }
 
+    // Kohorte in einen Lernpfad einschreiben, Ergebnis je User (eingeschrieben, bereits eingeschrieben, unbekannt)
+    @PostMapping("/bulk")
+    public ResponseEntity<?> enrollCohort(@Valid @RequestBody BulkEnrollmentRequest request) {
+        try {
+            return ResponseEntity.ok(enrollmentService.enrollCohort(request));
+        } catch (RuntimeException e) {
+            Map<String, Object> error = new HashMap<>();
+            error.put("error", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        }
+    }
+
     @GetMapping("/user/{userId}")
     public ResponseEntity<List<EnrollmentResponse>> getUserEnrollments(@PathVariable Long userId) {
         List<EnrollmentResponse> enrollments = enrollmentService.getUserEnrollments(userId);
@@ -64,16 +90,66 @@ public class EnrollmentController {
         }
     }
 
+    // Standardmäßig gepuffert (202), mit ?sync=true sofort geschrieben und als Enrollment zurückgegeben.
+    // Beide Varianten erhöhen den Fortschritt nur; ?override=true setzt ihn exakt (Korrekturen im Admin-Dashboard)
+    // und verlangt die zuletzt gelesene "version" des Enrollments, sonst 409.
     @PutMapping("/{enrollmentId}/progress")
-    public ResponseEntity<EnrollmentResponse> updateProgress(
+    public ResponseEntity<?> updateProgress(
             @PathVariable Long enrollmentId,
-            @RequestBody Map<String, Integer> body) {
+            @RequestBody Map<String, Number> body,
+            @RequestParam(value = "sync", defaultValue = "false") boolean sync,
+            @RequestParam(value = "override", defaultValue = "false") boolean override) {
         try {
-            Integer progress = body.get("progress");
-            EnrollmentResponse response = enrollmentService.updateProgress(enrollmentId, progress);
-            return ResponseEntity.ok(response);
+            Integer progress = body.get("progress") != null ? body.get("progress").intValue() : null;
+            if (override) {
+                Number version = body.get("version");
+                if (version == null) {
+                    return ResponseEntity.badRequest().body(Map.of("error", "version is required for override"));
+                }
+                return ResponseEntity.ok(enrollmentService.overrideProgress(enrollmentId, progress, version.longValue()));
+            }
+            if (sync) {
+                EnrollmentResponse response = enrollmentService.updateProgress(enrollmentId, progress);
+                return ResponseEntity.ok(response);
+            }
+            enrollmentService.recordProgress(enrollmentId, progress);
+            Map<String, Object> response = new HashMap<>();
+            response.put("enrollmentId", enrollmentId);
+            response.put("progress", progress);
+            response.put("message", "Fortschritt wird gespeichert");
+            return ResponseEntity.accepted().body(response);
+        } catch (ObjectOptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(Map.of("error", "Enrollment wurde gleichzeitig geändert, bitte neu laden"));
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest().build();
         }
     }
+
+    // Erledigte Inhalte und der daraus nach Punkten gewichtete Fortschritt
+    @GetMapping("/{enrollmentId}/contents")
+    public ResponseEntity<?> getContentProgress(@PathVariable Long enrollmentId) {
+        try {
+            return ResponseEntity.ok(contentProgressService.getContentProgress(enrollmentId));
+        } catch (RuntimeException e) {
+            Map<String, Object> error = new HashMap<>();
+            error.put("error", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        }
+    }
+
+    // Inhalt als erledigt markieren, den Fortschritt berechnet der Server
+    @PutMapping("/{enrollmentId}/contents/{contentId}")
+    public ResponseEntity<?> completeContent(@PathVariable Long enrollmentId, @PathVariable Long contentId) {
+        try {
+            return ResponseEntity.ok(contentProgressService.completeContent(enrollmentId, contentId));
+        } catch (ObjectOptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(Map.of("error", "Enrollment wurde gleichzeitig geändert, bitte erneut versuchen"));
+        } catch (RuntimeException e) {
+            Map<String, Object> error = new HashMap<>();
+            error.put("error", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        }
+    }
 }
\ No newline at end of file
@@ -2,22 +2,25 @@ package org.example.backend.controller;
 
 import org.example.backend.entity.SeminarFileEntity;
 import org.example.backend.service.FileUploadService;
+import org.example.backend.service.SeminarExportService;
 import org.springframework.core.io.Resource;
-import org.springframework.core.io.UrlResource;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.io.IOException;
-import java.net.MalformedURLException;
-import java.nio.file.Path;
-import java.nio.file.Paths;
+import java.net.URI;
+import java.nio.file.NoSuchFileException;
+import java.time.Duration;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 @RestController
@@ -26,9 +29,11 @@ import java.util.stream.Collectors;
 public class FileUploadController {
 
     private final FileUploadService fileUploadService;
+    private final SeminarExportService seminarExportService;
 
-    public FileUploadController(FileUploadService fileUploadService) {
+    public FileUploadController(FileUploadService fileUploadService, SeminarExportService seminarExportService) {
         this.fileUploadService = fileUploadService;
+        this.seminarExportService = seminarExportService;
     }
 
     @PostMapping("/upload")
@@ -47,6 +52,7 @@ public class FileUploadController {
             response.put("fileSize", fileEntity.getFileSize());
             response.put("uploadedBy", fileEntity.getUploadedBy());
             response.put("uploadTime", fileEntity.getUploadTime().toString());
+            response.put("processingStatus", fileEntity.getProcessingStatus());
 
             return ResponseEntity.ok(response);
         } catch (IOException e) {
@@ -56,6 +62,36 @@ public class FileUploadController {
         }
     }
 
+    @PostMapping("/upload/batch")
+    public ResponseEntity<Map<String, Object>> uploadFiles(
+            @PathVariable Long seminarId,
+            @RequestParam("files") List<MultipartFile> files,
+            @RequestParam("uploadedBy") String uploadedBy,
+            @RequestParam(value = "description", required = false) String description) {
+        try {
+            List<SeminarFileEntity> saved = fileUploadService.uploadFiles(seminarId, files, uploadedBy, description);
+
+            List<Map<String, Object>> uploaded = saved.stream().map(fileEntity -> {
+                Map<String, Object> fileMap = new HashMap<>();
+                fileMap.put("id", fileEntity.getId());
+                fileMap.put("fileName", fileEntity.getOriginalFileName());
+                fileMap.put("fileType", fileEntity.getFileType());
+                fileMap.put("fileSize", fileEntity.getFileSize());
+                fileMap.put("processingStatus", fileEntity.getProcessingStatus());
+                return fileMap;
+            }).collect(Collectors.toList());
+
+            Map<String, Object> response = new HashMap<>();
+            response.put("count", uploaded.size());
+            response.put("files", uploaded);
+            return ResponseEntity.ok(response);
+        } catch (IOException e) {
+            Map<String, Object> error = new HashMap<>();
+            error.put("error", "File upload failed: " + e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        }
+    }
+
     @GetMapping
     public ResponseEntity<List<Map<String, Object>>> getFiles(@PathVariable Long seminarId) {
         List<SeminarFileEntity> files = fileUploadService.getFilesBySeminar(seminarId);
@@ -69,14 +105,39 @@ public class FileUploadController {
             fileMap.put("uploadedBy", file.getUploadedBy());
             fileMap.put("uploadTime", file.getUploadTime().toString());
             fileMap.put("description", file.getDescription());
+            fileMap.put("processingStatus", file.getProcessingStatus());
+            fileMap.put("thumbnailUrl", file.getThumbnailPath() != null
+                    ? "/api/seminars/" + seminarId + "/files/" + file.getId() + "/thumbnail" : null);
+            fileMap.put("previewUrl", file.getPreviewPath() != null
+                    ? "/api/seminars/" + seminarId + "/files/" + file.getId() + "/preview" : null);
             return fileMap;
         }).collect(Collectors.toList());
 
         return ResponseEntity.ok(response);
     }
 
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportFiles(
+            @PathVariable Long seminarId,
+            @RequestParam(value = "includeSubmissions", defaultValue = "false") boolean includeSubmissions) {
+        List<SeminarExportService.ExportEntry> entries;
+        try {
+            entries = seminarExportService.collectEntries(seminarId, includeSubmissions);
+        } catch (RuntimeException e) {
+            return ResponseEntity.notFound().build();
+        }
+
+        // Das Archiv wird beim Schreiben erzeugt, Content-Length ist daher vorab unbekannt
+        StreamingResponseBody body = out -> seminarExportService.writeArchive(entries, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/zip"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"seminar-" + seminarId + ".zip\"")
+                .body(body);
+    }
+
     @GetMapping("/{fileId}/download")
-    public ResponseEntity<Resource> downloadFile(@PathVariable Long seminarId, @PathVariable Long fileId) {
+    public ResponseEntity<Resource> downloadFile(@PathVariable Long seminarId, @PathVariable Long fileId,
+                                                 @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
         try {
             // Hole die Datei aus der Datenbank
             SeminarFileEntity fileEntity = fileUploadService.getFileById(fileId);
@@ -86,38 +147,123 @@ public class FileUploadController {
                 return ResponseEntity.badRequest().build();
             }
             
-            // Erstelle einen Pfad zur physischen Datei
-            Path filePath = Paths.get(fileEntity.getFilePath());
-            Resource resource = new UrlResource(filePath.toUri());
-            
-            // Überprüfe, ob die Datei existiert und lesbar ist
-            if (resource.exists() && resource.isReadable()) {
-                // Bestimme den MIME-Typ der Datei
-                String contentType = determineContentType(fileEntity.getFileType(), fileEntity.getOriginalFileName());
-                
-                // Bereite die Antwort vor
-                MediaType mediaType;
-                try {
-                    mediaType = MediaType.parseMediaType(contentType);
-                } catch (Exception e) {
-                    // Fallback auf application/octet-stream bei ungültigem MIME-Typ
-                    mediaType = MediaType.APPLICATION_OCTET_STREAM;
-                }
-                
-                return ResponseEntity.ok()
-                        .contentType(mediaType)
-                        .header(HttpHeaders.CONTENT_DISPOSITION, 
-                               "attachment; filename=\"" + fileEntity.getOriginalFileName() + "\"")
-                        .body(resource);
-            } else {
-                return ResponseEntity.notFound().build();
+            // Bestimme den MIME-Typ der Datei
+            String contentType = determineContentType(fileEntity.getFileType(), fileEntity.getOriginalFileName());
+
+            // Liegt die Datei in einem Object Store, lädt der Client sie direkt von dort
+            Optional<URI> presignedUrl = fileUploadService.getPresignedDownloadUrl(
+                    fileEntity.getFilePath(), fileEntity.getOriginalFileName(), contentType);
+            if (presignedUrl.isPresent()) {
+                return ResponseEntity.status(HttpStatus.FOUND).location(presignedUrl.get()).build();
+            }
+
+            // Vorab komprimierte Variante ausliefern, wenn der Client gzip versteht
+            boolean gzip = fileEntity.getGzipPath() != null && acceptsGzip(acceptEncoding);
+            Resource resource = fileUploadService.loadAsResource(gzip ? fileEntity.getGzipPath() : fileEntity.getFilePath());
+
+            // Bereite die Antwort vor
+            MediaType mediaType;
+            try {
+                mediaType = MediaType.parseMediaType(contentType);
+            } catch (Exception e) {
+                // Fallback auf application/octet-stream bei ungültigem MIME-Typ
+                mediaType = MediaType.APPLICATION_OCTET_STREAM;
+            }
+
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                    .contentType(mediaType)
+                    .header(HttpHeaders.CONTENT_DISPOSITION,
+                           "attachment; filename=\"" + fileEntity.getOriginalFileName() + "\"");
+            if (fileEntity.getGzipPath() != null) {
+                response.varyBy(HttpHeaders.ACCEPT_ENCODING);
+            }
+            if (gzip) {
+                response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
             }
+            return response.body(resource);
+        } catch (NoSuchFileException e) {
+            return ResponseEntity.notFound().build();
         } catch (Exception e) {
             e.printStackTrace();
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
     
+    @GetMapping("/{fileId}/thumbnail")
+    public ResponseEntity<Resource> getThumbnail(@PathVariable Long seminarId, @PathVariable Long fileId) {
+        return servePreviewImage(seminarId, fileId, true);
+    }
+
+    @GetMapping("/{fileId}/preview")
+    public ResponseEntity<Resource> getPreview(@PathVariable Long seminarId, @PathVariable Long fileId) {
+        return servePreviewImage(seminarId, fileId, false);
+    }
+
+    private ResponseEntity<Resource> servePreviewImage(Long seminarId, Long fileId, boolean thumbnail) {
+        try {
+            SeminarFileEntity fileEntity = fileUploadService.getFileById(fileId);
+            if (fileEntity.getSeminar() == null || !seminarId.equals(fileEntity.getSeminar().getId())) {
+                return ResponseEntity.badRequest().build();
+            }
+
+            String storageKey = thumbnail ? fileEntity.getThumbnailPath() : fileEntity.getPreviewPath();
+            if (storageKey == null) {
+                return ResponseEntity.notFound().build();
+            }
+
+            Optional<URI> presignedUrl = fileUploadService.getPresignedDownloadUrl(storageKey, null, "image/jpeg");
+            if (presignedUrl.isPresent()) {
+                return ResponseEntity.status(HttpStatus.FOUND).location(presignedUrl.get()).build();
+            }
+
+            // Vorschaubilder ändern sich nie, der Browser darf sie dauerhaft cachen
+            return ResponseEntity.ok()
+                    .contentType(MediaType.IMAGE_JPEG)
+                    .cacheControl(CacheControl.maxAge(Duration.ofDays(365)).cachePublic().immutable())
+                    .body(fileUploadService.loadAsResource(storageKey));
+        } catch (NoSuchFileException e) {
+            return ResponseEntity.notFound().build();
+        } catch (Exception e) {
+            e.printStackTrace();
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    /**
+     * Prüft, ob der Accept-Encoding-Header gzip (oder *) mit einer Qualität größer 0 erlaubt
+     */
+    private boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        Double gzipQuality = null;
+        Double wildcardQuality = null;
+        for (String part : acceptEncoding.split(",")) {
+            String[] tokens = part.trim().split(";");
+            String coding = tokens[0].trim().toLowerCase();
+            double quality = 1.0;
+            for (int i = 1; i < tokens.length; i++) {
+                String param = tokens[i].trim();
+                if (param.startsWith("q=")) {
+                    try {
+                        quality = Double.parseDouble(param.substring(2));
+                    } catch (NumberFormatException e) {
+                        quality = 0.0;
+                    }
+                }
+            }
+            if (coding.equals("gzip") || coding.equals("x-gzip")) {
+                gzipQuality = quality;
+            } else if (coding.equals("*")) {
+                wildcardQuality = quality;
+            }
+        }
+        if (gzipQuality != null) {
+            return gzipQuality > 0;
+        }
+        return wildcardQuality != null && wildcardQuality > 0;
+    }
+
     /**
      * Bestimmt den MIME-Typ basierend auf dem Dateityp und dem Dateinamen
      */
@@ -0,0 +1,62 @@
+package org.example.backend.controller;
+
+import org.example.backend.dto.LeaderboardEntry;
+import org.example.backend.points.PointsService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/leaderboard")
+@CrossOrigin(origins = "http://localhost:5173")
+public class LeaderboardController {
+
+    private final PointsService pointsService;
+
+    public LeaderboardController(PointsService pointsService) {
+        this.pointsService = pointsService;
+    }
+
+    // Plattformweit oder mit ?courseId=1 für einen Kurs; ?offset=10&limit=10 liefert die Plätze 11 bis 20
+    @GetMapping
+    public ResponseEntity<?> getLeaderboard(
+            @RequestParam(required = false) Long courseId,
+            @RequestParam(defaultValue = "0") int offset,
+            @RequestParam(defaultValue = "10") int limit) {
+        try {
+            List<LeaderboardEntry> entries = pointsService.getLeaderboard(courseId, offset, limit);
+            return ResponseEntity.ok(entries);
+        } catch (IllegalArgumentException e) {
+            return error(e);
+        }
+    }
+
+    // Platz und Punkte eines Users
+    @GetMapping("/users/{userId}")
+    public ResponseEntity<?> getStanding(@PathVariable Long userId, @RequestParam(required = false) Long courseId) {
+        try {
+            return ResponseEntity.ok(pointsService.getStanding(userId, courseId));
+        } catch (RuntimeException e) {
+            return error(e);
+        }
+    }
+
+    // Kontoauszug, neueste Buchungen zuerst
+    @GetMapping("/users/{userId}/ledger")
+    public ResponseEntity<?> getLedger(@PathVariable Long userId, @RequestParam(defaultValue = "50") int limit) {
+        try {
+            return ResponseEntity.ok(pointsService.getLedger(userId, limit));
+        } catch (IllegalArgumentException e) {
+            return error(e);
+        }
+    }
+
+    private static ResponseEntity<Map<String, String>> error(RuntimeException e) {
+        Map<String, String> error = new HashMap<>();
+        error.put("error", e.getMessage());
+        return ResponseEntity.badRequest().body(error);
+    }
+}
@@ -0,0 +1,32 @@
+package org.example.backend.controller;
+
+import org.example.backend.search.SearchDocument;
+import org.example.backend.search.SearchHit;
+import org.example.backend.search.SearchIndexService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/search")
+@CrossOrigin(origins = "http://localhost:5173")
+public class SearchController {
+
+    private static final int MAX_LIMIT = 100;
+
+    private final SearchIndexService searchIndexService;
+
+    public SearchController(SearchIndexService searchIndexService) {
+        this.searchIndexService = searchIndexService;
+    }
+
+    // Volltextsuche über Kurse, Lernpfade, Inhalte und Bücher; type schränkt optional auf eine Art ein
+    @GetMapping
+    public ResponseEntity<List<SearchHit>> search(
+            @RequestParam("q") String query,
+            @RequestParam(value = "type", required = false) SearchDocument.Type type,
+            @RequestParam(value = "limit", defaultValue = "20") int limit) {
+        return ResponseEntity.ok(searchIndexService.search(query, type, Math.max(1, Math.min(limit, MAX_LIMIT))));
+    }
+}
@@ -2,6 +2,7 @@ package org.example.backend.controller;
 
 import org.example.backend.entity.SeminarEntity;
 import org.example.backend.service.SeminarService;
+import org.example.backend.util.KeysetPagination;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -17,17 +18,19 @@ import java.util.stream.Collectors;
 public class SeminarController {
 
     private final SeminarService seminarService;
+    private final KeysetPagination pagination;
 
-    public SeminarController(SeminarService seminarService) {
+    public SeminarController(SeminarService seminarService, KeysetPagination pagination) {
         this.seminarService = seminarService;
+        this.pagination = pagination;
     }
 
-    // Alle Seminare abrufen
+    // Alle Seminare abrufen (seitenweise, Cursor im Header X-Next-Cursor)
     @GetMapping
-    public ResponseEntity<List<Map<String, Object>>> getAllSeminars() {
-        List<SeminarEntity> seminars = seminarService.getAllSeminars();
-        List<Map<String, Object>> response = seminars.stream().map(this::mapSeminarToResponse).collect(Collectors.toList());
-        return ResponseEntity.ok(response);
+    public ResponseEntity<List<Map<String, Object>>> getAllSeminars(
+            @RequestParam(value = "after", required = false) Long after,
+            @RequestParam(value = "limit", required = false) Integer limit) {
+        return pagination.page(after, limit, seminarService::getSeminars, SeminarEntity::getId, this::mapSeminarToResponse);
     }
 
     // Kommende Seminare
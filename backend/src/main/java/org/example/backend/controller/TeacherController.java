@@ -2,6 +2,7 @@ package org.example.backend.controller;
 
 import org.example.backend.entity.TeacherEntity;
 import org.example.backend.repository.TeacherRepository;
+import org.example.backend.util.KeysetPagination;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -9,7 +10,6 @@ import java.time.LocalDate;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/teachers")
@@ -17,16 +17,18 @@ import java.util.stream.Collectors;
 public class TeacherController {
 
     private final TeacherRepository teacherRepository;
+    private final KeysetPagination pagination;
 
-    public TeacherController(TeacherRepository teacherRepository) {
+    public TeacherController(TeacherRepository teacherRepository, KeysetPagination pagination) {
         this.teacherRepository = teacherRepository;
+        this.pagination = pagination;
     }
 
     @GetMapping
-    public ResponseEntity<List<Map<String, Object>>> getAllTeachers() {
-        List<TeacherEntity> teachers = teacherRepository.findAll();
-
-        List<Map<String, Object>> response = teachers.stream().map(teacher -> {
+    public ResponseEntity<List<Map<String, Object>>> getAllTeachers(
+            @RequestParam(value = "after", required = false) Long after,
+            @RequestParam(value = "limit", required = false) Integer limit) {
+        return pagination.page(after, limit, teacherRepository::findByIdGreaterThanOrderByIdAsc, TeacherEntity::getId, teacher -> {
             Map<String, Object> teacherMap = new HashMap<>();
             teacherMap.put("id", teacher.getId());
             teacherMap.put("firstName", teacher.getFirstName());
@@ -37,9 +39,7 @@ public class TeacherController {
             teacherMap.put("subject", teacher.getSubject());
             teacherMap.put("createdAt", teacher.getCreatedAt().toString());
             return teacherMap;
-        }).collect(Collectors.toList());
-
-        return ResponseEntity.ok(response);
+        });
     }
 
     @PostMapping
@@ -2,13 +2,13 @@ package org.example.backend.controller;
 
 import org.example.backend.entity.UserEntity;
 import org.example.backend.repository.UserRepository;
+import org.example.backend.util.KeysetPagination;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/users")
@@ -16,16 +16,18 @@ import java.util.stream.Collectors;
 public class UserController {
 
     private final UserRepository userRepository;
+    private final KeysetPagination pagination;
 
-    public UserController(UserRepository userRepository) {
+    public UserController(UserRepository userRepository, KeysetPagination pagination) {
         this.userRepository = userRepository;
+        this.pagination = pagination;
     }
 
     @GetMapping
-    public ResponseEntity<List<Map<String, Object>>> getAllUsers() {
-        List<UserEntity> users = userRepository.findAll();
-
-        List<Map<String, Object>> response = users.stream().map(user -> {
+    public ResponseEntity<List<Map<String, Object>>> getAllUsers(
+            @RequestParam(value = "after", required = false) Long after,
+            @RequestParam(value = "limit", required = false) Integer limit) {
+        return pagination.page(after, limit, userRepository::findByIdGreaterThanOrderByIdAsc, UserEntity::getId, user -> {
             Map<String, Object> userMap = new HashMap<>();
             userMap.put("id", user.getId());
             userMap.put("username", user.getUsername());
@@ -33,9 +35,7 @@ public class UserController {
             userMap.put("createdAt", user.getCreatedAt().toString());
             userMap.put("provider", user.getProvider());
             return userMap;
-        }).collect(Collectors.toList());
-
-        return ResponseEntity.ok(response);
+        });
     }
 
     @GetMapping("/{id}")
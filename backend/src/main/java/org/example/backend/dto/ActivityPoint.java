@@ -0,0 +1,9 @@
+package org.example.backend.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Ein Punkt der Aktivitäts-Zeitreihe: Summen aller Lernpfade im Filter für ein Zeitfenster
+ */
+public record ActivityPoint(LocalDateTime bucketStart, Long enrollments, Long completions, Long progressUpdates) {
+}
@@ -0,0 +1,14 @@
+package org.example.backend.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+/**
+ * Einschreibung einer ganzen Kohorte in einen Lernpfad, doppelte User-IDs werden einmal behandelt
+ */
+public record BulkEnrollmentRequest(@NotNull Long courseId,
+                                    @NotNull Long learningPathId,
+                                    @NotEmpty @Size(max = 5000) List<@NotNull Long> userIds) {}
@@ -0,0 +1,21 @@
+package org.example.backend.dto;
+
+import java.util.List;
+
+/**
+ * Ergebnis einer Kohorten-Einschreibung: Zusammenfassung und ein Eintrag je User in Reihenfolge der Anfrage
+ */
+public record BulkEnrollmentResponse(Long courseId, Long learningPathId,
+                                     int enrolled, int alreadyEnrolled, int usersNotFound,
+                                     List<UserOutcome> results) {
+
+    public enum Status {
+        ENROLLED,
+        ALREADY_ENROLLED,
+        USER_NOT_FOUND
+    }
+
+    // enrollmentId fehlt bei USER_NOT_FOUND
+    public record UserOutcome(Long userId, Status status, Long enrollmentId) {
+    }
+}
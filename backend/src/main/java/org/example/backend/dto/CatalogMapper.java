@@ -0,0 +1,52 @@
+package org.example.backend.dto;
+
+import org.example.backend.entity.CourseEntity;
+import org.example.backend.entity.LearningContentEntity;
+import org.example.backend.entity.LearningPathEntity;
+
+/**
+ * Einzige Stelle, an der Katalog-Requests auf Entities übertragen und Entities in Responses umgewandelt werden.
+ * Die Lernpfade eines Kurses werden hier bewusst nicht mitgemappt, damit keine Lazy-Collection nachgeladen wird.
+ */
+public final class CatalogMapper {
+
+    private CatalogMapper() {
+    }
+
+    public static CourseResponse toResponse(CourseEntity course) {
+        return new CourseResponse(course.getId(), course.getName(), course.getDescription());
+    }
+
+    public static LearningPathResponse toResponse(LearningPathEntity path) {
+        return new LearningPathResponse(path.getId(), path.getCourse().getId(), path.getLevel(), path.getPoints(),
+                path.getDurationWeeks(), path.getOverview(), path.getDescription());
+    }
+
+    public static LearningContentResponse toResponse(LearningContentEntity content) {
+        return new LearningContentResponse(content.getId(), content.getLearningPath().getId(), content.getTitle(),
+                content.getType(), content.getDescription(), content.getContentUrl(), content.getPoints(),
+                content.getOrderIndex());
+    }
+
+    public static void apply(CourseRequest request, CourseEntity course) {
+        course.setName(request.name());
+        course.setDescription(request.description());
+    }
+
+    public static void apply(LearningPathRequest request, LearningPathEntity path) {
+        path.setLevel(request.level());
+        path.setPoints(request.points());
+        path.setDurationWeeks(request.durationWeeks());
+        path.setOverview(request.overview());
+        path.setDescription(request.description());
+    }
+
+    public static void apply(LearningContentRequest request, LearningContentEntity content) {
+        content.setTitle(request.title());
+        content.setType(request.type());
+        content.setDescription(request.description());
+        content.setContentUrl(request.contentUrl());
+        content.setPoints(request.points());
+        content.setOrderIndex(request.orderIndex());
+    }
+}
@@ -0,0 +1,11 @@
+package org.example.backend.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+
+import java.util.List;
+
+/**
+ * Neue Reihenfolge aller Inhalte eines Lernpfads, erster Eintrag erhält orderIndex 1
+ */
+public record ContentOrderRequest(@NotEmpty List<@NotNull Long> contentIds) {}
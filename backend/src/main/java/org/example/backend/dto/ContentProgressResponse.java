@@ -0,0 +1,10 @@
+package org.example.backend.dto;
+
+import java.util.List;
+
+/**
+ * Erledigte Inhalte eines Enrollments und der daraus nach Punkten gewichtete Fortschritt.
+ * progress ist der gespeicherte Wert und sinkt nie, auch wenn später Inhalte hinzukommen.
+ */
+public record ContentProgressResponse(Long enrollmentId, Integer progress, Boolean completed,
+                                      long earnedPoints, long totalPoints, List<Long> completedContentIds) {}
@@ -0,0 +1,6 @@
+package org.example.backend.dto;
+
+/**
+ * Bitposition und Punkte eines Lerninhalts. slot ist null, solange dem Inhalt noch keine Position zugeteilt wurde.
+ */
+public record ContentSlot(Long contentId, Integer slot, Integer points) {}
@@ -0,0 +1,14 @@
+package org.example.backend.dto;
+
+import java.util.List;
+
+/**
+ * Kursübersicht in einer Antwort: Kurs mit Lernpfaden, Inhaltszahlen, Punktesummen und Einschreibungen
+ */
+public record CourseOverviewResponse(Long id, String name, String description, long enrollmentCount,
+                                     List<LearningPathOverview> learningPaths) {
+
+    public record LearningPathOverview(Long id, String level, Integer points, Integer durationWeeks, String overview,
+                                       long contentCount, long contentPoints, long enrollmentCount) {
+    }
+}
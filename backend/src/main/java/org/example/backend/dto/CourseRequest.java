@@ -0,0 +1,9 @@
+package org.example.backend.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+
+public record CourseRequest(
+        @NotBlank @Size(max = 100) String name,
+        @Size(max = 500) String description
+) {}
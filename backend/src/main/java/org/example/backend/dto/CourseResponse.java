@@ -0,0 +1,15 @@
+package org.example.backend.dto;
+
+import java.util.List;
+
+public record CourseResponse(Long id, String name, String description, List<LearningPathResponse> learningPaths) {
+
+    // Wird von der JPQL-Konstruktorprojektion genutzt, die Lernpfade werden danach ergänzt
+    public CourseResponse(Long id, String name, String description) {
+        this(id, name, description, List.of());
+    }
+
+    public CourseResponse withLearningPaths(List<LearningPathResponse> learningPaths) {
+        return new CourseResponse(id, name, description, learningPaths);
+    }
+}
@@ -0,0 +1,34 @@
+package org.example.backend.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Eine Zeile im JSON-Lines-Format für Import und Export von Lehrplänen.
+ * Kurse, Lernpfade und Inhalte tragen eine frei wählbare ref; Kindzeilen verweisen über course bzw. path
+ * auf die ref der Elternzeile, die weiter oben in der Datei stehen muss.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record CurriculumRecord(
+        Kind kind,
+        String ref,
+        String course,
+        String path,
+        String name,
+        String level,
+        String title,
+        String type,
+        String overview,
+        String description,
+        String contentUrl,
+        Integer points,
+        Integer durationWeeks,
+        Integer orderIndex
+) {
+
+    public enum Kind {
+        @JsonProperty("course") COURSE,
+        @JsonProperty("path") PATH,
+        @JsonProperty("content") CONTENT
+    }
+}
@@ -15,10 +15,32 @@ public class EnrollmentResponse {
     private Integer progress;
     private Boolean completed;
     private LocalDateTime completedAt;
+    // Für die Admin-Korrektur (override), die nur auf den zuletzt gelesenen Stand schreibt
+    private Long version;
 
     // Constructors
     public EnrollmentResponse() {}
 
+    // Wird von den JPQL-Konstruktorprojektionen im EnrollmentRepository genutzt
+    public EnrollmentResponse(Long id, Long userId, String username, Long courseId, String courseName,
+                              Long learningPathId, String learningPathLevel, Integer learningPathPoints,
+                              LocalDateTime enrolledAt, Integer progress, Boolean completed, LocalDateTime completedAt,
+                              Long version) {
+        this.id = id;
+        this.userId = userId;
+        this.username = username;
+        this.courseId = courseId;
+        this.courseName = courseName;
+        this.learningPathId = learningPathId;
+        this.learningPathLevel = learningPathLevel;
+        this.learningPathPoints = learningPathPoints;
+        this.enrolledAt = enrolledAt;
+        this.progress = progress;
+        this.completed = completed;
+        this.completedAt = completedAt;
+        this.version = version;
+    }
+
     // Getters and Setters
     public Long getId() { return id; }
     public void setId(Long id) { this.id = id; }
@@ -55,4 +77,7 @@ public class EnrollmentResponse {
 
     public LocalDateTime getCompletedAt() { return completedAt; }
     public void setCompletedAt(LocalDateTime completedAt) { this.completedAt = completedAt; }
+
+    public Long getVersion() { return version; }
+    public void setVersion(Long version) { this.version = version; }
 }
\ No newline at end of file
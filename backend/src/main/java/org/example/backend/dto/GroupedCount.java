@@ -0,0 +1,15 @@
+package org.example.backend.dto;
+
+/**
+ * Ergebnis einer GROUP-BY-Abfrage: Schlüssel (z.B. Lernpfad-ID), Anzahl der Zeilen und optional eine Summe
+ */
+public record GroupedCount(Long key, Long count, Long sum) {
+
+    public GroupedCount(Long key, Long count) {
+        this(key, count, null);
+    }
+
+    public long sumOrZero() {
+        return sum != null ? sum : 0L;
+    }
+}
@@ -0,0 +1,14 @@
+package org.example.backend.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Ergebnis einer nach Lernpfad und Stunde gruppierten Abfrage über die Enrollments
+ */
+public record HourlyCount(Long courseId, Long learningPathId,
+                          Integer year, Integer month, Integer day, Integer hour, Long count) {
+
+    public LocalDateTime bucketStart() {
+        return LocalDateTime.of(year, month, day, hour, 0);
+    }
+}
@@ -0,0 +1,6 @@
+package org.example.backend.dto;
+
+/**
+ * Platz eines Users in einer Rangliste. rank ist null, solange der User noch keine Punkte hat.
+ */
+public record LeaderboardEntry(Integer rank, Long userId, String username, long points) {}
@@ -0,0 +1,15 @@
+package org.example.backend.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PositiveOrZero;
+import jakarta.validation.constraints.Size;
+
+public record LearningContentRequest(
+        @NotBlank String title,
+        @NotBlank @Size(max = 50) String type,
+        String description,
+        String contentUrl,
+        @NotNull @PositiveOrZero Integer points,
+        @PositiveOrZero Integer orderIndex
+) {}
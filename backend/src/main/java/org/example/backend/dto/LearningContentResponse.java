@@ -0,0 +1,4 @@
+package org.example.backend.dto;
+
+public record LearningContentResponse(Long id, Long learningPathId, String title, String type, String description,
+                                      String contentUrl, Integer points, Integer orderIndex) {}
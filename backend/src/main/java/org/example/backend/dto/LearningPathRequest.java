@@ -0,0 +1,15 @@
+package org.example.backend.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
+import jakarta.validation.constraints.Size;
+
+public record LearningPathRequest(
+        @NotBlank @Size(max = 50) String level,
+        @NotNull @PositiveOrZero Integer points,
+        @NotNull @Positive Integer durationWeeks,
+        @Size(max = 1000) String overview,
+        @Size(max = 2000) String description
+) {}
@@ -0,0 +1,4 @@
+package org.example.backend.dto;
+
+public record LearningPathResponse(Long id, Long courseId, String level, Integer points, Integer durationWeeks,
+                                   String overview, String description) {}
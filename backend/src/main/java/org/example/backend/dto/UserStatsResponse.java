@@ -1,6 +1,8 @@
 package org.example.backend.dto;
 
 import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
 
 public class UserStatsResponse {
     private long totalEnrollments;
@@ -15,6 +17,14 @@ public class UserStatsResponse {
         this.lastActivity = lastActivity;
     }
 
+    // Wird von der Aggregat-Abfrage im EnrollmentRepository genutzt; ohne Enrollments liefern SUM, AVG und MAX null
+    public UserStatsResponse(Long totalEnrollments, Long completedCourses, Double averageProgress, LocalDateTime lastActivity) {
+        this(totalEnrollments != null ? totalEnrollments : 0L,
+                averageProgress != null ? averageProgress : 0.0,
+                completedCourses != null ? completedCourses : 0L,
+                lastActivity != null ? lastActivity.atZone(ZoneId.systemDefault()).toInstant() : null);
+    }
+
     // Getters and Setters
     public long getTotalEnrollments() {
         return totalEnrollments;
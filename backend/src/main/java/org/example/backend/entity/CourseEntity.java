@@ -1,11 +1,13 @@
 package org.example.backend.entity;
 
 import jakarta.persistence.*;
+import org.example.backend.statistics.StatisticsEntityListener;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
+@EntityListeners(StatisticsEntityListener.class)
 @Table(name = "courses")
 public class CourseEntity {
 
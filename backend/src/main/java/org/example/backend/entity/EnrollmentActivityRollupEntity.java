@@ -0,0 +1,96 @@
+package org.example.backend.entity;
+
+import jakarta.persistence.*;
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+
+/**
+ * Vorverdichtete Enrollment-Aktivität je Lernpfad und Zeitfenster (Stunde, Tag, Woche).
+ * Wird ausschließlich vom EnrollmentAnalyticsService geschrieben, Abfragen lesen nie die Rohdaten.
+ */
+@Entity
+@Table(name = "enrollment_activity_rollups",
+        uniqueConstraints = @UniqueConstraint(name = "uk_activity_rollups_path_bucket",
+                columnNames = {"granularity", "learning_path_id", "bucket_start"}),
+        indexes = {
+                @Index(name = "idx_activity_rollups_bucket", columnList = "granularity, bucket_start"),
+                @Index(name = "idx_activity_rollups_course_bucket", columnList = "granularity, course_id, bucket_start")
+        })
+public class EnrollmentActivityRollupEntity {
+
+    public enum Granularity {
+        HOUR,
+        DAY,
+        WEEK;
+
+        // Beginn des Zeitfensters, Wochen beginnen am Montag
+        public LocalDateTime truncate(LocalDateTime time) {
+            return switch (this) {
+                case HOUR -> time.truncatedTo(ChronoUnit.HOURS);
+                case DAY -> time.truncatedTo(ChronoUnit.DAYS);
+                case WEEK -> time.truncatedTo(ChronoUnit.DAYS).with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            };
+        }
+
+        public LocalDateTime next(LocalDateTime bucketStart) {
+            return switch (this) {
+                case HOUR -> bucketStart.plusHours(1);
+                case DAY -> bucketStart.plusDays(1);
+                case WEEK -> bucketStart.plusWeeks(1);
+            };
+        }
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 8)
+    private Granularity granularity;
+
+    @Column(name = "bucket_start", nullable = false)
+    private LocalDateTime bucketStart;
+
+    @Column(name = "course_id", nullable = false)
+    private Long courseId;
+
+    @Column(name = "learning_path_id", nullable = false)
+    private Long learningPathId;
+
+    @Column(nullable = false)
+    private long enrollments;
+
+    @Column(nullable = false)
+    private long completions;
+
+    @Column(name = "progress_updates", nullable = false)
+    private long progressUpdates;
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public Granularity getGranularity() { return granularity; }
+    public void setGranularity(Granularity granularity) { this.granularity = granularity; }
+
+    public LocalDateTime getBucketStart() { return bucketStart; }
+    public void setBucketStart(LocalDateTime bucketStart) { this.bucketStart = bucketStart; }
+
+    public Long getCourseId() { return courseId; }
+    public void setCourseId(Long courseId) { this.courseId = courseId; }
+
+    public Long getLearningPathId() { return learningPathId; }
+    public void setLearningPathId(Long learningPathId) { this.learningPathId = learningPathId; }
+
+    public long getEnrollments() { return enrollments; }
+    public void setEnrollments(long enrollments) { this.enrollments = enrollments; }
+
+    public long getCompletions() { return completions; }
+    public void setCompletions(long completions) { this.completions = completions; }
+
+    public long getProgressUpdates() { return progressUpdates; }
+    public void setProgressUpdates(long progressUpdates) { this.progressUpdates = progressUpdates; }
+}
@@ -1,14 +1,28 @@
 package org.example.backend.entity;
 
 import jakarta.persistence.*;
+import org.example.backend.statistics.StatisticsEntityListener;
 import java.time.LocalDateTime;
 
 @Entity
+@EntityListeners(StatisticsEntityListener.class)
 @Table(name = "enrollments", uniqueConstraints = {
         @UniqueConstraint(columnNames = {"user_id", "course_id", "learning_path_id"})
+}, indexes = {
+        // Enrollments eines Kurses bzw. Lernpfads; user_id deckt die Prüfung bei Kohorten-Einschreibungen ab.
+        // Abfragen je User nutzen den Unique-Index, dessen führende Spalte user_id ist.
+        @Index(name = "idx_enrollments_course_path_user", columnList = "course_id, learning_path_id, user_id"),
+        // Zeitbereiche für die Aktivitäts-Rollups
+        @Index(name = "idx_enrollments_enrolled_at", columnList = "enrolled_at"),
+        @Index(name = "idx_enrollments_completed_at", columnList = "completed_at"),
+        // countByCompletedTrue für die Plattformstatistik
+        @Index(name = "idx_enrollments_completed", columnList = "completed")
 })
 public class EnrollmentEntity {
 
+    // Obergrenze der Bitpositionen je Lernpfad, entspricht der Spaltenlänge von completed_contents
+    public static final int MAX_CONTENT_SLOTS = 8192;
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -37,6 +51,20 @@ public class EnrollmentEntity {
     @Column(name = "completed_at")
     private LocalDateTime completedAt;
 
+    // Erledigte Lerninhalte als Bitset über LearningContentEntity.completionSlot (Format von java.util.BitSet).
+    // Wird nur vom ContentProgressService per Compare-and-Set auf version geschrieben
+    @Column(name = "completed_contents", length = MAX_CONTENT_SLOTS / 8, insertable = false, updatable = false)
+    private byte[] completedContents;
+
+    // Primitiv, damit bestehende Zeilen beim Hinzufügen der Spalte 0 erhalten und Spring Data neue Entities am Id erkennt
+    @Version
+    @Column(nullable = false)
+    private long version;
+
+    // Stand von completed laut Datenbank, damit der StatisticsEntityListener neue Abschlüsse erkennt
+    @Transient
+    private boolean completedInDatabase;
+
     // Constructors
     public EnrollmentEntity() {
         this.enrolledAt = LocalDateTime.now();
@@ -49,6 +77,13 @@ public class EnrollmentEntity {
         this.enrolledAt = LocalDateTime.now();
     }
 
+    @PostLoad
+    @PostPersist
+    @PostUpdate
+    protected void rememberCompletedState() {
+        completedInDatabase = Boolean.TRUE.equals(completed);
+    }
+
     // Getters and Setters
     public Long getId() { return id; }
     public void setId(Long id) { this.id = id; }
@@ -78,4 +113,10 @@ public class EnrollmentEntity {
 
     public LocalDateTime getCompletedAt() { return completedAt; }
     public void setCompletedAt(LocalDateTime completedAt) { this.completedAt = completedAt; }
-}
\ No newline at end of file
+
+    public byte[] getCompletedContents() { return completedContents; }
+
+    public long getVersion() { return version; }
+
+    public boolean isCompletedInDatabase() { return completedInDatabase; }
+}
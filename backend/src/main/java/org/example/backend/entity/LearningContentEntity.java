@@ -4,7 +4,11 @@ import jakarta.persistence.*;
 import java.time.Instant;
 
 @Entity
-@Table(name = "learning_contents")
+// Deckt "WHERE learning_path_id = ? ORDER BY order_index" ab, ohne zusätzliche Sortierung
+@Table(name = "learning_contents",
+        indexes = @Index(name = "idx_learning_contents_path_order", columnList = "learning_path_id, order_index"),
+        uniqueConstraints = @UniqueConstraint(name = "uk_learning_contents_path_slot",
+                columnNames = {"learning_path_id", "completion_slot"}))
 public class LearningContentEntity {
 
     @Id
@@ -29,6 +33,11 @@ public class LearningContentEntity {
     @Column(name = "order_index")
     private Integer orderIndex;
 
+    // Bitposition im Erledigt-Bitset der Enrollments (EnrollmentEntity.completedContents). Anders als orderIndex
+    // bleibt sie beim Umsortieren gleich und wird nach dem Löschen des Inhalts nicht neu vergeben
+    @Column(name = "completion_slot", updatable = false)
+    private Integer completionSlot;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "learning_path_id", nullable = false)
     private LearningPathEntity learningPath;
@@ -63,6 +72,9 @@ public class LearningContentEntity {
     public Integer getOrderIndex() { return orderIndex; }
     public void setOrderIndex(Integer orderIndex) { this.orderIndex = orderIndex; }
 
+    public Integer getCompletionSlot() { return completionSlot; }
+    public void setCompletionSlot(Integer completionSlot) { this.completionSlot = completionSlot; }
+
     public LearningPathEntity getLearningPath() { return learningPath; }
     public void setLearningPath(LearningPathEntity learningPath) { this.learningPath = learningPath; }
 
@@ -4,7 +4,9 @@ import jakarta.persistence.*;
 import java.time.Instant;
 
 @Entity
-@Table(name = "learning_paths")
+// Lernpfade eines Kurses, auch nach Level (findByCourseIdAndLevel)
+@Table(name = "learning_paths",
+        indexes = @Index(name = "idx_learning_paths_course_level", columnList = "course_id, level"))
 public class LearningPathEntity {
 
     @Id
@@ -33,6 +35,11 @@ public class LearningPathEntity {
     @Column(name = "created_at")
     private Instant createdAt;
 
+    // Nächste freie Bitposition für Lerninhalte (siehe LearningContentEntity.completionSlot). Wird nur über
+    // LearningPathRepository.reserveContentSlots hochgezählt, ein Speichern der Entity setzt ihn nie zurück
+    @Column(name = "content_slots", nullable = false, updatable = false)
+    private int contentSlots;
+
     @PrePersist
     protected void onCreate() {
         createdAt = Instant.now();
@@ -62,4 +69,6 @@ public class LearningPathEntity {
 
     public Instant getCreatedAt() { return createdAt; }
     public void setCreatedAt(Instant createdAt) { this.createdAt = createdAt; }
+
+    public int getContentSlots() { return contentSlots; }
 }
\ No newline at end of file
@@ -0,0 +1,78 @@
+package org.example.backend.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Eine Buchung im Punktekonto eines Users. Die Summe der Buchungen eines Enrollments entspricht den Punkten,
+ * die sein Fortschritt im Lernpfad wert ist; Zeilen werden nie geändert, Korrekturen sind Gegenbuchungen.
+ * Wird ausschließlich vom PointsService geschrieben. Die IDs sind bewusst keine Fremdschlüssel, damit die
+ * Historie das Löschen von Enrollments und Kursen überdauert.
+ */
+@Entity
+@Table(name = "points_ledger", indexes = {
+        // Kontoauszug je User, neueste Buchung zuerst
+        @Index(name = "idx_points_ledger_user", columnList = "user_id"),
+        // Bisher gebuchte Punkte je Enrollment beim Verbuchen und Abgleich
+        @Index(name = "idx_points_ledger_enrollment", columnList = "enrollment_id")
+})
+public class PointsLedgerEntity {
+
+    public enum Reason {
+        PROGRESS,
+        COMPLETION,
+        CORRECTION
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "course_id", nullable = false)
+    private Long courseId;
+
+    @Column(name = "learning_path_id", nullable = false)
+    private Long learningPathId;
+
+    @Column(name = "enrollment_id", nullable = false)
+    private Long enrollmentId;
+
+    // Positiv für neu erreichte Punkte, negativ für Korrekturen nach unten
+    @Column(nullable = false)
+    private Integer points;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private Reason reason;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public Long getUserId() { return userId; }
+    public void setUserId(Long userId) { this.userId = userId; }
+
+    public Long getCourseId() { return courseId; }
+    public void setCourseId(Long courseId) { this.courseId = courseId; }
+
+    public Long getLearningPathId() { return learningPathId; }
+    public void setLearningPathId(Long learningPathId) { this.learningPathId = learningPathId; }
+
+    public Long getEnrollmentId() { return enrollmentId; }
+    public void setEnrollmentId(Long enrollmentId) { this.enrollmentId = enrollmentId; }
+
+    public Integer getPoints() { return points; }
+    public void setPoints(Integer points) { this.points = points; }
+
+    public Reason getReason() { return reason; }
+    public void setReason(Reason reason) { this.reason = reason; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+}
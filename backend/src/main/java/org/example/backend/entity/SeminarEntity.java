@@ -5,7 +5,12 @@ import java.time.LocalDateTime;
 import java.time.Instant;
 
 @Entity
-@Table(name = "seminars")
+@Table(name = "seminars", indexes = {
+        // Kommende Seminare und Seminare eines Tages (Bereich über start_time)
+        @Index(name = "idx_seminars_start_time", columnList = "start_time"),
+        // Seminare nach Status sortiert nach Beginn, auch für die laufenden Seminare
+        @Index(name = "idx_seminars_status_start", columnList = "status, start_time")
+})
 public class SeminarEntity {
 
     @Id
@@ -4,7 +4,11 @@ import jakarta.persistence.*;
 import java.time.Instant;
 
 @Entity
-@Table(name = "seminar_files")
+@Table(name = "seminar_files", indexes = {
+        // Dateien eines Seminars, neueste zuerst
+        @Index(name = "idx_seminar_files_seminar_upload", columnList = "seminar_id, upload_time"),
+        @Index(name = "idx_seminar_files_type", columnList = "file_type")
+})
 public class SeminarFileEntity {
 
     @Id
@@ -30,6 +34,9 @@ public class SeminarFileEntity {
     @Column(nullable = false)
     private Long fileSize;
 
+    @Column(name = "crc32")
+    private Long crc32; // Prüfsumme des Originals, erlaubt ZIP-Export ohne zweiten Lesedurchlauf
+
     @Column(name = "uploaded_by")
     private String uploadedBy; // Dozent Name
 
@@ -39,6 +46,22 @@ public class SeminarFileEntity {
     @Column(columnDefinition = "TEXT")
     private String description;
 
+    @Column(name = "thumbnail_path")
+    private String thumbnailPath;
+
+    @Column(name = "preview_path")
+    private String previewPath;
+
+    @Column(name = "gzip_path")
+    private String gzipPath; // vorab komprimierte Variante für Accept-Encoding: gzip
+
+    @Column(name = "gzip_size")
+    private Long gzipSize;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "processing_status", length = 20)
+    private ProcessingStatus processingStatus;
+
     @PrePersist
     protected void onCreate() {
         uploadTime = Instant.now();
@@ -66,6 +89,9 @@ public class SeminarFileEntity {
     public Long getFileSize() { return fileSize; }
     public void setFileSize(Long fileSize) { this.fileSize = fileSize; }
 
+    public Long getCrc32() { return crc32; }
+    public void setCrc32(Long crc32) { this.crc32 = crc32; }
+
     public String getUploadedBy() { return uploadedBy; }
     public void setUploadedBy(String uploadedBy) { this.uploadedBy = uploadedBy; }
 
@@ -74,4 +100,26 @@ public class SeminarFileEntity {
 
     public String getDescription() { return description; }
     public void setDescription(String description) { this.description = description; }
+
+    public String getThumbnailPath() { return thumbnailPath; }
+    public void setThumbnailPath(String thumbnailPath) { this.thumbnailPath = thumbnailPath; }
+
+    public String getPreviewPath() { return previewPath; }
+    public void setPreviewPath(String previewPath) { this.previewPath = previewPath; }
+
+    public String getGzipPath() { return gzipPath; }
+    public void setGzipPath(String gzipPath) { this.gzipPath = gzipPath; }
+
+    public Long getGzipSize() { return gzipSize; }
+    public void setGzipSize(Long gzipSize) { this.gzipSize = gzipSize; }
+
+    public ProcessingStatus getProcessingStatus() { return processingStatus; }
+    public void setProcessingStatus(ProcessingStatus processingStatus) { this.processingStatus = processingStatus; }
+
+    public enum ProcessingStatus {
+        PENDING,    // Wartet auf Verarbeitung
+        READY,      // Vorschaubilder erzeugt
+        SKIPPED,    // Keine Vorschau für diesen Dateityp
+        FAILED      // Verarbeitung fehlgeschlagen
+    }
 }
\ No newline at end of file
@@ -4,7 +4,11 @@ import jakarta.persistence.*;
 import java.time.Instant;
 
 @Entity
-@Table(name = "student_submissions")
+@Table(name = "student_submissions", indexes = {
+        // Abgaben eines Seminars, neueste zuerst
+        @Index(name = "idx_submissions_seminar_time", columnList = "seminar_id, submission_time"),
+        @Index(name = "idx_submissions_student_seminar", columnList = "student_id, seminar_id")
+})
 public class StudentSubmissionEntity {
 
     @Id
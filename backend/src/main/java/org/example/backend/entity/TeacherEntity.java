@@ -1,10 +1,12 @@
 package org.example.backend.entity;
 
 import jakarta.persistence.*;
+import org.example.backend.statistics.StatisticsEntityListener;
 import java.time.Instant;
 import java.time.LocalDate;
 
 @Entity
+@EntityListeners(StatisticsEntityListener.class)
 @Table(name = "teachers")
 public class TeacherEntity {
 
@@ -1,14 +1,18 @@
 package org.example.backend.entity;
 
 import jakarta.persistence.*;
+import org.example.backend.statistics.StatisticsEntityListener;
 import java.time.Instant;
 
 @Entity
+@EntityListeners(StatisticsEntityListener.class)
 @Table(name = "users",
         uniqueConstraints = {
                 @UniqueConstraint(name = "uk_users_username", columnNames = "username"),
                 @UniqueConstraint(name = "uk_users_email", columnNames = "email")
-        })
+        },
+        // OAuth2-Login: findByProviderAndProviderId
+        indexes = @Index(name = "idx_users_provider", columnList = "provider, provider_id"))
 public class UserEntity {
 
     @Id
@@ -4,7 +4,9 @@ import jakarta.persistence.*;
 import java.time.Instant;
 
 @Entity
-@Table(name = "whiteboard_drawings")
+// Zeichnungen eines Seminars in Zeichenreihenfolge
+@Table(name = "whiteboard_drawings",
+        indexes = @Index(name = "idx_whiteboard_seminar_draw", columnList = "seminar_id, draw_time"))
 public class WhiteboardEntity {
 
     @Id
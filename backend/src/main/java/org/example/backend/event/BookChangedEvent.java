@@ -0,0 +1,6 @@
+package org.example.backend.event;
+
+/**
+ * Wird nach Anlegen, Ändern oder Löschen eines Buches veröffentlicht.
+ */
+public record BookChangedEvent(Long bookId) {}
@@ -0,0 +1,26 @@
+package org.example.backend.event;
+
+/**
+ * Wird veröffentlicht, wenn sich ein Kurs, ein Lernpfad oder ein Lerninhalt geändert hat.
+ * courseId bzw. learningPathId kennzeichnen den betroffenen Ausschnitt des Katalogs.
+ */
+public record CatalogChangedEvent(Type type, Long courseId, Long learningPathId) {
+
+    public enum Type {
+        COURSE,
+        LEARNING_PATH,
+        CONTENT
+    }
+
+    public static CatalogChangedEvent course(Long courseId) {
+        return new CatalogChangedEvent(Type.COURSE, courseId, null);
+    }
+
+    public static CatalogChangedEvent learningPath(Long courseId, Long learningPathId) {
+        return new CatalogChangedEvent(Type.LEARNING_PATH, courseId, learningPathId);
+    }
+
+    public static CatalogChangedEvent content(Long learningPathId) {
+        return new CatalogChangedEvent(Type.CONTENT, null, learningPathId);
+    }
+}
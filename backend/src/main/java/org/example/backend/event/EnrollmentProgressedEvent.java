@@ -0,0 +1,16 @@
+package org.example.backend.event;
+
+import java.time.LocalDateTime;
+
+/**
+ * Wird veröffentlicht, wenn sich der Fortschritt eines Enrollments geändert hat.
+ * updates gibt an, wie viele Meldungen zusammengefasst wurden (siehe ProgressUpdateBuffer).
+ */
+public record EnrollmentProgressedEvent(Long enrollmentId, Long courseId, Long learningPathId,
+                                        int progress, int updates, LocalDateTime occurredAt) {
+
+    public EnrollmentProgressedEvent(Long enrollmentId, Long courseId, Long learningPathId,
+                                     int progress, LocalDateTime occurredAt) {
+        this(enrollmentId, courseId, learningPathId, progress, 1, occurredAt);
+    }
+}
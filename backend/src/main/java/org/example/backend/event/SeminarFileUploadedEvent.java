@@ -0,0 +1,7 @@
+package org.example.backend.event;
+
+/**
+ * Wird nach dem Speichern einer neuen Seminar-Datei veröffentlicht.
+ */
+public record SeminarFileUploadedEvent(Long fileId) {
+}
@@ -0,0 +1,28 @@
+package org.example.backend.event;
+
+/**
+ * Änderung eines Zählers der Plattformstatistik. Ohne Metrik (siehe {@link #recount()}) werden alle Zähler
+ * neu aus der Datenbank gelesen, z.B. nach Massenoperationen, die an den Entity-Callbacks vorbeilaufen.
+ */
+public record StatisticsChangedEvent(Metric metric, long delta) {
+
+    public enum Metric {
+        STUDENTS,
+        TEACHERS,
+        COURSES,
+        ENROLLMENTS,
+        COMPLETIONS
+    }
+
+    public static StatisticsChangedEvent of(Metric metric, long delta) {
+        return new StatisticsChangedEvent(metric, delta);
+    }
+
+    public static StatisticsChangedEvent recount() {
+        return new StatisticsChangedEvent(null, 0);
+    }
+
+    public boolean isRecount() {
+        return metric == null;
+    }
+}
@@ -0,0 +1,47 @@
+package org.example.backend.media;
+
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Locale;
+import java.util.Set;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Erzeugt einmalig eine gzip-Variante textlastiger Dateien, die beim Download direkt ausgeliefert wird.
+ */
+@Component
+public class DocumentCompressor {
+
+    private static final Set<String> COMPRESSIBLE_EXTENSIONS = Set.of(
+            "txt", "md", "csv", "tsv", "json", "xml", "svg", "html", "htm", "css", "log",
+            "js", "ts", "tsx", "jsx", "java", "kt", "py", "c", "h", "cpp", "hpp", "cs", "go", "rs",
+            "rb", "php", "sql", "sh", "ps1", "yml", "yaml", "ini", "properties", "ipynb", "tex");
+
+    // Unter dieser Ersparnis lohnt sich eine zweite Variante nicht
+    private static final double MAX_COMPRESSION_RATIO = 0.9;
+
+    public boolean isCompressible(String originalFileName) {
+        int dot = originalFileName.lastIndexOf('.');
+        return dot >= 0 && COMPRESSIBLE_EXTENSIONS.contains(originalFileName.substring(dot + 1).toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * Komprimiert den Inhalt mit maximaler Stufe; liefert null, wenn das Ergebnis kaum kleiner ist.
+     */
+    public byte[] gzip(InputStream content, long originalSize) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream((int) Math.min(originalSize / 2, Integer.MAX_VALUE - 8));
+        try (OutputStream out = new GZIPOutputStream(buffer, 64 * 1024) {
+            {
+                def.setLevel(Deflater.BEST_COMPRESSION);
+            }
+        }) {
+            content.transferTo(out);
+        }
+        return buffer.size() < originalSize * MAX_COMPRESSION_RATIO ? buffer.toByteArray() : null;
+    }
+}
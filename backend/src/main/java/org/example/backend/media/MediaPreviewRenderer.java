@@ -0,0 +1,161 @@
+package org.example.backend.media;
+
+import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.io.RandomAccessReadBuffer;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.apache.pdfbox.rendering.ImageType;
+import org.apache.pdfbox.rendering.PDFRenderer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Iterator;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Erzeugt aus Bildern, PDFs und Videos ein Quellbild, aus dem Thumbnail und Vorschau skaliert werden.
+ * <p>
+ * Das Quellbild wird nur so groß erzeugt, wie die größte Vorschau es braucht: Bilder werden beim Dekodieren
+ * unterabgetastet, PDF-Seiten mit passender Auflösung gerendert. Die Größe eines Bildes steht im Dateikopf und
+ * kann frei gewählt sein (wenige MB PNG für 50.000 x 50.000 Pixel), sie wird daher vor dem Dekodieren geprüft.
+ */
+@Component
+public class MediaPreviewRenderer {
+
+    // Bisherige Auflösung der PDF-Vorschau, kleine Seiten werden nicht hochskaliert
+    private static final float MAX_PDF_DPI = 96;
+    private static final float PDF_POINTS_PER_INCH = 72;
+
+    private final String ffmpegPath;
+    private final long maxPixels;
+
+    public MediaPreviewRenderer(@Value("${media.processing.ffmpeg-path:}") String ffmpegPath,
+                                @Value("${media.processing.max-pixels:100000000}") long maxPixels) {
+        this.ffmpegPath = ffmpegPath;
+        this.maxPixels = maxPixels;
+    }
+
+    /**
+     * Liefert das Bild, aus dem die Vorschauen erzeugt werden, oder leer wenn der Dateityp
+     * (bzw. ohne ffmpeg: Videos) nicht unterstützt wird. Die längere Kante ist höchstens doppelt so lang
+     * wie maxSize; Bilder mit mehr als {@code media.processing.max-pixels} Pixeln werden abgelehnt.
+     */
+    public Optional<BufferedImage> renderSource(String fileType, InputStream content, int maxSize) throws IOException {
+        return switch (fileType) {
+            case "IMAGE" -> readImage(content, maxSize);
+            case "PDF" -> Optional.of(renderFirstPdfPage(content, maxSize));
+            case "VIDEO" -> ffmpegPath.isBlank() ? Optional.empty() : grabVideoFrame(content, maxSize);
+            default -> Optional.empty();
+        };
+    }
+
+    /**
+     * Skaliert das Bild proportional auf höchstens maxSize Pixel Kantenlänge und kodiert es als JPEG.
+     */
+    public byte[] toJpeg(BufferedImage source, int maxSize) throws IOException {
+        double scale = Math.min(1.0, (double) maxSize / Math.max(source.getWidth(), source.getHeight()));
+        int width = Math.max(1, (int) Math.round(source.getWidth() * scale));
+        int height = Math.max(1, (int) Math.round(source.getHeight() * scale));
+
+        // JPEG kennt keine Transparenz, daher auf weißen Hintergrund zeichnen
+        BufferedImage target = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = target.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g.setColor(Color.WHITE);
+            g.fillRect(0, 0, width, height);
+            g.drawImage(source, 0, 0, width, height, null);
+        } finally {
+            g.dispose();
+        }
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(target, "jpg", out);
+        return out.toByteArray();
+    }
+
+    // Liest zuerst nur den Dateikopf und dekodiert dann jede n-te Zeile und Spalte
+    private Optional<BufferedImage> readImage(Object input, int maxSize) throws IOException {
+        try (ImageInputStream stream = ImageIO.createImageInputStream(input)) {
+            if (stream == null) {
+                return Optional.empty();
+            }
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(stream);
+            if (!readers.hasNext()) {
+                return Optional.empty();
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(stream, true, true);
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+                if ((long) width * height > maxPixels) {
+                    throw new IOException("Image too large: " + width + "x" + height);
+                }
+                int step = Math.max(1, Math.max(width, height) / maxSize);
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceSubsampling(step, step, 0, 0);
+                return Optional.of(reader.read(0, param));
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private BufferedImage renderFirstPdfPage(InputStream content, int maxSize) throws IOException {
+        try (PDDocument document = Loader.loadPDF(new RandomAccessReadBuffer(content))) {
+            if (document.getNumberOfPages() == 0) {
+                throw new IOException("PDF has no pages");
+            }
+            // Gerendert wird die CropBox (ohne Angabe: die MediaBox), Maße in Punkt (1/72 Zoll)
+            PDRectangle box = document.getPage(0).getCropBox();
+            float longestSide = Math.max(1, Math.max(box.getWidth(), box.getHeight()));
+            float dpi = Math.min(MAX_PDF_DPI, maxSize * PDF_POINTS_PER_INCH / longestSide);
+            return new PDFRenderer(document).renderImageWithDPI(0, dpi, ImageType.RGB);
+        }
+    }
+
+    private Optional<BufferedImage> grabVideoFrame(InputStream content, int maxSize) throws IOException {
+        // MP4-Container brauchen wahlfreien Zugriff, ffmpeg liest daher aus einer temporären Datei
+        Path input = Files.createTempFile("coursehub-video-", ".tmp");
+        Path frame = Files.createTempFile("coursehub-frame-", ".png");
+        try {
+            Files.copy(content, input, StandardCopyOption.REPLACE_EXISTING);
+            Process process = new ProcessBuilder(ffmpegPath, "-y", "-loglevel", "error",
+                    "-ss", "1", "-i", input.toString(), "-frames:v", "1", frame.toString())
+                    .redirectErrorStream(true)
+                    .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                    .start();
+            if (!process.waitFor(60, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+                throw new IOException("ffmpeg timed out");
+            }
+            if (process.exitValue() != 0 || Files.size(frame) == 0) {
+                return Optional.empty();
+            }
+            return readImage(frame.toFile(), maxSize);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for ffmpeg", e);
+        } finally {
+            Files.deleteIfExists(input);
+            Files.deleteIfExists(frame);
+        }
+    }
+}
@@ -0,0 +1,252 @@
+package org.example.backend.points;
+
+import org.example.backend.dto.LeaderboardEntry;
+import org.example.backend.entity.PointsLedgerEntity;
+import org.example.backend.entity.PointsLedgerEntity.Reason;
+import org.example.backend.entity.UserEntity;
+import org.example.backend.event.EnrollmentProgressedEvent;
+import org.example.backend.repository.PointsLedgerRepository;
+import org.example.backend.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Punktekonto und Ranglisten je Kurs und plattformweit.
+ * <p>
+ * Ein Enrollment ist {@code Lernpfad-Punkte * Fortschritt / 100} Punkte wert. Nach jeder Fortschrittsänderung
+ * (siehe {@link EnrollmentProgressedEvent}) wird die Differenz zu den bisher gebuchten Punkten als Zeile in
+ * {@code points_ledger} verbucht. Das Enrollment ist dabei per {@code SELECT ... FOR UPDATE} gesperrt, parallele
+ * Läufe (auch anderer Instanzen) buchen dieselbe Differenz also nie doppelt. Nach dem Commit werden nur die
+ * Differenzen auf die Ranglisten im Speicher ({@link RankedScores}) addiert.
+ * <p>
+ * Punkte bleiben nach dem Abmelden oder Löschen eines Kurses erhalten. {@link #reconcile()} bucht beim Start und
+ * danach regelmäßig fehlende Differenzen nach (z.B. aus Enrollments mit Startfortschritt) und baut die
+ * Ranglisten aus dem Konto neu auf; so holen auch andere Instanzen die Buchungen dieser Instanz ein.
+ */
+@Service
+public class PointsService {
+
+    private static final Logger log = LoggerFactory.getLogger(PointsService.class);
+
+    private static final int CHUNK_SIZE = 500;
+
+    // Enrollments, deren gebuchte Punkte nicht zum aktuellen Fortschritt passen
+    private static final String MISMATCH_SELECT = "SELECT e.id FROM enrollments e " +
+            "JOIN learning_paths lp ON lp.id = e.learning_path_id " +
+            "LEFT JOIN (SELECT enrollment_id, SUM(points) AS awarded FROM points_ledger GROUP BY enrollment_id) l " +
+            "ON l.enrollment_id = e.id " +
+            "WHERE FLOOR(lp.points * COALESCE(e.progress, 0) / 100) <> COALESCE(l.awarded, 0)";
+
+    private final PointsLedgerRepository pointsLedgerRepository;
+    private final UserRepository userRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int maxPageSize;
+
+    private final Set<Long> pendingEnrollments = ConcurrentHashMap.newKeySet();
+    // Werden beim Neuaufbau als Ganzes ersetzt
+    private volatile RankedScores global = new RankedScores();
+    private volatile Map<Long, RankedScores> courses = new ConcurrentHashMap<>();
+
+    public PointsService(PointsLedgerRepository pointsLedgerRepository,
+                         UserRepository userRepository,
+                         JdbcTemplate jdbcTemplate,
+                         TransactionTemplate transactionTemplate,
+                         @Value("${points.leaderboard.max-page-size:100}") int maxPageSize) {
+        this.pointsLedgerRepository = pointsLedgerRepository;
+        this.userRepository = userRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.maxPageSize = maxPageSize;
+    }
+
+    /**
+     * Ranglistenausschnitt ab Platz offset + 1, plattformweit oder für einen Kurs.
+     */
+    public List<LeaderboardEntry> getLeaderboard(Long courseId, int offset, int limit) {
+        if (offset < 0 || limit < 1 || limit > maxPageSize) {
+            throw new IllegalArgumentException("offset must be >= 0 and limit between 1 and " + maxPageSize);
+        }
+        List<RankedScores.Entry> entries = board(courseId).range(offset, limit);
+        Set<Long> userIds = new HashSet<>();
+        for (RankedScores.Entry entry : entries) {
+            userIds.add(entry.userId());
+        }
+        Map<Long, String> usernames = new HashMap<>();
+        for (UserEntity user : userRepository.findAllById(userIds)) {
+            usernames.put(user.getId(), user.getUsername());
+        }
+        List<LeaderboardEntry> result = new ArrayList<>(entries.size());
+        for (RankedScores.Entry entry : entries) {
+            result.add(new LeaderboardEntry(entry.rank(), entry.userId(), usernames.get(entry.userId()), entry.score()));
+        }
+        return result;
+    }
+
+    public LeaderboardEntry getStanding(Long userId, Long courseId) {
+        UserEntity user = userRepository.findById(userId)
+                .orElseThrow(() -> new RuntimeException("User nicht gefunden"));
+        RankedScores board = board(courseId);
+        int rank = board.rank(userId);
+        return new LeaderboardEntry(rank > 0 ? rank : null, userId, user.getUsername(), board.score(userId));
+    }
+
+    public List<PointsLedgerEntity> getLedger(Long userId, int limit) {
+        if (limit < 1 || limit > maxPageSize) {
+            throw new IllegalArgumentException("limit must be between 1 and " + maxPageSize);
+        }
+        return pointsLedgerRepository.findByUserIdOrderByIdDesc(userId, Limit.of(limit));
+    }
+
+    private RankedScores board(Long courseId) {
+        if (courseId == null) {
+            return global;
+        }
+        RankedScores board = courses.get(courseId);
+        return board != null ? board : new RankedScores();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEnrollmentProgressed(EnrollmentProgressedEvent event) {
+        pendingEnrollments.add(event.enrollmentId());
+    }
+
+    /**
+     * Verbucht die seit dem letzten Lauf gemeldeten Enrollments gesammelt.
+     */
+    @Scheduled(fixedDelayString = "${points.award-interval:PT1S}")
+    public synchronized void awardPending() {
+        List<Long> enrollmentIds = new ArrayList<>();
+        for (Long enrollmentId : pendingEnrollments) {
+            if (pendingEnrollments.remove(enrollmentId)) {
+                enrollmentIds.add(enrollmentId);
+            }
+        }
+        award(enrollmentIds);
+    }
+
+    /**
+     * Der erste Lauf startet sofort, aber auf dem Scheduler statt im Start der Anwendung: die Abfrage über alle
+     * Enrollments verzögert den Start nicht, und ein Fehler bricht ihn nicht ab, sondern wird protokolliert.
+     */
+    @Scheduled(fixedDelayString = "${points.reconcile-interval:PT1H}")
+    public synchronized void reconcile() {
+        long start = System.nanoTime();
+        List<Long> mismatched = jdbcTemplate.queryForList(MISMATCH_SELECT, Long.class);
+        award(mismatched);
+
+        RankedScores rebuiltGlobal = new RankedScores();
+        Map<Long, RankedScores> rebuiltCourses = new ConcurrentHashMap<>();
+        jdbcTemplate.query("SELECT user_id, course_id, SUM(points) FROM points_ledger GROUP BY user_id, course_id",
+                (RowCallbackHandler) rs -> {
+                    long userId = rs.getLong(1);
+                    long points = rs.getLong(3);
+                    rebuiltCourses.computeIfAbsent(rs.getLong(2), id -> new RankedScores()).set(userId, points);
+                    rebuiltGlobal.add(userId, points);
+                });
+        global = rebuiltGlobal;
+        courses = rebuiltCourses;
+        log.info("Reconciled points ledger ({} enrollments corrected, {} ranked users) in {} ms",
+                mismatched.size(), rebuiltGlobal.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    // In aufsteigender ID-Reihenfolge, wie der ProgressUpdateBuffer sperrt, damit sich beide nicht gegenseitig blockieren
+    private void award(List<Long> enrollmentIds) {
+        if (enrollmentIds.isEmpty()) {
+            return;
+        }
+        List<Long> ids = new ArrayList<>(enrollmentIds);
+        Collections.sort(ids);
+        for (int i = 0; i < ids.size(); i += CHUNK_SIZE) {
+            List<Long> chunk = ids.subList(i, Math.min(i + CHUNK_SIZE, ids.size()));
+            List<Award> awards;
+            try {
+                awards = transactionTemplate.execute(status -> book(chunk));
+            } catch (RuntimeException e) {
+                // Beim nächsten Lauf erneut versuchen
+                pendingEnrollments.addAll(ids.subList(i, ids.size()));
+                log.error("Awarding points for {} enrollments failed: {}", ids.size() - i, e.getMessage(), e);
+                return;
+            }
+            for (Award award : awards) {
+                global.add(award.userId(), award.points());
+                courses.computeIfAbsent(award.courseId(), id -> new RankedScores()).add(award.userId(), award.points());
+            }
+        }
+    }
+
+    private List<Award> book(List<Long> enrollmentIds) {
+        List<LockedEnrollment> enrollments = new ArrayList<>(enrollmentIds.size());
+        jdbcTemplate.query("SELECT id, user_id, course_id, learning_path_id, progress FROM enrollments " +
+                        "WHERE id IN (" + placeholders(enrollmentIds.size()) + ") ORDER BY id FOR UPDATE",
+                (RowCallbackHandler) rs -> enrollments.add(new LockedEnrollment(rs.getLong(1), rs.getLong(2),
+                        rs.getLong(3), rs.getLong(4), rs.getInt(5))),
+                enrollmentIds.toArray());
+        if (enrollments.isEmpty()) {
+            return List.of();
+        }
+
+        Set<Long> learningPathIds = new HashSet<>();
+        List<Long> lockedIds = new ArrayList<>(enrollments.size());
+        for (LockedEnrollment enrollment : enrollments) {
+            learningPathIds.add(enrollment.learningPathId());
+            lockedIds.add(enrollment.id());
+        }
+        Map<Long, Integer> pathPoints = new HashMap<>();
+        jdbcTemplate.query("SELECT id, points FROM learning_paths WHERE id IN (" + placeholders(learningPathIds.size()) + ")",
+                (RowCallbackHandler) rs -> pathPoints.put(rs.getLong(1), rs.getInt(2)),
+                learningPathIds.toArray());
+        Map<Long, Long> awarded = new HashMap<>();
+        jdbcTemplate.query("SELECT enrollment_id, SUM(points) FROM points_ledger WHERE enrollment_id IN (" +
+                        placeholders(lockedIds.size()) + ") GROUP BY enrollment_id",
+                (RowCallbackHandler) rs -> awarded.put(rs.getLong(1), rs.getLong(2)),
+                lockedIds.toArray());
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Award> awards = new ArrayList<>();
+        List<Object[]> rows = new ArrayList<>();
+        for (LockedEnrollment enrollment : enrollments) {
+            long worth = (long) pathPoints.getOrDefault(enrollment.learningPathId(), 0) * enrollment.progress() / 100;
+            int delta = (int) (worth - awarded.getOrDefault(enrollment.id(), 0L));
+            if (delta == 0) {
+                continue;
+            }
+            Reason reason = delta < 0 ? Reason.CORRECTION : enrollment.progress() >= 100 ? Reason.COMPLETION : Reason.PROGRESS;
+            rows.add(new Object[]{enrollment.userId(), enrollment.courseId(), enrollment.learningPathId(),
+                    enrollment.id(), delta, reason.name(), now});
+            awards.add(new Award(enrollment.userId(), enrollment.courseId(), delta));
+        }
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate("INSERT INTO points_ledger (user_id, course_id, learning_path_id, enrollment_id, " +
+                    "points, reason, created_at) VALUES (?, ?, ?, ?, ?, ?, ?)", rows);
+        }
+        return awards;
+    }
+
+    private static String placeholders(int count) {
+        return String.join(", ", Collections.nCopies(count, "?"));
+    }
+
+    private record LockedEnrollment(long id, long userId, long courseId, long learningPathId, int progress) {}
+
+    private record Award(long userId, long courseId, long points) {}
+}
@@ -0,0 +1,228 @@
+package org.example.backend.points;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Rangliste im Speicher als indizierbare Skip-Liste: absteigend nach Punkten, bei Gleichstand die kleinere
+ * User-ID zuerst. Jeder Zeiger kennt die Zahl der übersprungenen Einträge, dadurch sind Punkteänderung,
+ * Platz eines Users und Einstieg bei einem beliebigen Platz O(log n); eine Seite ab dort kostet O(log n + limit).
+ * Users ohne Punkte stehen nicht in der Liste. Lesen ist parallel möglich, Schreiben exklusiv.
+ */
+public class RankedScores {
+
+    private static final int MAX_LEVEL = 32;
+
+    public record Entry(int rank, long userId, long score) {}
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Long> scores = new HashMap<>();
+    private final Node head = new Node(0, 0, MAX_LEVEL);
+    private int level = 1;
+
+    /**
+     * Addiert delta zum Punktestand des Users und liefert den neuen Stand.
+     */
+    public long add(long userId, long delta) {
+        lock.writeLock().lock();
+        try {
+            Long previous = scores.get(userId);
+            long score = (previous != null ? previous : 0) + delta;
+            move(userId, previous, score);
+            return score;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void set(long userId, long score) {
+        lock.writeLock().lock();
+        try {
+            move(userId, scores.get(userId), score);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public long score(long userId) {
+        lock.readLock().lock();
+        try {
+            return scores.getOrDefault(userId, 0L);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Platz ab 1, 0 wenn der User keine Punkte hat.
+     */
+    public int rank(long userId) {
+        lock.readLock().lock();
+        try {
+            Long score = scores.get(userId);
+            if (score == null) {
+                return 0;
+            }
+            Node x = head;
+            int rank = 0;
+            for (int i = level - 1; i >= 0; i--) {
+                while (x.next[i] != null && compare(x.next[i], score, userId) <= 0) {
+                    rank += x.span[i];
+                    x = x.next[i];
+                }
+                if (x != head && x.userId == userId) {
+                    return rank;
+                }
+            }
+            return 0;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Bis zu limit Einträge ab Platz offset + 1, offset 0 liefert also die Spitze.
+     */
+    public List<Entry> range(int offset, int limit) {
+        lock.readLock().lock();
+        try {
+            List<Entry> entries = new ArrayList<>(Math.max(0, Math.min(limit, scores.size() - offset)));
+            Node x = offset < scores.size() ? nodeAt(offset + 1) : null;
+            for (int rank = offset + 1; x != null && entries.size() < limit; rank++, x = x.next[0]) {
+                entries.add(new Entry(rank, x.userId, x.score));
+            }
+            return entries;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return scores.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void move(long userId, Long previous, long score) {
+        if (previous != null) {
+            if (previous == score) {
+                return;
+            }
+            delete(userId, previous);
+            scores.remove(userId);
+        }
+        if (score > 0) {
+            insert(userId, score);
+            scores.put(userId, score);
+        }
+    }
+
+    private Node nodeAt(int rank) {
+        Node x = head;
+        int traversed = 0;
+        for (int i = level - 1; i >= 0; i--) {
+            while (x.next[i] != null && traversed + x.span[i] <= rank) {
+                traversed += x.span[i];
+                x = x.next[i];
+            }
+            if (traversed == rank) {
+                return x;
+            }
+        }
+        return null;
+    }
+
+    private void insert(long userId, long score) {
+        Node[] update = new Node[MAX_LEVEL];
+        int[] rank = new int[MAX_LEVEL];
+        Node x = head;
+        for (int i = level - 1; i >= 0; i--) {
+            rank[i] = i == level - 1 ? 0 : rank[i + 1];
+            while (x.next[i] != null && compare(x.next[i], score, userId) < 0) {
+                rank[i] += x.span[i];
+                x = x.next[i];
+            }
+            update[i] = x;
+        }
+        int nodeLevel = randomLevel();
+        if (nodeLevel > level) {
+            for (int i = level; i < nodeLevel; i++) {
+                rank[i] = 0;
+                update[i] = head;
+                head.span[i] = scores.size();
+            }
+            level = nodeLevel;
+        }
+        Node node = new Node(userId, score, nodeLevel);
+        for (int i = 0; i < nodeLevel; i++) {
+            node.next[i] = update[i].next[i];
+            update[i].next[i] = node;
+            node.span[i] = update[i].span[i] - (rank[0] - rank[i]);
+            update[i].span[i] = rank[0] - rank[i] + 1;
+        }
+        for (int i = nodeLevel; i < level; i++) {
+            update[i].span[i]++;
+        }
+    }
+
+    private void delete(long userId, long score) {
+        Node[] update = new Node[MAX_LEVEL];
+        Node x = head;
+        for (int i = level - 1; i >= 0; i--) {
+            while (x.next[i] != null && compare(x.next[i], score, userId) < 0) {
+                x = x.next[i];
+            }
+            update[i] = x;
+        }
+        Node node = x.next[0];
+        for (int i = 0; i < level; i++) {
+            if (update[i].next[i] == node) {
+                update[i].span[i] += node.span[i] - 1;
+                update[i].next[i] = node.next[i];
+            } else {
+                update[i].span[i]--;
+            }
+        }
+        while (level > 1 && head.next[level - 1] == null) {
+            level--;
+        }
+    }
+
+    // < 0, wenn node vor (score, userId) steht
+    private static int compare(Node node, long score, long userId) {
+        int byScore = Long.compare(score, node.score);
+        return byScore != 0 ? byScore : Long.compare(node.userId, userId);
+    }
+
+    // Jede Ebene mit Wahrscheinlichkeit 1/4, wie bei Redis' Sorted Sets
+    private static int randomLevel() {
+        int nodeLevel = 1;
+        while (nodeLevel < MAX_LEVEL && ThreadLocalRandom.current().nextInt(4) == 0) {
+            nodeLevel++;
+        }
+        return nodeLevel;
+    }
+
+    private static final class Node {
+        final long userId;
+        final long score;
+        final Node[] next;
+        // Anzahl der Einträge, die next[i] überspringt (einschließlich des Ziels)
+        final int[] span;
+
+        Node(long userId, long score, int level) {
+            this.userId = userId;
+            this.score = score;
+            this.next = new Node[level];
+            this.span = new int[level];
+        }
+    }
+}
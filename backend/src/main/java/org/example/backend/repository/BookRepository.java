@@ -1,9 +1,15 @@
 package org.example.backend.repository;
 
 import org.example.backend.entity.BookEntity;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 @Repository
 public interface BookRepository extends JpaRepository<BookEntity, Long> {
+
+    // Keyset-Pagination über den Primärschlüssel
+    List<BookEntity> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
 }
\ No newline at end of file
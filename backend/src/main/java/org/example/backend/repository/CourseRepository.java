@@ -1,12 +1,33 @@
 package org.example.backend.repository;
 
+import org.example.backend.dto.CourseResponse;
 import org.example.backend.entity.CourseEntity;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface CourseRepository extends JpaRepository<CourseEntity, Long> {
     Optional<CourseEntity> findByName(String name);
-}
\ No newline at end of file
+
+    // Lesepfad für den Katalog: nur die benötigten Spalten, keine verwalteten Entities
+    @Query("SELECT new org.example.backend.dto.CourseResponse(c.id, c.name, c.description) FROM CourseEntity c " +
+            "WHERE c.id > :afterId ORDER BY c.id")
+    List<CourseResponse> findResponsesAfter(Long afterId, Limit limit);
+
+    @Query("SELECT new org.example.backend.dto.CourseResponse(c.id, c.name, c.description) FROM CourseEntity c WHERE c.id = :id")
+    Optional<CourseResponse> findResponseById(Long id);
+
+    @Query("SELECT new org.example.backend.dto.CourseResponse(c.id, c.name, c.description) FROM CourseEntity c WHERE c.name = :name")
+    Optional<CourseResponse> findResponseByName(String name);
+
+    // Letzter Schritt der Massenlöschung; leert den Persistence Context, da geladene Entities nun veraltet sind
+    @Modifying(clearAutomatically = true)
+    @Query("DELETE FROM CourseEntity c WHERE c.id = :courseId")
+    int bulkDeleteById(Long courseId);
+}
@@ -0,0 +1,34 @@
+package org.example.backend.repository;
+
+import org.example.backend.dto.ActivityPoint;
+import org.example.backend.entity.EnrollmentActivityRollupEntity;
+import org.example.backend.entity.EnrollmentActivityRollupEntity.Granularity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface EnrollmentActivityRollupRepository extends JpaRepository<EnrollmentActivityRollupEntity, Long> {
+
+    String SERIES_SELECT = "SELECT new org.example.backend.dto.ActivityPoint(r.bucketStart, " +
+            "SUM(r.enrollments), SUM(r.completions), SUM(r.progressUpdates)) " +
+            "FROM EnrollmentActivityRollupEntity r " +
+            "WHERE r.granularity = :granularity AND r.bucketStart >= :from AND r.bucketStart < :to ";
+
+    // Je Filter eine eigene Abfrage, damit jeweils der passende Index (granularity, ..., bucket_start) greift
+    @Query(SERIES_SELECT + "GROUP BY r.bucketStart ORDER BY r.bucketStart")
+    List<ActivityPoint> findSeries(Granularity granularity, LocalDateTime from, LocalDateTime to);
+
+    @Query(SERIES_SELECT + "AND r.courseId = :courseId GROUP BY r.bucketStart ORDER BY r.bucketStart")
+    List<ActivityPoint> findSeriesByCourseId(Granularity granularity, LocalDateTime from, LocalDateTime to, Long courseId);
+
+    @Query(SERIES_SELECT + "AND r.learningPathId = :learningPathId GROUP BY r.bucketStart ORDER BY r.bucketStart")
+    List<ActivityPoint> findSeriesByLearningPathId(Granularity granularity, LocalDateTime from, LocalDateTime to, Long learningPathId);
+
+    // Jüngstes verdichtetes Zeitfenster, null solange noch nichts verdichtet wurde
+    @Query("SELECT MAX(r.bucketStart) FROM EnrollmentActivityRollupEntity r WHERE r.granularity = :granularity")
+    LocalDateTime findLastBucketStart(Granularity granularity);
+}
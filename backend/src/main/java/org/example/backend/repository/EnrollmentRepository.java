@@ -1,19 +1,60 @@
 package org.example.backend.repository;
 
+import org.example.backend.dto.EnrollmentResponse;
+import org.example.backend.dto.GroupedCount;
+import org.example.backend.dto.HourlyCount;
+import org.example.backend.dto.UserStatsResponse;
 import org.example.backend.entity.EnrollmentEntity;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface EnrollmentRepository extends JpaRepository<EnrollmentEntity, Long> {
 
+    // Abgeleitete Finder über eine Assoziation erzeugen einen LEFT JOIN und filtern auf dessen Primärschlüssel;
+    // explizit über die Fremdschlüsselspalte greift der Index der Tabelle (siehe RepositoryIndexUsageTest).
+    // User, Kurs und Lernpfad werden gleich mitgeladen statt je Enrollment nachgeladen.
+    String ENTITY_SELECT = "SELECT e FROM EnrollmentEntity e JOIN FETCH e.user JOIN FETCH e.course JOIN FETCH e.learningPath ";
+
+    @Query(ENTITY_SELECT + "WHERE e.user.id = :userId")
     List<EnrollmentEntity> findByUserId(Long userId);
 
+    // Listen als DTOs in einer Abfrage: Benutzer, Kurs und Lernpfad werden per JOIN gelesen statt je Zeile nachgeladen
+    String RESPONSE_SELECT = "SELECT new org.example.backend.dto.EnrollmentResponse(e.id, u.id, u.username, c.id, c.name, " +
+            "lp.id, lp.level, lp.points, e.enrolledAt, e.progress, e.completed, e.completedAt, e.version) " +
+            "FROM EnrollmentEntity e JOIN e.user u JOIN e.course c JOIN e.learningPath lp ";
+
+    // Keyset-Pagination über den Primärschlüssel
+    @Query(RESPONSE_SELECT + "WHERE e.id > :afterId ORDER BY e.id")
+    List<EnrollmentResponse> findResponsesAfter(Long afterId, Limit limit);
+
+    @Query(RESPONSE_SELECT + "WHERE u.id = :userId ORDER BY e.id")
+    List<EnrollmentResponse> findResponsesByUserId(Long userId);
+
+    @Query(RESPONSE_SELECT + "WHERE c.id = :courseId ORDER BY e.id")
+    List<EnrollmentResponse> findResponsesByCourseId(Long courseId);
+
+    @Query(RESPONSE_SELECT + "WHERE e.id = :id")
+    Optional<EnrollmentResponse> findResponseById(Long id);
+
+    @Query(ENTITY_SELECT + "WHERE e.course.id = :courseId")
     List<EnrollmentEntity> findByCourseId(Long courseId);
 
+    // Dashboard-Statistik als eine Aggregat-Abfrage; user_id ist führende Spalte des Unique-Index
+    @Query("SELECT new org.example.backend.dto.UserStatsResponse(COUNT(e), " +
+            "SUM(CASE WHEN e.completed = true THEN 1 ELSE 0 END), AVG(COALESCE(e.progress, 0)), MAX(e.enrolledAt)) " +
+            "FROM EnrollmentEntity e WHERE e.user.id = :userId")
+    UserStatsResponse findStatsByUserId(Long userId);
+
+    @Query(ENTITY_SELECT + "WHERE e.user.id = :userId AND e.course.id = :courseId AND e.learningPath.id = :learningPathId")
     Optional<EnrollmentEntity> findByUserIdAndCourseIdAndLearningPathId(
             Long userId, Long courseId, Long learningPathId
     );
@@ -27,4 +68,58 @@ public interface EnrollmentRepository extends JpaRepository<EnrollmentEntity, Lo
     long countByUserId(Long userId);
 
     long countByCourseId(Long courseId);
+
+    long countByCompletedTrue();
+
+    // Rohdaten für die Aktivitäts-Rollups, je Lernpfad und Stunde gruppiert; Bereich über idx_enrollments_enrolled_at
+    @Query("SELECT new org.example.backend.dto.HourlyCount(e.course.id, e.learningPath.id, " +
+            "year(e.enrolledAt), month(e.enrolledAt), day(e.enrolledAt), hour(e.enrolledAt), COUNT(e)) " +
+            "FROM EnrollmentEntity e WHERE e.enrolledAt >= :from AND e.enrolledAt < :to " +
+            "GROUP BY e.course.id, e.learningPath.id, year(e.enrolledAt), month(e.enrolledAt), day(e.enrolledAt), hour(e.enrolledAt)")
+    List<HourlyCount> countEnrollmentsPerHour(LocalDateTime from, LocalDateTime to);
+
+    @Query("SELECT new org.example.backend.dto.HourlyCount(e.course.id, e.learningPath.id, " +
+            "year(e.completedAt), month(e.completedAt), day(e.completedAt), hour(e.completedAt), COUNT(e)) " +
+            "FROM EnrollmentEntity e WHERE e.completed = true AND e.completedAt >= :from AND e.completedAt < :to " +
+            "GROUP BY e.course.id, e.learningPath.id, year(e.completedAt), month(e.completedAt), day(e.completedAt), hour(e.completedAt)")
+    List<HourlyCount> countCompletionsPerHour(LocalDateTime from, LocalDateTime to);
+
+    @Query("SELECT MIN(e.enrolledAt) FROM EnrollmentEntity e")
+    LocalDateTime findFirstEnrolledAt();
+
+    // Einschreibungen je Lernpfad für mehrere Kurse in einer Abfrage
+    @Query("SELECT new org.example.backend.dto.GroupedCount(e.learningPath.id, COUNT(e)) " +
+            "FROM EnrollmentEntity e WHERE e.course.id IN :courseIds GROUP BY e.learningPath.id")
+    List<GroupedCount> countByLearningPathForCourses(Collection<Long> courseIds);
+
+    // Massenlöschung ohne die Enrollments zu laden (derived deleteBy würde jede Zeile einzeln entfernen)
+    @Modifying
+    @Query("DELETE FROM EnrollmentEntity e WHERE e.course.id = :courseId")
+    int bulkDeleteByCourseId(Long courseId);
+
+    @Query("SELECT e.id FROM EnrollmentEntity e WHERE e.course.id = :courseId ORDER BY e.id")
+    List<Long> findIdsByCourseId(Long courseId, Limit limit);
+
+    @Modifying
+    @Query("DELETE FROM EnrollmentEntity e WHERE e.id IN :ids")
+    int bulkDeleteByIdIn(Collection<Long> ids);
+
+    // Atomare Fortschrittsänderung ohne das Entity zu laden: sinkt nie, erhöht die Version für Optimistic Locking
+    @Modifying
+    @Query("UPDATE EnrollmentEntity e SET e.progress = GREATEST(COALESCE(e.progress, 0), :progress), " +
+            "e.version = e.version + 1 WHERE e.id = :id")
+    int raiseProgress(Long id, int progress);
+
+    // Setzt den Fortschritt exakt, aber nur auf dem Stand, den der Aufrufer gelesen hat; 0 = geändert oder gelöscht
+    @Modifying
+    @Query("UPDATE EnrollmentEntity e SET e.progress = :progress, e.version = e.version + 1 " +
+            "WHERE e.id = :id AND e.version = :version")
+    int overrideProgress(Long id, int progress, long version);
+
+    // Liefert 1 nur für den Aufrufer, der den Abschluss tatsächlich gesetzt hat
+    @Modifying
+    @Query("UPDATE EnrollmentEntity e SET e.completed = true, e.completedAt = COALESCE(e.completedAt, :completedAt), " +
+            "e.version = e.version + 1 " +
+            "WHERE e.id = :id AND e.progress >= 100 AND (e.completed IS NULL OR e.completed = false)")
+    int markCompleted(Long id, LocalDateTime completedAt);
 }
\ No newline at end of file
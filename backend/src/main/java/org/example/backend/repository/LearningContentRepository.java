@@ -1,12 +1,49 @@
 package org.example.backend.repository;
 
+import org.example.backend.dto.ContentSlot;
+import org.example.backend.dto.GroupedCount;
+import org.example.backend.dto.LearningContentResponse;
 import org.example.backend.entity.LearningContentEntity;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface LearningContentRepository extends JpaRepository<LearningContentEntity, Long> {
+    // Abgeleitete Finder über eine Assoziation erzeugen einen LEFT JOIN und filtern auf dessen Primärschlüssel;
+    // explizit über die Fremdschlüsselspalte greift der Index der Tabelle (siehe RepositoryIndexUsageTest)
+    @Query("SELECT c FROM LearningContentEntity c WHERE c.learningPath.id = :learningPathId ORDER BY c.orderIndex ASC")
     List<LearningContentEntity> findByLearningPathIdOrderByOrderIndexAsc(Long learningPathId);
+
+    @Query("SELECT new org.example.backend.dto.LearningContentResponse(c.id, c.learningPath.id, c.title, c.type, " +
+            "c.description, c.contentUrl, c.points, c.orderIndex) FROM LearningContentEntity c " +
+            "WHERE c.learningPath.id = :learningPathId ORDER BY c.orderIndex ASC, c.id ASC")
+    List<LearningContentResponse> findResponsesByLearningPathId(Long learningPathId);
+
+    // Bitpositionen und Punkte für den Fortschritt je Inhalt (siehe ContentProgressService)
+    @Query("SELECT new org.example.backend.dto.ContentSlot(c.id, c.completionSlot, c.points) FROM LearningContentEntity c " +
+            "WHERE c.learningPath.id = :learningPathId ORDER BY c.orderIndex ASC, c.id ASC")
+    List<ContentSlot> findSlotsByLearningPathId(Long learningPathId);
+
+    // Anzahl und Punktesumme der Inhalte je Lernpfad für mehrere Kurse in einer Abfrage
+    @Query("SELECT new org.example.backend.dto.GroupedCount(c.learningPath.id, COUNT(c), SUM(c.points)) " +
+            "FROM LearningContentEntity c WHERE c.learningPath.course.id IN :courseIds GROUP BY c.learningPath.id")
+    List<GroupedCount> countByLearningPathForCourses(Collection<Long> courseIds);
+
+    @Modifying
+    @Query("DELETE FROM LearningContentEntity c WHERE c.learningPath.id IN " +
+            "(SELECT lp.id FROM LearningPathEntity lp WHERE lp.course.id = :courseId)")
+    int bulkDeleteByCourseId(Long courseId);
+
+    @Query("SELECT c.id FROM LearningContentEntity c WHERE c.learningPath.course.id = :courseId ORDER BY c.id")
+    List<Long> findIdsByCourseId(Long courseId, Limit limit);
+
+    @Modifying
+    @Query("DELETE FROM LearningContentEntity c WHERE c.id IN :ids")
+    int bulkDeleteByIdIn(Collection<Long> ids);
 }
\ No newline at end of file
@@ -1,14 +1,64 @@
 package org.example.backend.repository;
 
+import org.example.backend.dto.LearningPathResponse;
+import org.example.backend.entity.EnrollmentEntity;
 import org.example.backend.entity.LearningPathEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface LearningPathRepository extends JpaRepository<LearningPathEntity, Long> {
+    // Abgeleitete Finder über eine Assoziation erzeugen einen LEFT JOIN und filtern auf dessen Primärschlüssel;
+    // explizit über die Fremdschlüsselspalte greift der Index der Tabelle (siehe RepositoryIndexUsageTest)
+    @Query("SELECT lp FROM LearningPathEntity lp WHERE lp.course.id = :courseId")
     List<LearningPathEntity> findByCourseId(Long courseId);
+
+    @Query("SELECT lp FROM LearningPathEntity lp WHERE lp.course.id = :courseId AND lp.level = :level")
     Optional<LearningPathEntity> findByCourseIdAndLevel(Long courseId, String level);
+
+    boolean existsByIdAndCourseId(Long id, Long courseId);
+
+    // Lernpfade einer ganzen Katalogseite in einer Abfrage, statt pro Kurs die Lazy-Collection nachzuladen
+    @Query("SELECT new org.example.backend.dto.LearningPathResponse(lp.id, lp.course.id, lp.level, lp.points, " +
+            "lp.durationWeeks, lp.overview, lp.description) FROM LearningPathEntity lp " +
+            "WHERE lp.course.id IN :courseIds ORDER BY lp.course.id, lp.id")
+    List<LearningPathResponse> findResponsesByCourseIdIn(Collection<Long> courseIds);
+
+    @Query("SELECT new org.example.backend.dto.LearningPathResponse(lp.id, lp.course.id, lp.level, lp.points, " +
+            "lp.durationWeeks, lp.overview, lp.description) FROM LearningPathEntity lp " +
+            "WHERE lp.course.id = :courseId ORDER BY lp.id")
+    List<LearningPathResponse> findResponsesByCourseId(Long courseId);
+
+    /**
+     * Reserviert count aufeinanderfolgende Bitpositionen für neue Inhalte und liefert die erste.
+     * Die Zeilensperre des UPDATE serialisiert parallele Anlagen im selben Lernpfad bis zum Commit.
+     */
+    default int reserveContentSlots(Long id, int count) {
+        if (incrementContentSlots(id, count) == 0) {
+            throw new RuntimeException("Learning path not found");
+        }
+        int end = findContentSlots(id);
+        if (end > EnrollmentEntity.MAX_CONTENT_SLOTS) {
+            throw new IllegalStateException("A learning path can hold at most " + EnrollmentEntity.MAX_CONTENT_SLOTS + " contents");
+        }
+        return end - count;
+    }
+
+    // Nativ, da content_slots für Entity-Updates gesperrt ist
+    @Modifying
+    @Query(value = "UPDATE learning_paths SET content_slots = content_slots + :count WHERE id = :id", nativeQuery = true)
+    int incrementContentSlots(Long id, int count);
+
+    @Query("SELECT lp.contentSlots FROM LearningPathEntity lp WHERE lp.id = :id")
+    Integer findContentSlots(Long id);
+
+    @Modifying
+    @Query("DELETE FROM LearningPathEntity lp WHERE lp.course.id = :courseId")
+    int bulkDeleteByCourseId(Long courseId);
 }
@@ -0,0 +1,15 @@
+package org.example.backend.repository;
+
+import org.example.backend.entity.PointsLedgerEntity;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface PointsLedgerRepository extends JpaRepository<PointsLedgerEntity, Long> {
+
+    // Kontoauszug, neueste Buchungen zuerst
+    List<PointsLedgerEntity> findByUserIdOrderByIdDesc(Long userId, Limit limit);
+}
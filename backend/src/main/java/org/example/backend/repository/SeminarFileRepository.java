@@ -2,16 +2,36 @@ package org.example.backend.repository;
 
 import org.example.backend.entity.SeminarFileEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
 @Repository
 public interface SeminarFileRepository extends JpaRepository<SeminarFileEntity, Long> {
 
+    // Abgeleitete Finder über eine Assoziation erzeugen einen LEFT JOIN und filtern auf dessen Primärschlüssel;
+    // explizit über die Fremdschlüsselspalte greift der Index der Tabelle (siehe RepositoryIndexUsageTest)
+    @Query("SELECT f FROM SeminarFileEntity f WHERE f.seminar.id = :seminarId ORDER BY f.uploadTime DESC")
     List<SeminarFileEntity> findBySeminarIdOrderByUploadTimeDesc(Long seminarId);
 
     List<SeminarFileEntity> findByFileType(String fileType);
 
+    @Query("SELECT f FROM SeminarFileEntity f WHERE f.seminar.id = :seminarId AND f.fileType = :fileType")
     List<SeminarFileEntity> findBySeminarIdAndFileType(Long seminarId, String fileType);
+
+    // Ergebnis der Hintergrundverarbeitung, ohne die Entity erneut zu laden
+    @Transactional
+    @Modifying
+    @Query("UPDATE SeminarFileEntity f SET f.thumbnailPath = :thumbnailPath, f.previewPath = :previewPath, " +
+            "f.processingStatus = :status WHERE f.id = :id")
+    int updateProcessingResult(Long id, String thumbnailPath, String previewPath,
+                               SeminarFileEntity.ProcessingStatus status);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE SeminarFileEntity f SET f.gzipPath = :gzipPath, f.gzipSize = :gzipSize WHERE f.id = :id")
+    int updateCompressedVariant(Long id, String gzipPath, Long gzipSize);
 }
\ No newline at end of file
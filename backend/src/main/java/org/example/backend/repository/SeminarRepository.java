@@ -1,6 +1,7 @@
 package org.example.backend.repository;
 
 import org.example.backend.entity.SeminarEntity;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
@@ -11,6 +12,9 @@ import java.util.List;
 @Repository
 public interface SeminarRepository extends JpaRepository<SeminarEntity, Long> {
 
+    // Keyset-Pagination über den Primärschlüssel
+    List<SeminarEntity> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
     // Alle kommenden Seminare
     List<SeminarEntity> findByStartTimeAfterOrderByStartTimeAsc(LocalDateTime now);
 
@@ -21,7 +25,11 @@ public interface SeminarRepository extends JpaRepository<SeminarEntity, Long> {
     // Seminare nach Status
     List<SeminarEntity> findByStatusOrderByStartTimeAsc(SeminarEntity.SeminarStatus status);
 
-    // Seminare heute
-    @Query("SELECT s FROM SeminarEntity s WHERE DATE(s.startTime) = DATE(:today) ORDER BY s.startTime ASC")
-    List<SeminarEntity> findSeminarsToday(LocalDateTime today);
+    // Seminare heute; als Bereich statt DATE(start_time), damit idx_seminars_start_time greift
+    default List<SeminarEntity> findSeminarsToday(LocalDateTime today) {
+        LocalDateTime dayStart = today.toLocalDate().atStartOfDay();
+        return findByStartTimeGreaterThanEqualAndStartTimeLessThanOrderByStartTimeAsc(dayStart, dayStart.plusDays(1));
+    }
+
+    List<SeminarEntity> findByStartTimeGreaterThanEqualAndStartTimeLessThanOrderByStartTimeAsc(LocalDateTime from, LocalDateTime to);
 }
\ No newline at end of file
@@ -2,6 +2,7 @@ package org.example.backend.repository;
 
 import org.example.backend.entity.StudentSubmissionEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -9,10 +10,14 @@ import java.util.List;
 @Repository
 public interface StudentSubmissionRepository extends JpaRepository<StudentSubmissionEntity, Long> {
 
+    // Abgeleitete Finder über eine Assoziation erzeugen einen LEFT JOIN und filtern auf dessen Primärschlüssel;
+    // explizit über die Fremdschlüsselspalte greift der Index der Tabelle (siehe RepositoryIndexUsageTest)
+    @Query("SELECT s FROM StudentSubmissionEntity s WHERE s.seminar.id = :seminarId ORDER BY s.submissionTime DESC")
     List<StudentSubmissionEntity> findBySeminarIdOrderBySubmissionTimeDesc(Long seminarId);
 
     List<StudentSubmissionEntity> findByStudentIdAndSeminarId(Long studentId, Long seminarId);
 
+    @Query("SELECT s FROM StudentSubmissionEntity s WHERE s.seminar.id = :seminarId AND s.submissionType = :submissionType")
     List<StudentSubmissionEntity> findBySeminarIdAndSubmissionType(Long seminarId, StudentSubmissionEntity.SubmissionType submissionType);
 
     long countBySeminarId(Long seminarId);
@@ -1,9 +1,15 @@
 package org.example.backend.repository;
 
 import org.example.backend.entity.TeacherEntity;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 @Repository
 public interface TeacherRepository extends JpaRepository<TeacherEntity, Long> {
+
+    // Keyset-Pagination über den Primärschlüssel
+    List<TeacherEntity> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
 }
\ No newline at end of file
@@ -1,8 +1,12 @@
 package org.example.backend.repository;
 
 import org.example.backend.entity.UserEntity;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<UserEntity, Long> {
@@ -13,4 +17,11 @@ public interface UserRepository extends JpaRepository<UserEntity, Long> {
     java.util.Optional<UserEntity> findByEmail(String email);
 
     Optional<UserEntity> findByProviderAndProviderId(String provider, String providerId);
+
+    // Keyset-Pagination über den Primärschlüssel
+    List<UserEntity> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    // Mengenbasierte Prüfung, z.B. für Kohorten-Einschreibungen
+    @Query("SELECT u.id FROM UserEntity u WHERE u.id IN :ids")
+    List<Long> findExistingIds(Collection<Long> ids);
 }
@@ -2,6 +2,8 @@ package org.example.backend.repository;
 
 import org.example.backend.entity.WhiteboardEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -9,9 +11,16 @@ import java.util.List;
 @Repository
 public interface WhiteboardRepository extends JpaRepository<WhiteboardEntity, Long> {
 
+    // Abgeleitete Finder über eine Assoziation erzeugen einen LEFT JOIN und filtern auf dessen Primärschlüssel;
+    // explizit über die Fremdschlüsselspalte greift der Index der Tabelle (siehe RepositoryIndexUsageTest)
+    @Query("SELECT w FROM WhiteboardEntity w WHERE w.seminar.id = :seminarId ORDER BY w.drawTime ASC")
     List<WhiteboardEntity> findBySeminarIdOrderByDrawTimeAsc(Long seminarId);
 
+    @Query("SELECT w FROM WhiteboardEntity w WHERE w.seminar.id = :seminarId AND w.actionType = :actionType")
     List<WhiteboardEntity> findBySeminarIdAndActionType(Long seminarId, String actionType);
 
+    // Ein DELETE statt jede Zeichnung einzeln zu laden und zu löschen
+    @Modifying
+    @Query("DELETE FROM WhiteboardEntity w WHERE w.seminar.id = :seminarId")
     void deleteBySeminarId(Long seminarId);
 }
\ No newline at end of file
@@ -0,0 +1,18 @@
+package org.example.backend.search;
+
+/**
+ * Ein durchsuchbarer Eintrag. title wird bei der Gewichtung stärker berücksichtigt als body.
+ */
+public record SearchDocument(Type type, Long id, Long courseId, Long learningPathId, String title, String body) {
+
+    public enum Type {
+        COURSE,
+        LEARNING_PATH,
+        CONTENT,
+        BOOK
+    }
+
+    public String key() {
+        return type + ":" + id;
+    }
+}
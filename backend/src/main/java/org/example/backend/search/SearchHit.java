@@ -0,0 +1,3 @@
+package org.example.backend.search;
+
+public record SearchHit(SearchDocument.Type type, Long id, Long courseId, Long learningPathId, String title, double score) {}
@@ -0,0 +1,240 @@
+package org.example.backend.search;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+
+/**
+ * In-Memory-Invertierter Index mit BM25-Ranking.
+ * Das Wörterbuch ist sortiert, damit Präfixe ("kube" → "kubernetes") als Bereichsabfrage aufgelöst werden;
+ * unbekannte Begriffe werden per begrenzter Levenshtein-Distanz auf ähnliche Wörter abgebildet.
+ * Lesezugriffe laufen parallel, Änderungen exklusiv über ein ReadWriteLock.
+ */
+public class SearchIndex {
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final float TITLE_WEIGHT = 3.0f;
+    private static final float BODY_WEIGHT = 1.0f;
+
+    private static final double PREFIX_WEIGHT = 0.7;
+    private static final double FUZZY_WEIGHT = 0.5;
+    private static final int MAX_EXPANSIONS = 50;
+    private static final int MIN_FUZZY_LENGTH = 4;
+
+    private final Map<String, IndexedDocument> documents = new HashMap<>();
+    private final NavigableMap<String, Map<String, Float>> postings = new TreeMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private double totalLength;
+
+    public void upsert(SearchDocument document) {
+        Map<String, Float> termWeights = new HashMap<>();
+        for (String token : TextAnalyzer.tokenize(document.title())) {
+            termWeights.merge(token, TITLE_WEIGHT, Float::sum);
+        }
+        for (String token : TextAnalyzer.tokenize(document.body())) {
+            termWeights.merge(token, BODY_WEIGHT, Float::sum);
+        }
+        float length = 0;
+        for (float weight : termWeights.values()) {
+            length += weight;
+        }
+        IndexedDocument indexed = new IndexedDocument(document, termWeights, length);
+
+        lock.writeLock().lock();
+        try {
+            removeInternal(document.key());
+            documents.put(document.key(), indexed);
+            totalLength += length;
+            termWeights.forEach((term, weight) ->
+                    postings.computeIfAbsent(term, t -> new HashMap<>()).put(document.key(), weight));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(SearchDocument.Type type, Long id) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(type + ":" + id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Entfernt alle Dokumente, auf die das Prädikat zutrifft (z.B. alle Inhalte eines gelöschten Kurses)
+     */
+    public void removeIf(Predicate<SearchDocument> predicate) {
+        lock.writeLock().lock();
+        try {
+            List<String> keys = documents.values().stream()
+                    .filter(indexed -> predicate.test(indexed.document()))
+                    .map(indexed -> indexed.document().key())
+                    .toList();
+            keys.forEach(this::removeInternal);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<SearchHit> search(String query, SearchDocument.Type type, int limit) {
+        List<String> tokens = TextAnalyzer.tokenize(query);
+        if (tokens.isEmpty() || limit < 1) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            if (documents.isEmpty()) {
+                return List.of();
+            }
+            double averageLength = totalLength / documents.size();
+            Map<String, Double> scores = new HashMap<>();
+
+            for (String token : tokens) {
+                // Pro Suchwort zählt je Dokument nur die beste Erweiterung, sonst würden häufige Präfixe dominieren
+                Map<String, Double> tokenScores = new HashMap<>();
+                expand(token).forEach((term, weight) -> {
+                    Map<String, Float> termPostings = postings.get(term);
+                    double idf = Math.log(1 + (documents.size() - termPostings.size() + 0.5) / (termPostings.size() + 0.5));
+                    termPostings.forEach((key, tf) -> {
+                        IndexedDocument indexed = documents.get(key);
+                        if (type != null && indexed.document().type() != type) {
+                            return;
+                        }
+                        double norm = K1 * (1 - B + B * indexed.length() / averageLength);
+                        double score = weight * idf * (tf * (K1 + 1)) / (tf + norm);
+                        tokenScores.merge(key, score, Math::max);
+                    });
+                });
+                tokenScores.forEach((key, score) -> scores.merge(key, score, Double::sum));
+            }
+
+            PriorityQueue<Map.Entry<String, Double>> top = new PriorityQueue<>(Map.Entry.comparingByValue());
+            for (Map.Entry<String, Double> entry : scores.entrySet()) {
+                if (top.size() < limit) {
+                    top.add(entry);
+                } else if (entry.getValue() > top.peek().getValue()) {
+                    top.poll();
+                    top.add(entry);
+                }
+            }
+
+            List<SearchHit> hits = new ArrayList<>(top.size());
+            for (Map.Entry<String, Double> entry : top) {
+                SearchDocument document = documents.get(entry.getKey()).document();
+                hits.add(new SearchHit(document.type(), document.id(), document.courseId(),
+                        document.learningPathId(), document.title(), entry.getValue()));
+            }
+            hits.sort(Comparator.comparingDouble(SearchHit::score).reversed());
+            return hits;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Bildet ein Suchwort auf die Begriffe im Wörterbuch ab: exakt, per Präfix und – falls es das Wort
+     * nicht gibt – per Tippfehler-Toleranz (1 Fehler ab 4, 2 Fehler ab 8 Zeichen).
+     */
+    private Map<String, Double> expand(String token) {
+        Map<String, Double> terms = new HashMap<>();
+        boolean exact = postings.containsKey(token);
+        if (exact) {
+            terms.put(token, 1.0);
+        }
+
+        int expansions = 0;
+        for (String term : postings.subMap(token, false, token + Character.MAX_VALUE, false).keySet()) {
+            if (expansions++ >= MAX_EXPANSIONS) {
+                break;
+            }
+            terms.put(term, PREFIX_WEIGHT);
+        }
+
+        if (!exact && token.length() >= MIN_FUZZY_LENGTH) {
+            int maxEdits = token.length() >= 8 ? 2 : 1;
+            // Kandidaten auf gleichen Anfangsbuchstaben beschränken, das hält den Scan klein
+            String first = token.substring(0, 1);
+            int fuzzy = 0;
+            for (String term : postings.subMap(first, true, first + Character.MAX_VALUE, false).keySet()) {
+                if (Math.abs(term.length() - token.length()) > maxEdits || terms.containsKey(term)) {
+                    continue;
+                }
+                int distance = boundedLevenshtein(token, term, maxEdits);
+                if (distance <= maxEdits) {
+                    terms.put(term, FUZZY_WEIGHT / distance);
+                    if (++fuzzy >= MAX_EXPANSIONS) {
+                        break;
+                    }
+                }
+            }
+        }
+        return terms;
+    }
+
+    /**
+     * Levenshtein-Distanz mit Abbruch, sobald max überschritten ist; liefert dann max + 1
+     */
+    static int boundedLevenshtein(String a, String b, int max) {
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            int rowMin = current[0];
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                current[j] = Math.min(Math.min(current[j - 1] + 1, previous[j] + 1), previous[j - 1] + cost);
+                rowMin = Math.min(rowMin, current[j]);
+            }
+            if (rowMin > max) {
+                return max + 1;
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[b.length()];
+    }
+
+    private void removeInternal(String key) {
+        IndexedDocument existing = documents.remove(key);
+        if (existing == null) {
+            return;
+        }
+        totalLength -= existing.length();
+        for (String term : existing.termWeights().keySet()) {
+            Map<String, Float> termPostings = postings.get(term);
+            if (termPostings != null) {
+                termPostings.remove(key);
+                if (termPostings.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+    }
+
+    private record IndexedDocument(SearchDocument document, Map<String, Float> termWeights, float length) {
+    }
+}
@@ -0,0 +1,158 @@
+package org.example.backend.search;
+
+import org.example.backend.entity.BookEntity;
+import org.example.backend.entity.CourseEntity;
+import org.example.backend.entity.LearningContentEntity;
+import org.example.backend.entity.LearningPathEntity;
+import org.example.backend.event.BookChangedEvent;
+import org.example.backend.event.CatalogChangedEvent;
+import org.example.backend.repository.BookRepository;
+import org.example.backend.repository.CourseRepository;
+import org.example.backend.repository.LearningContentRepository;
+import org.example.backend.repository.LearningPathRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Hält den Suchindex aktuell: einmal komplett beim Start, danach inkrementell nach jedem Commit
+ * von CourseService- bzw. BookService-Änderungen. Bei Kurs- und Lernpfadänderungen wird der
+ * betroffene Kurs samt Lernpfaden und Inhalten neu indexiert, bei Inhaltsänderungen nur der Lernpfad.
+ */
+@Service
+public class SearchIndexService {
+
+    private static final Logger log = LoggerFactory.getLogger(SearchIndexService.class);
+
+    private final SearchIndex index = new SearchIndex();
+    private final CourseRepository courseRepository;
+    private final LearningPathRepository learningPathRepository;
+    private final LearningContentRepository learningContentRepository;
+    private final BookRepository bookRepository;
+
+    public SearchIndexService(CourseRepository courseRepository,
+                              LearningPathRepository learningPathRepository,
+                              LearningContentRepository learningContentRepository,
+                              BookRepository bookRepository) {
+        this.courseRepository = courseRepository;
+        this.learningPathRepository = learningPathRepository;
+        this.learningContentRepository = learningContentRepository;
+        this.bookRepository = bookRepository;
+    }
+
+    public List<SearchHit> search(String query, SearchDocument.Type type, int limit) {
+        return index.search(query, type, limit);
+    }
+
+    public int getIndexedDocumentCount() {
+        return index.size();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long start = System.nanoTime();
+        courseRepository.findAll().forEach(course -> index.upsert(toDocument(course)));
+
+        // Kurs-ID des Lernpfads über die Proxy-ID, ohne den Kurs nachzuladen
+        Map<Long, Long> courseByPath = new HashMap<>();
+        for (LearningPathEntity path : learningPathRepository.findAll()) {
+            courseByPath.put(path.getId(), path.getCourse().getId());
+            index.upsert(toDocument(path, path.getCourse().getId()));
+        }
+        for (LearningContentEntity content : learningContentRepository.findAll()) {
+            Long pathId = content.getLearningPath().getId();
+            index.upsert(toDocument(content, courseByPath.get(pathId), pathId));
+        }
+        bookRepository.findAll().forEach(book -> index.upsert(toDocument(book)));
+        log.info("Search index built with {} documents in {} ms", index.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        try {
+            if (event.type() == CatalogChangedEvent.Type.CONTENT) {
+                reindexLearningPathContents(event.learningPathId());
+            } else if (event.courseId() != null) {
+                reindexCourse(event.courseId());
+            }
+        } catch (RuntimeException e) {
+            log.warn("Search index update failed for {}: {}", event, e.getMessage());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookChanged(BookChangedEvent event) {
+        try {
+            bookRepository.findById(event.bookId()).ifPresentOrElse(
+                    book -> index.upsert(toDocument(book)),
+                    () -> index.remove(SearchDocument.Type.BOOK, event.bookId()));
+        } catch (RuntimeException e) {
+            log.warn("Search index update failed for book {}: {}", event.bookId(), e.getMessage());
+        }
+    }
+
+    private void reindexCourse(Long courseId) {
+        // Erst alles zum Kurs entfernen, so verschwinden auch gelöschte Lernpfade und Inhalte
+        index.removeIf(document -> document.type() != SearchDocument.Type.BOOK
+                && Objects.equals(document.courseId(), courseId));
+
+        courseRepository.findById(courseId).ifPresent(course -> {
+            index.upsert(toDocument(course));
+            for (LearningPathEntity path : learningPathRepository.findByCourseId(courseId)) {
+                index.upsert(toDocument(path, courseId));
+                for (LearningContentEntity content : learningContentRepository.findByLearningPathIdOrderByOrderIndexAsc(path.getId())) {
+                    index.upsert(toDocument(content, courseId, path.getId()));
+                }
+            }
+        });
+    }
+
+    private void reindexLearningPathContents(Long learningPathId) {
+        if (learningPathId == null) {
+            return;
+        }
+        index.removeIf(document -> document.type() == SearchDocument.Type.CONTENT
+                && Objects.equals(document.learningPathId(), learningPathId));
+        learningPathRepository.findById(learningPathId).ifPresent(path -> {
+            Long courseId = path.getCourse().getId();
+            for (LearningContentEntity content : learningContentRepository.findByLearningPathIdOrderByOrderIndexAsc(learningPathId)) {
+                index.upsert(toDocument(content, courseId, learningPathId));
+            }
+        });
+    }
+
+    private static SearchDocument toDocument(CourseEntity course) {
+        return new SearchDocument(SearchDocument.Type.COURSE, course.getId(), course.getId(), null,
+                course.getName(), course.getDescription());
+    }
+
+    private static SearchDocument toDocument(LearningPathEntity path, Long courseId) {
+        return new SearchDocument(SearchDocument.Type.LEARNING_PATH, path.getId(), courseId, path.getId(),
+                path.getLevel(), join(path.getOverview(), path.getDescription()));
+    }
+
+    private static SearchDocument toDocument(LearningContentEntity content, Long courseId, Long learningPathId) {
+        return new SearchDocument(SearchDocument.Type.CONTENT, content.getId(), courseId, learningPathId,
+                content.getTitle(), content.getDescription());
+    }
+
+    private static SearchDocument toDocument(BookEntity book) {
+        return new SearchDocument(SearchDocument.Type.BOOK, book.getId(), book.getCourseId(), null,
+                book.getTitle(), join(book.getAuthor(), book.getDescription()));
+    }
+
+    private static String join(String first, String second) {
+        if (first == null) {
+            return second;
+        }
+        return second == null ? first : first + " " + second;
+    }
+}
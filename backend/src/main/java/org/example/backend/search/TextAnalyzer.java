@@ -0,0 +1,44 @@
+package org.example.backend.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Zerlegt Text in normalisierte Suchbegriffe: Kleinschreibung, Akzente entfernt (ä → a, é → e, ß → ss),
+ * Trennung an allem außer Buchstaben und Ziffern. Häufige deutsche und englische Füllwörter werden verworfen.
+ */
+public final class TextAnalyzer {
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private static final Set<String> STOP_WORDS = Set.of(
+            "der", "die", "das", "und", "oder", "ein", "eine", "einer", "eines", "einem", "einen",
+            "in", "im", "mit", "fur", "von", "vom", "zu", "zum", "zur", "auf", "ist", "sind", "den", "dem", "des",
+            "the", "and", "or", "of", "to", "for", "with", "on", "is", "are", "an", "at", "by");
+
+    private TextAnalyzer() {
+    }
+
+    public static String normalize(String text) {
+        String lower = text.toLowerCase(Locale.ROOT).replace("ß", "ss");
+        return DIACRITICS.matcher(Normalizer.normalize(lower, Normalizer.Form.NFD)).replaceAll("");
+    }
+
+    public static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null || text.isBlank()) {
+            return tokens;
+        }
+        for (String token : SEPARATORS.split(normalize(text))) {
+            if (!token.isEmpty() && !STOP_WORDS.contains(token)) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+}
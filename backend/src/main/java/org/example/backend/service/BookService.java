@@ -1,39 +1,38 @@
 package org.example.backend.service;
 
 import org.example.backend.entity.BookEntity;
+import org.example.backend.event.BookChangedEvent;
 import org.example.backend.repository.BookRepository;
+import org.example.backend.storage.BlobStorage;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.core.io.Resource;
-import org.springframework.core.io.UrlResource;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
-import java.nio.file.StandardCopyOption;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.file.NoSuchFileException;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 @Service
 public class BookService {
 
     private final BookRepository bookRepository;
-    private final Path fileStorageLocation;
+    private final BlobStorage blobStorage;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public BookService(BookRepository bookRepository) {
+    public BookService(BookRepository bookRepository, BlobStorage blobStorage, ApplicationEventPublisher eventPublisher) {
         this.bookRepository = bookRepository;
-        this.fileStorageLocation = Paths.get("uploads/books").toAbsolutePath().normalize();
-
-        try {
-            Files.createDirectories(this.fileStorageLocation);
-        } catch (IOException ex) {
-            throw new RuntimeException("Could not create the directory where the uploaded books will be stored.", ex);
-        }
+        this.blobStorage = blobStorage;
+        this.eventPublisher = eventPublisher;
     }
 
-    public List<BookEntity> getAllBooks() {
-        return bookRepository.findAll();
+    public List<BookEntity> getBooks(Long afterId, Limit limit) {
+        return bookRepository.findByIdGreaterThanOrderByIdAsc(afterId, limit);
     }
 
     public BookEntity getBookById(Long id) {
@@ -53,17 +52,15 @@ public class BookService {
         book.setIcon(icons[(int) (Math.random() * icons.length)]);
 
         if (file != null && !file.isEmpty()) {
-            String fileName = UUID.randomUUID().toString() + "_" + file.getOriginalFilename();
-            Path targetLocation = this.fileStorageLocation.resolve(fileName);
-            Files.copy(file.getInputStream(), targetLocation, StandardCopyOption.REPLACE_EXISTING);
-
-            book.setFilePath(targetLocation.toString());
+            book.setFilePath(storeFile(file));
             book.setOriginalFileName(file.getOriginalFilename());
             book.setFileType(file.getContentType());
             book.setFileSize(file.getSize());
         }
 
-        return bookRepository.save(book);
+        BookEntity saved = bookRepository.save(book);
+        eventPublisher.publishEvent(new BookChangedEvent(saved.getId()));
+        return saved;
     }
 
     public BookEntity updateBook(Long id, String title, String author, String description, Long courseId, MultipartFile file) throws IOException {
@@ -77,32 +74,29 @@ public class BookService {
         if (file != null && !file.isEmpty()) {
             // Alte Datei löschen, falls vorhanden
             if (book.getFilePath() != null) {
-                Path oldFile = Paths.get(book.getFilePath());
-                Files.deleteIfExists(oldFile);
+                blobStorage.delete(book.getFilePath());
             }
 
-            String fileName = UUID.randomUUID().toString() + "_" + file.getOriginalFilename();
-            Path targetLocation = this.fileStorageLocation.resolve(fileName);
-            Files.copy(file.getInputStream(), targetLocation, StandardCopyOption.REPLACE_EXISTING);
-
-            book.setFilePath(targetLocation.toString());
+            book.setFilePath(storeFile(file));
             book.setOriginalFileName(file.getOriginalFilename());
             book.setFileType(file.getContentType());
             book.setFileSize(file.getSize());
         }
 
-        return bookRepository.save(book);
+        BookEntity saved = bookRepository.save(book);
+        eventPublisher.publishEvent(new BookChangedEvent(saved.getId()));
+        return saved;
     }
 
     public void deleteBook(Long id) throws IOException {
         BookEntity book = getBookById(id);
 
         if (book.getFilePath() != null) {
-            Path file = Paths.get(book.getFilePath());
-            Files.deleteIfExists(file);
+            blobStorage.delete(book.getFilePath());
         }
 
         bookRepository.delete(book);
+        eventPublisher.publishEvent(new BookChangedEvent(id));
     }
 
     public Resource getBookFileAsResource(Long id) throws Exception {
@@ -112,13 +106,25 @@ public class BookService {
             throw new RuntimeException("Book file not found");
         }
 
-        Path filePath = Paths.get(book.getFilePath());
-        Resource resource = new UrlResource(filePath.toUri());
-
-        if (resource.exists()) {
-            return resource;
-        } else {
+        try {
+            return blobStorage.load(book.getFilePath());
+        } catch (NoSuchFileException e) {
             throw new RuntimeException("Book file not found");
         }
     }
+
+    public Optional<URI> getPresignedDownloadUrl(BookEntity book, String downloadFileName) {
+        if (book.getFilePath() == null) {
+            return Optional.empty();
+        }
+        return blobStorage.presignedDownloadUrl(book.getFilePath(), downloadFileName, book.getFileType());
+    }
+
+    private String storeFile(MultipartFile file) throws IOException {
+        String storageKey = "books/" + UUID.randomUUID().toString() + "_" + file.getOriginalFilename();
+        try (InputStream in = file.getInputStream()) {
+            blobStorage.put(storageKey, in, file.getSize(), file.getContentType());
+        }
+        return storageKey;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,64 @@
+package org.example.backend.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.backend.cache.CatalogCache;
+import org.example.backend.dto.CourseResponse;
+import org.example.backend.util.KeysetPagination;
+import org.springframework.stereotype.Service;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Liefert Katalogseiten als fertig serialisiertes JSON. Jede Seite wird pro Katalogversion genau einmal
+ * gerendert; bis zur nächsten Änderung in CourseService werden nur noch die gecachten Bytes ausgeliefert.
+ */
+@Service
+public class CatalogSnapshotService {
+
+    private final CourseService courseService;
+    private final CatalogCache catalogCache;
+    private final KeysetPagination pagination;
+    private final ObjectMapper objectMapper;
+
+    public CatalogSnapshotService(CourseService courseService,
+                                  CatalogCache catalogCache,
+                                  KeysetPagination pagination,
+                                  ObjectMapper objectMapper) {
+        this.courseService = courseService;
+        this.catalogCache = catalogCache;
+        this.pagination = pagination;
+        this.objectMapper = objectMapper;
+    }
+
+    public CatalogCache.CatalogSnapshot getCatalogPage(Long after, Integer limit) {
+        long afterId = after != null ? after : 0L;
+        int size = pagination.pageSize(limit);
+        return catalogCache.getCatalogPage(afterId, size, key -> render(afterId, size));
+    }
+
+    private CatalogCache.CatalogSnapshot render(long afterId, int size) {
+        // Version vor dem Lesen merken: ändert sich der Katalog währenddessen, gilt die Seite als veraltet
+        long version = catalogCache.getCatalogVersion();
+        KeysetPagination.Slice<CourseResponse> slice =
+                pagination.fetch(afterId, size, courseService::getCourseCatalog, CourseResponse::id);
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(slice.rows());
+            return new CatalogCache.CatalogSnapshot(version, json, etag(json), slice.nextCursor());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize course catalog", e);
+        }
+    }
+
+    // Starker ETag: identische Bytes ergeben denselben Wert, auch über Neustarts und Instanzen hinweg
+    private static String etag(byte[] json) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(json);
+            return "\"" + HexFormat.of().formatHex(digest, 0, 16) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
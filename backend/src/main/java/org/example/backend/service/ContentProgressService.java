@@ -0,0 +1,194 @@
+package org.example.backend.service;
+
+import org.example.backend.dto.ContentProgressResponse;
+import org.example.backend.dto.ContentSlot;
+import org.example.backend.entity.EnrollmentEntity;
+import org.example.backend.event.EnrollmentProgressedEvent;
+import org.example.backend.event.StatisticsChangedEvent;
+import org.example.backend.repository.LearningContentRepository;
+import org.example.backend.repository.LearningPathRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Fortschritt je Lerninhalt. Erledigte Inhalte stehen als Bitset in {@code enrollments.completed_contents}
+ * (ein Bit je {@link org.example.backend.entity.LearningContentEntity#getCompletionSlot()}), statt einer Zeile
+ * je Student und Inhalt. Der Prozentwert wird serverseitig aus den Punkten der erledigten Inhalte berechnet.
+ * <p>
+ * Ein Bit wird per Compare-and-Set auf {@code version} gesetzt: lesen, Bit und Fortschritt berechnen,
+ * {@code UPDATE ... WHERE version = ?}. Hat sich das Enrollment inzwischen geändert (anderer Inhalt,
+ * {@link EnrollmentService#updateProgress}), wird neu gelesen und erneut versucht. Deshalb läuft jeder Versuch
+ * in einer eigenen, sofort committeten Anweisung statt in einer umschließenden Transaktion.
+ */
+@Service
+public class ContentProgressService {
+
+    private static final Logger log = LoggerFactory.getLogger(ContentProgressService.class);
+
+    private static final int MAX_ATTEMPTS = 10;
+
+    private final LearningContentRepository learningContentRepository;
+    private final LearningPathRepository learningPathRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public ContentProgressService(LearningContentRepository learningContentRepository,
+                                  LearningPathRepository learningPathRepository,
+                                  JdbcTemplate jdbcTemplate,
+                                  TransactionTemplate transactionTemplate,
+                                  ApplicationEventPublisher eventPublisher) {
+        this.learningContentRepository = learningContentRepository;
+        this.learningPathRepository = learningPathRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+    }
+
+    public ContentProgressResponse getContentProgress(Long enrollmentId) {
+        Snapshot snapshot = load(enrollmentId);
+        return toResponse(snapshot, learningContentRepository.findSlotsByLearningPathId(snapshot.learningPathId()));
+    }
+
+    /**
+     * Markiert einen Inhalt als erledigt. Wiederholte Aufrufe ändern nichts; der Fortschritt steigt nur.
+     * Wird das Enrollment dauerhaft parallel geändert, endet der Aufruf mit {@link ObjectOptimisticLockingFailureException}.
+     */
+    public ContentProgressResponse completeContent(Long enrollmentId, Long contentId) {
+        Snapshot snapshot = load(enrollmentId);
+        List<ContentSlot> contents = learningContentRepository.findSlotsByLearningPathId(snapshot.learningPathId());
+        ContentSlot content = contents.stream()
+                .filter(candidate -> candidate.contentId().equals(contentId))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Content does not belong to the learning path of this enrollment"));
+        if (content.slot() == null) {
+            throw new IllegalStateException("Content has no completion slot yet");
+        }
+
+        for (int attempt = 1; attempt <= MAX_ATTEMPTS; attempt++) {
+            if (snapshot.bits().get(content.slot())) {
+                return toResponse(snapshot, contents);
+            }
+            BitSet bits = (BitSet) snapshot.bits().clone();
+            bits.set(content.slot());
+            int progress = Math.max(snapshot.progress(), weightedProgress(bits, contents));
+            boolean completing = progress >= 100 && !snapshot.completed();
+            LocalDateTime now = LocalDateTime.now();
+
+            int updated = jdbcTemplate.update("UPDATE enrollments SET completed_contents = ?, progress = ?, completed = ?, " +
+                            "completed_at = COALESCE(completed_at, ?), version = version + 1 WHERE id = ? AND version = ?",
+                    bits.toByteArray(), progress, snapshot.completed() || completing,
+                    completing ? Timestamp.valueOf(now) : null, enrollmentId, snapshot.version());
+            if (updated == 1) {
+                if (completing) {
+                    // Am StatisticsEntityListener vorbei, daher selbst melden
+                    eventPublisher.publishEvent(StatisticsChangedEvent.of(StatisticsChangedEvent.Metric.COMPLETIONS, 1));
+                }
+                eventPublisher.publishEvent(new EnrollmentProgressedEvent(enrollmentId, snapshot.courseId(),
+                        snapshot.learningPathId(), progress, now));
+                return toResponse(load(enrollmentId), contents);
+            }
+            snapshot = load(enrollmentId);
+        }
+        throw new ObjectOptimisticLockingFailureException(EnrollmentEntity.class, enrollmentId);
+    }
+
+    /**
+     * Teilt Inhalten ohne Bitposition (angelegt vor Einführung des Bitsets) je Lernpfad neue Positionen zu,
+     * in der aktuellen Reihenfolge der Inhalte.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void assignMissingSlots() {
+        Map<Long, List<Long>> contentIdsByPath = new LinkedHashMap<>();
+        jdbcTemplate.query("SELECT learning_path_id, id FROM learning_contents WHERE completion_slot IS NULL " +
+                        "ORDER BY learning_path_id, order_index, id",
+                (RowCallbackHandler) rs -> {
+                    long learningPathId = rs.getLong(1);
+                    contentIdsByPath.computeIfAbsent(learningPathId, id -> new ArrayList<>()).add(rs.getLong(2));
+                });
+        contentIdsByPath.forEach((learningPathId, contentIds) -> transactionTemplate.executeWithoutResult(status -> {
+            int first = learningPathRepository.reserveContentSlots(learningPathId, contentIds.size());
+            List<Object[]> updates = new ArrayList<>(contentIds.size());
+            for (int i = 0; i < contentIds.size(); i++) {
+                updates.add(new Object[]{first + i, contentIds.get(i)});
+            }
+            jdbcTemplate.batchUpdate("UPDATE learning_contents SET completion_slot = ? WHERE id = ? AND completion_slot IS NULL", updates);
+        }));
+        if (!contentIdsByPath.isEmpty()) {
+            log.info("Assigned completion slots to contents of {} learning paths", contentIdsByPath.size());
+        }
+    }
+
+    // Anteil der Punkte erledigter Inhalte; ohne Punkte im Lernpfad zählt jeder Inhalt gleich
+    private static int weightedProgress(BitSet bits, List<ContentSlot> contents) {
+        boolean unweighted = contents.stream().allMatch(content -> points(content) == 0);
+        long total = 0;
+        long earned = 0;
+        for (ContentSlot content : contents) {
+            long weight = unweighted ? 1 : points(content);
+            total += weight;
+            if (isDone(bits, content)) {
+                earned += weight;
+            }
+        }
+        return total == 0 ? 0 : (int) (earned * 100 / total);
+    }
+
+    private static int points(ContentSlot content) {
+        return content.points() != null ? content.points() : 0;
+    }
+
+    private static boolean isDone(BitSet bits, ContentSlot content) {
+        return content.slot() != null && bits.get(content.slot());
+    }
+
+    private ContentProgressResponse toResponse(Snapshot snapshot, List<ContentSlot> contents) {
+        long earnedPoints = 0;
+        long totalPoints = 0;
+        List<Long> completedContentIds = new ArrayList<>();
+        for (ContentSlot content : contents) {
+            int points = points(content);
+            totalPoints += points;
+            if (isDone(snapshot.bits(), content)) {
+                earnedPoints += points;
+                completedContentIds.add(content.contentId());
+            }
+        }
+        return new ContentProgressResponse(snapshot.enrollmentId(), snapshot.progress(), snapshot.completed(),
+                earnedPoints, totalPoints, completedContentIds);
+    }
+
+    private Snapshot load(Long enrollmentId) {
+        List<Snapshot> rows = jdbcTemplate.query("SELECT course_id, learning_path_id, progress, completed, completed_contents, version " +
+                        "FROM enrollments WHERE id = ?",
+                (rs, rowNum) -> {
+                    byte[] bytes = rs.getBytes(5);
+                    return new Snapshot(enrollmentId, rs.getLong(1), rs.getLong(2), rs.getInt(3), rs.getBoolean(4),
+                            bytes != null ? BitSet.valueOf(bytes) : new BitSet(), rs.getLong(6));
+                },
+                enrollmentId);
+        if (rows.isEmpty()) {
+            throw new RuntimeException("Enrollment nicht gefunden");
+        }
+        return rows.get(0);
+    }
+
+    private record Snapshot(Long enrollmentId, Long courseId, Long learningPathId, int progress, boolean completed,
+                            BitSet bits, long version) {}
+}
@@ -0,0 +1,124 @@
+package org.example.backend.service;
+
+import jakarta.annotation.PreDestroy;
+import org.example.backend.repository.CourseRepository;
+import org.example.backend.repository.EnrollmentRepository;
+import org.example.backend.repository.LearningContentRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * Löscht sehr große Kurse im Hintergrund. Enrollments und Inhalte werden in Blöcken zu je
+ * {@code course.purge.chunk-size} Zeilen in eigenen kurzen Transaktionen entfernt, damit keine
+ * Transaktion lange Sperren hält; zum Schluss entfernt {@link CourseService#deleteCourse(Long)} den Rest.
+ */
+@Service
+public class CoursePurgeService {
+
+    private static final Logger log = LoggerFactory.getLogger(CoursePurgeService.class);
+
+    private final CourseRepository courseRepository;
+    private final EnrollmentRepository enrollmentRepository;
+    private final LearningContentRepository learningContentRepository;
+    private final CourseService courseService;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+    private final ThreadPoolExecutor purgeExecutor;
+    private final Set<Long> purging = ConcurrentHashMap.newKeySet();
+
+    public CoursePurgeService(CourseRepository courseRepository,
+                              EnrollmentRepository enrollmentRepository,
+                              LearningContentRepository learningContentRepository,
+                              CourseService courseService,
+                              TransactionTemplate transactionTemplate,
+                              @Value("${course.purge.chunk-size:1000}") int chunkSize,
+                              @Value("${course.purge.queue-capacity:16}") int queueCapacity) {
+        this.courseRepository = courseRepository;
+        this.enrollmentRepository = enrollmentRepository;
+        this.learningContentRepository = learningContentRepository;
+        this.courseService = courseService;
+        this.transactionTemplate = transactionTemplate;
+        this.chunkSize = chunkSize;
+
+        // Ein Worker genügt: Löschungen konkurrieren sonst nur um dieselben Sperren
+        this.purgeExecutor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "course-purge");
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * Plant die Löschung ein. Liefert false, wenn für den Kurs bereits eine Löschung läuft.
+     */
+    public boolean purgeAsync(Long courseId) {
+        if (!courseRepository.existsById(courseId)) {
+            throw new RuntimeException("Course not found");
+        }
+        if (!purging.add(courseId)) {
+            return false;
+        }
+        try {
+            purgeExecutor.execute(() -> {
+                try {
+                    purge(courseId);
+                } catch (RuntimeException e) {
+                    log.error("Purge of course {} failed: {}", courseId, e.getMessage(), e);
+                } finally {
+                    purging.remove(courseId);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            purging.remove(courseId);
+            throw new IllegalStateException("Too many course purges pending, try again later");
+        }
+        return true;
+    }
+
+    void purge(Long courseId) {
+        long start = System.nanoTime();
+        int enrollments = deleteInChunks(courseId, enrollmentRepository::findIdsByCourseId, enrollmentRepository::bulkDeleteByIdIn);
+        int contents = deleteInChunks(courseId, learningContentRepository::findIdsByCourseId, learningContentRepository::bulkDeleteByIdIn);
+        courseService.deleteCourse(courseId);
+        log.info("Purged course {} ({} enrollments, {} contents) in {} ms",
+                courseId, enrollments, contents, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private int deleteInChunks(Long courseId,
+                               BiFunction<Long, Limit, List<Long>> findIds,
+                               Function<List<Long>, Integer> deleteIds) {
+        int total = 0;
+        while (true) {
+            Integer deleted = transactionTemplate.execute(status -> {
+                List<Long> ids = findIds.apply(courseId, Limit.of(chunkSize));
+                return ids.isEmpty() ? 0 : deleteIds.apply(ids);
+            });
+            if (deleted == null || deleted == 0) {
+                return total;
+            }
+            total += deleted;
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        purgeExecutor.shutdown();
+    }
+}
@@ -1,18 +1,37 @@
 package org.example.backend.service;
 
+import org.example.backend.cache.CatalogCache;
+import org.example.backend.dto.CatalogMapper;
+import org.example.backend.dto.CourseOverviewResponse;
+import org.example.backend.dto.CourseRequest;
+import org.example.backend.dto.CourseResponse;
+import org.example.backend.dto.GroupedCount;
+import org.example.backend.dto.LearningContentRequest;
+import org.example.backend.dto.LearningContentResponse;
+import org.example.backend.dto.LearningPathRequest;
+import org.example.backend.dto.LearningPathResponse;
 import org.example.backend.entity.CourseEntity;
 import org.example.backend.entity.LearningPathEntity;
 import org.example.backend.entity.LearningContentEntity;
+import org.example.backend.event.CatalogChangedEvent;
+import org.example.backend.event.StatisticsChangedEvent;
 import org.example.backend.repository.CourseRepository;
 import org.example.backend.repository.EnrollmentRepository;
 import org.example.backend.repository.LearningPathRepository;
 import org.example.backend.repository.LearningContentRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 @Service
 public class CourseService {
@@ -21,15 +40,24 @@ public class CourseService {
     private final LearningPathRepository learningPathRepository;
     private final EnrollmentRepository enrollmentRepository;
     private final LearningContentRepository learningContentRepository;
+    private final CatalogCache catalogCache;
+    private final ApplicationEventPublisher eventPublisher;
+    private final JdbcTemplate jdbcTemplate;
 
     public CourseService(CourseRepository courseRepository, 
                          LearningPathRepository learningPathRepository,
                          @Autowired(required = false) EnrollmentRepository enrollmentRepository,
-                         LearningContentRepository learningContentRepository) {
+                         LearningContentRepository learningContentRepository,
+                         CatalogCache catalogCache,
+                         ApplicationEventPublisher eventPublisher,
+                         JdbcTemplate jdbcTemplate) {
         this.courseRepository = courseRepository;
         this.learningPathRepository = learningPathRepository;
         this.enrollmentRepository = enrollmentRepository;
         this.learningContentRepository = learningContentRepository;
+        this.catalogCache = catalogCache;
+        this.eventPublisher = eventPublisher;
+        this.jdbcTemplate = jdbcTemplate;
     }
 
     public List<CourseEntity> getAllCourses() {
@@ -44,16 +72,84 @@ public class CourseService {
         return courseRepository.findByName(name);
     }
 
+    /**
+     * Eine Katalogseite als DTOs: eine Abfrage für die Kurse, eine für deren Lernpfade – unabhängig von der Seitengröße.
+     * Ausgeliefert wird sie über den CatalogSnapshotService, der die fertig serialisierte Seite cached.
+     */
+    public List<CourseResponse> getCourseCatalog(Long afterId, Limit limit) {
+        List<CourseResponse> courses = courseRepository.findResponsesAfter(afterId, limit);
+        if (courses.isEmpty()) {
+            return courses;
+        }
+        Map<Long, List<LearningPathResponse>> pathsByCourse = learningPathRepository
+                .findResponsesByCourseIdIn(courses.stream().map(CourseResponse::id).toList()).stream()
+                .collect(Collectors.groupingBy(LearningPathResponse::courseId));
+        return courses.stream()
+                .map(course -> course.withLearningPaths(pathsByCourse.getOrDefault(course.id(), List.of())))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Übersicht einer Katalogseite mit Inhalts- und Einschreibungszahlen je Lernpfad. Statt pro Kurs und Lernpfad
+     * einzeln nachzufragen, genügen vier Abfragen: Kurse, Lernpfade, Inhalte und Enrollments jeweils gruppiert.
+     */
+    public List<CourseOverviewResponse> getCourseOverview(Long afterId, Limit limit) {
+        List<CourseResponse> courses = courseRepository.findResponsesAfter(afterId, limit);
+        if (courses.isEmpty()) {
+            return List.of();
+        }
+        List<Long> courseIds = courses.stream().map(CourseResponse::id).toList();
+        Map<Long, List<LearningPathResponse>> pathsByCourse = learningPathRepository.findResponsesByCourseIdIn(courseIds).stream()
+                .collect(Collectors.groupingBy(LearningPathResponse::courseId));
+        Map<Long, GroupedCount> contentsByPath = learningContentRepository.countByLearningPathForCourses(courseIds).stream()
+                .collect(Collectors.toMap(GroupedCount::key, count -> count));
+        Map<Long, Long> enrollmentsByPath = enrollmentRepository == null ? Map.of()
+                : enrollmentRepository.countByLearningPathForCourses(courseIds).stream()
+                        .collect(Collectors.toMap(GroupedCount::key, GroupedCount::count));
+
+        List<CourseOverviewResponse> overview = new ArrayList<>(courses.size());
+        for (CourseResponse course : courses) {
+            long courseEnrollments = 0;
+            List<CourseOverviewResponse.LearningPathOverview> paths = new ArrayList<>();
+            for (LearningPathResponse path : pathsByCourse.getOrDefault(course.id(), List.of())) {
+                GroupedCount contents = contentsByPath.get(path.id());
+                long enrollments = enrollmentsByPath.getOrDefault(path.id(), 0L);
+                courseEnrollments += enrollments;
+                paths.add(new CourseOverviewResponse.LearningPathOverview(path.id(), path.level(), path.points(),
+                        path.durationWeeks(), path.overview(),
+                        contents != null ? contents.count() : 0L,
+                        contents != null ? contents.sumOrZero() : 0L,
+                        enrollments));
+            }
+            overview.add(new CourseOverviewResponse(course.id(), course.name(), course.description(), courseEnrollments, paths));
+        }
+        return overview;
+    }
+
+    public Optional<CourseResponse> getCourseResponseById(Long id) {
+        return catalogCache.getCourse(id, key -> courseRepository.findResponseById(key).map(this::withLearningPaths));
+    }
+
+    public Optional<CourseResponse> getCourseResponseByName(String name) {
+        return courseRepository.findResponseByName(name).map(this::withLearningPaths);
+    }
+
+    private CourseResponse withLearningPaths(CourseResponse course) {
+        return course.withLearningPaths(getLearningPathsByCourseId(course.id()));
+    }
+
     @Transactional
     public CourseEntity createCourse(String name, String description) {
         CourseEntity course = new CourseEntity();
         course.setName(name);
         course.setDescription(description);
-        return courseRepository.save(course);
+        CourseEntity saved = courseRepository.save(course);
+        eventPublisher.publishEvent(CatalogChangedEvent.course(saved.getId()));
+        return saved;
     }
 
-    public List<LearningPathEntity> getLearningPathsByCourseId(Long courseId) {
-        return learningPathRepository.findByCourseId(courseId);
+    public List<LearningPathResponse> getLearningPathsByCourseId(Long courseId) {
+        return catalogCache.getLearningPaths(courseId, learningPathRepository::findResponsesByCourseId);
     }
 
     public Optional<LearningPathEntity> getLearningPathById(Long id) {
@@ -62,23 +158,25 @@ public class CourseService {
 
     @Transactional
     public LearningPathEntity createLearningPath(Long courseId, String level, Integer points, Integer durationWeeks, String overview) {
+        return createLearningPath(courseId, new LearningPathRequest(level, points, durationWeeks, overview, null));
+    }
+
+    @Transactional
+    public LearningPathEntity createLearningPath(Long courseId, LearningPathRequest request) {
         CourseEntity course = courseRepository.findById(courseId)
                 .orElseThrow(() -> new RuntimeException("Course not found"));
 
         LearningPathEntity learningPath = new LearningPathEntity();
         learningPath.setCourse(course);
-        learningPath.setLevel(level);
-        learningPath.setPoints(points);
-        learningPath.setDurationWeeks(durationWeeks);
-        learningPath.setOverview(overview);
+        CatalogMapper.apply(request, learningPath);
 
-        return learningPathRepository.save(learningPath);
+        LearningPathEntity saved = learningPathRepository.save(learningPath);
+        eventPublisher.publishEvent(CatalogChangedEvent.learningPath(courseId, saved.getId()));
+        return saved;
     }
 
     @Transactional
-    public LearningPathEntity updateLearningPath(Long courseId, Long pathId, String level, 
-                                                  Integer points, Integer durationWeeks, 
-                                                  String overview, String description) {
+    public LearningPathEntity updateLearningPath(Long courseId, Long pathId, LearningPathRequest request) {
         LearningPathEntity path = learningPathRepository.findById(pathId)
                 .orElseThrow(() -> new RuntimeException("Learning path not found"));
         
@@ -86,13 +184,11 @@ public class CourseService {
             throw new RuntimeException("Learning path does not belong to this course");
         }
         
-        path.setLevel(level);
-        path.setPoints(points);
-        path.setDurationWeeks(durationWeeks);
-        path.setOverview(overview);
-        path.setDescription(description);
+        CatalogMapper.apply(request, path);
         
-        return learningPathRepository.save(path);
+        LearningPathEntity saved = learningPathRepository.save(path);
+        eventPublisher.publishEvent(CatalogChangedEvent.learningPath(courseId, pathId));
+        return saved;
     }
 
     @Transactional
@@ -105,6 +201,7 @@ public class CourseService {
         }
         
         learningPathRepository.delete(path);
+        eventPublisher.publishEvent(CatalogChangedEvent.learningPath(courseId, pathId));
     }
 
     public long getEnrollmentCount(Long courseId) {
@@ -114,81 +211,114 @@ public class CourseService {
         return 0;
     }
 
+    /**
+     * Löscht einen Kurs samt Enrollments, Inhalten und Lernpfaden mit je einem DELETE pro Tabelle,
+     * in Abhängigkeitsreihenfolge und ohne den Objektgraphen zu laden.
+     */
     @Transactional
     public void deleteCourse(Long id) {
-        CourseEntity course = courseRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Course not found"));
+        if (!courseRepository.existsById(id)) {
+            throw new RuntimeException("Course not found");
+        }
         
-        // Lösche zuerst alle Enrollments für diesen Kurs (CASCADE)
         if (enrollmentRepository != null) {
-            List<org.example.backend.entity.EnrollmentEntity> enrollments = enrollmentRepository.findByCourseId(id);
-            if (!enrollments.isEmpty()) {
-                enrollmentRepository.deleteAll(enrollments);
-            }
+            enrollmentRepository.bulkDeleteByCourseId(id);
         }
-        
-        // Dann lösche den Kurs (LearningPaths werden automatisch gelöscht wegen CascadeType.ALL)
-        courseRepository.delete(course);
+        learningContentRepository.bulkDeleteByCourseId(id);
+        learningPathRepository.bulkDeleteByCourseId(id);
+        courseRepository.bulkDeleteById(id);
+        eventPublisher.publishEvent(CatalogChangedEvent.course(id));
+        // Die Massenlöschung umgeht die Entity-Callbacks, daher die Statistik neu zählen
+        eventPublisher.publishEvent(StatisticsChangedEvent.recount());
     }
 
     @Transactional
-    public CourseEntity updateCourse(Long id, CourseEntity courseUpdate) {
+    public CourseEntity updateCourse(Long id, CourseRequest request) {
         CourseEntity course = courseRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Course not found"));
         
-        if (courseUpdate.getName() != null) {
-            course.setName(courseUpdate.getName());
-        }
-        if (courseUpdate.getDescription() != null) {
-            course.setDescription(courseUpdate.getDescription());
-        }
+        CatalogMapper.apply(request, course);
         
-        return courseRepository.save(course);
+        CourseEntity saved = courseRepository.save(course);
+        eventPublisher.publishEvent(CatalogChangedEvent.course(id));
+        return saved;
     }
 
     // LearningContent CRUD
-    public List<LearningContentEntity> getContentsByLearningPathId(Long learningPathId) {
-        return learningContentRepository.findByLearningPathIdOrderByOrderIndexAsc(learningPathId);
+    public List<LearningContentResponse> getContentsByLearningPathId(Long learningPathId) {
+        return catalogCache.getContents(learningPathId, learningContentRepository::findResponsesByLearningPathId);
     }
 
     @Transactional
-    public LearningContentEntity createContent(Long learningPathId, String title, String type, 
-                                               String description, String contentUrl, 
-                                               Integer points, Integer orderIndex) {
+    public LearningContentEntity createContent(Long learningPathId, LearningContentRequest request) {
         LearningPathEntity learningPath = learningPathRepository.findById(learningPathId)
                 .orElseThrow(() -> new RuntimeException("Learning path not found"));
         
         LearningContentEntity content = new LearningContentEntity();
         content.setLearningPath(learningPath);
-        content.setTitle(title);
-        content.setType(type);
-        content.setDescription(description);
-        content.setContentUrl(contentUrl);
-        content.setPoints(points);
-        content.setOrderIndex(orderIndex);
+        CatalogMapper.apply(request, content);
+        content.setCompletionSlot(learningPathRepository.reserveContentSlots(learningPathId, 1));
         
-        return learningContentRepository.save(content);
+        LearningContentEntity saved = learningContentRepository.save(content);
+        eventPublisher.publishEvent(CatalogChangedEvent.content(learningPathId));
+        return saved;
     }
 
     @Transactional
-    public LearningContentEntity updateContent(Long contentId, String title, String type,
-                                               String description, String contentUrl,
-                                               Integer points, Integer orderIndex) {
+    public LearningContentEntity updateContent(Long contentId, LearningContentRequest request) {
         LearningContentEntity content = learningContentRepository.findById(contentId)
                 .orElseThrow(() -> new RuntimeException("Content not found"));
         
-        content.setTitle(title);
-        content.setType(type);
-        content.setDescription(description);
-        content.setContentUrl(contentUrl);
-        content.setPoints(points);
-        content.setOrderIndex(orderIndex);
+        CatalogMapper.apply(request, content);
         
-        return learningContentRepository.save(content);
+        LearningContentEntity saved = learningContentRepository.save(content);
+        eventPublisher.publishEvent(CatalogChangedEvent.content(content.getLearningPath().getId()));
+        return saved;
+    }
+
+    /**
+     * Setzt die Reihenfolge aller Inhalte eines Lernpfads in einem JDBC-Batch neu (orderIndex 1..n).
+     * Es werden nur Zeilen geschrieben, deren Position sich tatsächlich ändert, und keine Entities geladen.
+     */
+    @Transactional
+    public List<LearningContentResponse> reorderContents(Long courseId, Long pathId, List<Long> contentIds) {
+        LearningPathEntity path = learningPathRepository.findById(pathId)
+                .orElseThrow(() -> new RuntimeException("Learning path not found"));
+
+        if (!path.getCourse().getId().equals(courseId)) {
+            throw new RuntimeException("Learning path does not belong to this course");
+        }
+
+        Map<Long, LearningContentResponse> current = learningContentRepository.findResponsesByLearningPathId(pathId).stream()
+                .collect(Collectors.toMap(LearningContentResponse::id, content -> content));
+        if (contentIds.size() != current.size() || !current.keySet().equals(new HashSet<>(contentIds))) {
+            throw new IllegalArgumentException("Order must contain every content of the learning path exactly once");
+        }
+
+        List<LearningContentResponse> reordered = new ArrayList<>(contentIds.size());
+        List<Object[]> updates = new ArrayList<>();
+        for (int i = 0; i < contentIds.size(); i++) {
+            LearningContentResponse content = current.get(contentIds.get(i));
+            int orderIndex = i + 1;
+            if (!Integer.valueOf(orderIndex).equals(content.orderIndex())) {
+                updates.add(new Object[]{orderIndex, content.id(), pathId});
+            }
+            reordered.add(new LearningContentResponse(content.id(), pathId, content.title(), content.type(),
+                    content.description(), content.contentUrl(), content.points(), orderIndex));
+        }
+
+        if (!updates.isEmpty()) {
+            jdbcTemplate.batchUpdate("UPDATE learning_contents SET order_index = ? WHERE id = ? AND learning_path_id = ?", updates);
+            eventPublisher.publishEvent(CatalogChangedEvent.content(pathId));
+        }
+        return reordered;
     }
 
     @Transactional
     public void deleteContent(Long contentId) {
-        learningContentRepository.deleteById(contentId);
+        learningContentRepository.findById(contentId).ifPresent(content -> {
+            learningContentRepository.delete(content);
+            eventPublisher.publishEvent(CatalogChangedEvent.content(content.getLearningPath().getId()));
+        });
     }
 }
\ No newline at end of file
@@ -0,0 +1,394 @@
+package org.example.backend.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import org.example.backend.dto.CurriculumRecord;
+import org.example.backend.entity.CourseEntity;
+import org.example.backend.event.CatalogChangedEvent;
+import org.example.backend.event.StatisticsChangedEvent;
+import org.example.backend.repository.CourseRepository;
+import org.example.backend.repository.LearningPathRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Import und Export ganzer Lehrpläne (Kurse, Lernpfade, Inhalte) im JSON-Lines-Format.
+ * Der Import liest die Datei zeilenweise und schreibt per JDBC-Batch statt über einzelne save()-Aufrufe,
+ * da Hibernate bei IDENTITY-IDs nicht bündeln kann. Alles läuft in einer Transaktion: eine fehlerhafte
+ * Zeile verwirft den gesamten Import.
+ */
+@Service
+public class CurriculumTransferService {
+
+    private static final String INSERT_COURSE =
+            "INSERT INTO courses (name, description, created_at) VALUES (?, ?, ?)";
+    private static final String INSERT_PATH =
+            "INSERT INTO learning_paths (course_id, level, points, duration_weeks, overview, description, created_at, content_slots) "
+                    + "VALUES (?, ?, ?, ?, ?, ?, ?, 0)";
+    private static final String INSERT_CONTENT =
+            "INSERT INTO learning_contents (learning_path_id, title, type, description, content_url, points, order_index, created_at, completion_slot) "
+                    + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    // Zeilen je Roundtrip beim Export, wenn der Treiber kein zeilenweises Streaming kennt
+    private static final int EXPORT_FETCH_SIZE = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final JdbcTemplate exportJdbcTemplate;
+    private final CourseRepository courseRepository;
+    private final LearningPathRepository learningPathRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectMapper objectMapper;
+    private final ObjectReader recordReader;
+    private final int batchSize;
+
+    public CurriculumTransferService(JdbcTemplate jdbcTemplate,
+                                     CourseRepository courseRepository,
+                                     LearningPathRepository learningPathRepository,
+                                     ApplicationEventPublisher eventPublisher,
+                                     ObjectMapper objectMapper,
+                                     @Value("${curriculum.import.batch-size:500}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.exportJdbcTemplate = streamingTemplate(jdbcTemplate);
+        this.courseRepository = courseRepository;
+        this.learningPathRepository = learningPathRepository;
+        this.eventPublisher = eventPublisher;
+        this.objectMapper = objectMapper;
+        this.recordReader = objectMapper.readerFor(CurriculumRecord.class);
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Importiert einen Lehrplan. Existiert ein Kurs mit gleichem Namen bereits, werden die Lernpfade dort angehängt.
+     * Inhalte ohne orderIndex werden je Lernpfad in Dateireihenfolge durchnummeriert.
+     * Bricht der Upload ab ({@link IOException}), wird ebenfalls alles verworfen, auch bereits geschriebene Batches.
+     */
+    @Transactional(rollbackFor = Exception.class)
+    public ImportResult importCurriculum(InputStream in) throws IOException {
+        Importer importer = new Importer();
+        try (MappingIterator<CurriculumRecord> lines = recordReader.readValues(in)) {
+            while (true) {
+                CurriculumRecord record;
+                try {
+                    if (!lines.hasNextValue()) {
+                        break;
+                    }
+                    record = lines.nextValue();
+                } catch (JsonProcessingException e) {
+                    throw new IllegalArgumentException("Line " + e.getLocation().getLineNr() + ": " + e.getOriginalMessage());
+                }
+                importer.accept(record, lines.getCurrentLocation().getLineNr());
+            }
+        }
+        importer.flushContents();
+
+        // Cache und Suchindex erst nach dem Commit je Kurs aktualisieren
+        importer.touchedCourses.forEach(courseId -> eventPublisher.publishEvent(CatalogChangedEvent.course(courseId)));
+        if (importer.courses > 0) {
+            // Per JDBC angelegte Kurse laufen nicht über die Entity-Callbacks der Statistik
+            eventPublisher.publishEvent(StatisticsChangedEvent.recount());
+        }
+        return new ImportResult(importer.courses, importer.learningPaths, importer.contents);
+    }
+
+    /**
+     * Schreibt alle Kurse (oder nur einen) als JSON Lines: erst Kurse, dann Lernpfade, dann Inhalte in Reihenfolge.
+     * Die Zeilen werden direkt beim Lesen der Ergebnismenge geschrieben. Auf MySQL holt der Treiber sie dabei
+     * einzeln vom Server (siehe {@link #streamingTemplate}), die Ergebnismenge liegt also nie vollständig im Speicher.
+     */
+    public void exportCurriculum(Long courseId, OutputStream out) throws IOException {
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(out);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        try (SequenceWriter writer = objectMapper.writer().withRootValueSeparator("\n").writeValues(generator)) {
+            Object[] args = courseId != null ? new Object[]{courseId} : new Object[0];
+
+            exportJdbcTemplate.query("SELECT id, name, description FROM courses"
+                            + (courseId != null ? " WHERE id = ?" : "") + " ORDER BY id",
+                    (RowCallbackHandler) rs -> write(writer, new CurriculumRecord(CurriculumRecord.Kind.COURSE, "course-" + rs.getLong("id"),
+                            null, null, rs.getString("name"), null, null, null, null,
+                            rs.getString("description"), null, null, null, null)),
+                    args);
+
+            exportJdbcTemplate.query("SELECT id, course_id, level, points, duration_weeks, overview, description FROM learning_paths"
+                            + (courseId != null ? " WHERE course_id = ?" : "") + " ORDER BY course_id, id",
+                    (RowCallbackHandler) rs -> write(writer, new CurriculumRecord(CurriculumRecord.Kind.PATH, "path-" + rs.getLong("id"),
+                            "course-" + rs.getLong("course_id"), null, null, rs.getString("level"), null, null,
+                            rs.getString("overview"), rs.getString("description"), null,
+                            rs.getObject("points", Integer.class), rs.getObject("duration_weeks", Integer.class), null)),
+                    args);
+
+            exportJdbcTemplate.query("SELECT c.learning_path_id, c.title, c.type, c.description, c.content_url, c.points, c.order_index "
+                            + "FROM learning_contents c"
+                            + (courseId != null ? " JOIN learning_paths p ON p.id = c.learning_path_id WHERE p.course_id = ?" : "")
+                            + " ORDER BY c.learning_path_id, c.order_index, c.id",
+                    (RowCallbackHandler) rs -> write(writer, new CurriculumRecord(CurriculumRecord.Kind.CONTENT, null, null,
+                            "path-" + rs.getLong("learning_path_id"), null, null, rs.getString("title"),
+                            rs.getString("type"), null, rs.getString("description"), rs.getString("content_url"),
+                            rs.getObject("points", Integer.class), null, rs.getObject("order_index", Integer.class))),
+                    args);
+        }
+        out.write('\n');
+        out.flush();
+    }
+
+    /**
+     * Connector/J puffert standardmäßig die gesamte Ergebnismenge, bevor die erste Zeile gelesen wird; nur mit
+     * Fetch-Size {@link Integer#MIN_VALUE} liefert er Zeile für Zeile. Andere Treiber lehnen negative Werte ab
+     * und bekommen eine normale Fetch-Size.
+     */
+    private static JdbcTemplate streamingTemplate(JdbcTemplate jdbcTemplate) {
+        JdbcTemplate streaming = new JdbcTemplate(jdbcTemplate.getDataSource());
+        String product;
+        try {
+            product = JdbcUtils.extractDatabaseMetaData(jdbcTemplate.getDataSource(), DatabaseMetaData::getDatabaseProductName);
+        } catch (MetaDataAccessException e) {
+            product = null;
+        }
+        streaming.setFetchSize("MySQL".equals(product) ? Integer.MIN_VALUE : EXPORT_FETCH_SIZE);
+        return streaming;
+    }
+
+    private static void write(SequenceWriter writer, CurriculumRecord record) {
+        try {
+            writer.write(record);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Sammelt Zeilen je Art und schreibt sie in Batches. Vor jedem Batch werden die Eltern geschrieben,
+     * damit deren generierte IDs für die Fremdschlüssel bekannt sind.
+     */
+    private class Importer {
+
+        private final Map<String, Long> courseIds = new HashMap<>();
+        private final Map<String, Long> pathIds = new HashMap<>();
+        private final Set<String> knownCourseRefs = new LinkedHashSet<>();
+        private final Set<String> knownPathRefs = new LinkedHashSet<>();
+        private final Map<String, Integer> nextOrderIndex = new HashMap<>();
+        private final Set<Long> touchedCourses = new LinkedHashSet<>();
+
+        private final List<CurriculumRecord> pendingCourses = new ArrayList<>();
+        private final List<CurriculumRecord> pendingPaths = new ArrayList<>();
+        private final List<CurriculumRecord> pendingContents = new ArrayList<>();
+
+        private int courses;
+        private int learningPaths;
+        private int contents;
+
+        void accept(CurriculumRecord record, int line) {
+            if (record.kind() == null) {
+                throw new IllegalArgumentException("Line " + line + ": kind is required");
+            }
+            switch (record.kind()) {
+                case COURSE -> acceptCourse(record, line);
+                case PATH -> acceptPath(record, line);
+                case CONTENT -> acceptContent(record, line);
+            }
+        }
+
+        private void acceptCourse(CurriculumRecord record, int line) {
+            require(record.ref(), "ref", line);
+            require(record.name(), "name", line);
+            if (!knownCourseRefs.add(record.ref())) {
+                throw new IllegalArgumentException("Line " + line + ": duplicate course ref " + record.ref());
+            }
+            Long existingId = courseRepository.findByName(record.name()).map(CourseEntity::getId).orElse(null);
+            if (existingId != null) {
+                courseIds.put(record.ref(), existingId);
+                touchedCourses.add(existingId);
+                return;
+            }
+            pendingCourses.add(record);
+            if (pendingCourses.size() >= batchSize) {
+                flushCourses();
+            }
+        }
+
+        private void acceptPath(CurriculumRecord record, int line) {
+            require(record.ref(), "ref", line);
+            require(record.level(), "level", line);
+            require(record.points(), "points", line);
+            require(record.durationWeeks(), "durationWeeks", line);
+            if (!knownCourseRefs.contains(record.course())) {
+                throw new IllegalArgumentException("Line " + line + ": unknown course ref " + record.course());
+            }
+            if (!knownPathRefs.add(record.ref())) {
+                throw new IllegalArgumentException("Line " + line + ": duplicate path ref " + record.ref());
+            }
+            pendingPaths.add(record);
+            if (pendingPaths.size() >= batchSize) {
+                flushPaths();
+            }
+        }
+
+        private void acceptContent(CurriculumRecord record, int line) {
+            require(record.title(), "title", line);
+            require(record.type(), "type", line);
+            require(record.points(), "points", line);
+            if (!knownPathRefs.contains(record.path())) {
+                throw new IllegalArgumentException("Line " + line + ": unknown path ref " + record.path());
+            }
+            int orderIndex = record.orderIndex() != null
+                    ? record.orderIndex()
+                    : nextOrderIndex.getOrDefault(record.path(), 1);
+            nextOrderIndex.merge(record.path(), orderIndex + 1, Math::max);
+            pendingContents.add(withOrderIndex(record, orderIndex));
+            if (pendingContents.size() >= batchSize) {
+                flushContents();
+            }
+        }
+
+        void flushCourses() {
+            if (pendingCourses.isEmpty()) {
+                return;
+            }
+            Timestamp now = Timestamp.from(Instant.now());
+            List<Long> ids = insertReturningIds(INSERT_COURSE, pendingCourses, (ps, record) -> {
+                ps.setString(1, record.name());
+                ps.setString(2, record.description());
+                ps.setTimestamp(3, now);
+            });
+            for (int i = 0; i < ids.size(); i++) {
+                courseIds.put(pendingCourses.get(i).ref(), ids.get(i));
+                touchedCourses.add(ids.get(i));
+            }
+            courses += ids.size();
+            pendingCourses.clear();
+        }
+
+        void flushPaths() {
+            flushCourses();
+            if (pendingPaths.isEmpty()) {
+                return;
+            }
+            Timestamp now = Timestamp.from(Instant.now());
+            List<Long> ids = insertReturningIds(INSERT_PATH, pendingPaths, (ps, record) -> {
+                ps.setLong(1, courseIds.get(record.course()));
+                ps.setString(2, record.level());
+                ps.setInt(3, record.points());
+                ps.setInt(4, record.durationWeeks());
+                ps.setString(5, record.overview());
+                ps.setString(6, record.description());
+                ps.setTimestamp(7, now);
+            });
+            for (int i = 0; i < ids.size(); i++) {
+                pathIds.put(pendingPaths.get(i).ref(), ids.get(i));
+            }
+            learningPaths += ids.size();
+            pendingPaths.clear();
+        }
+
+        void flushContents() {
+            flushPaths();
+            if (pendingContents.isEmpty()) {
+                return;
+            }
+            Timestamp now = Timestamp.from(Instant.now());
+            List<CurriculumRecord> batch = pendingContents;
+            // Bitpositionen je Lernpfad am Stück reservieren und in Dateireihenfolge vergeben
+            Map<Long, Integer> batchCounts = new HashMap<>();
+            for (CurriculumRecord record : batch) {
+                batchCounts.merge(pathIds.get(record.path()), 1, Integer::sum);
+            }
+            Map<Long, Integer> nextSlot = new HashMap<>();
+            batchCounts.forEach((pathId, count) -> nextSlot.put(pathId, learningPathRepository.reserveContentSlots(pathId, count)));
+            int[] slots = new int[batch.size()];
+            for (int i = 0; i < batch.size(); i++) {
+                slots[i] = nextSlot.merge(pathIds.get(batch.get(i).path()), 1, Integer::sum) - 1;
+            }
+            jdbcTemplate.batchUpdate(INSERT_CONTENT, new BatchPreparedStatementSetter() {
+                @Override
+                public void setValues(PreparedStatement ps, int i) throws SQLException {
+                    CurriculumRecord record = batch.get(i);
+                    ps.setLong(1, pathIds.get(record.path()));
+                    ps.setString(2, record.title());
+                    ps.setString(3, record.type());
+                    ps.setString(4, record.description());
+                    ps.setString(5, record.contentUrl());
+                    ps.setInt(6, record.points());
+                    ps.setObject(7, record.orderIndex(), Types.INTEGER);
+                    ps.setTimestamp(8, now);
+                    ps.setInt(9, slots[i]);
+                }
+
+                @Override
+                public int getBatchSize() {
+                    return batch.size();
+                }
+            });
+            contents += batch.size();
+            pendingContents.clear();
+        }
+
+        private List<Long> insertReturningIds(String sql, List<CurriculumRecord> rows, RowBinder binder) {
+            KeyHolder keys = new GeneratedKeyHolder();
+            jdbcTemplate.batchUpdate(connection -> connection.prepareStatement(sql, new String[]{"id"}),
+                    new BatchPreparedStatementSetter() {
+                        @Override
+                        public void setValues(PreparedStatement ps, int i) throws SQLException {
+                            binder.bind(ps, rows.get(i));
+                        }
+
+                        @Override
+                        public int getBatchSize() {
+                            return rows.size();
+                        }
+                    }, keys);
+            // MySQL liefert den Schlüssel als GENERATED_KEY, H2 als ID; es gibt jeweils genau eine Spalte
+            return keys.getKeyList().stream()
+                    .map(key -> ((Number) key.values().iterator().next()).longValue())
+                    .toList();
+        }
+    }
+
+    private static void require(Object value, String field, int line) {
+        if (value == null || (value instanceof String text && text.isBlank())) {
+            throw new IllegalArgumentException("Line " + line + ": " + field + " is required");
+        }
+    }
+
+    private static CurriculumRecord withOrderIndex(CurriculumRecord record, int orderIndex) {
+        return new CurriculumRecord(record.kind(), record.ref(), record.course(), record.path(), record.name(),
+                record.level(), record.title(), record.type(), record.overview(), record.description(),
+                record.contentUrl(), record.points(), record.durationWeeks(), orderIndex);
+    }
+
+    @FunctionalInterface
+    private interface RowBinder {
+        void bind(PreparedStatement ps, CurriculumRecord record) throws SQLException;
+    }
+
+    public record ImportResult(int courses, int learningPaths, int contents) {
+    }
+}
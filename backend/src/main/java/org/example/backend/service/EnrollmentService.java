@@ -1,5 +1,7 @@
 package org.example.backend.service;
 
+import org.example.backend.dto.BulkEnrollmentRequest;
+import org.example.backend.dto.BulkEnrollmentResponse;
 import org.example.backend.dto.EnrollmentRequest;
 import org.example.backend.dto.EnrollmentResponse;
 import org.example.backend.dto.UserStatsResponse;
@@ -7,15 +9,31 @@ import org.example.backend.entity.CourseEntity;
 import org.example.backend.entity.EnrollmentEntity;
 import org.example.backend.entity.LearningPathEntity;
 import org.example.backend.entity.UserEntity;
+import org.example.backend.event.EnrollmentProgressedEvent;
+import org.example.backend.event.StatisticsChangedEvent;
 import org.example.backend.repository.CourseRepository;
 import org.example.backend.repository.EnrollmentRepository;
 import org.example.backend.repository.LearningPathRepository;
 import org.example.backend.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.Set;
 
 @Service
 public class EnrollmentService {
@@ -32,37 +50,24 @@ public class EnrollmentService {
     @Autowired
     private LearningPathRepository learningPathRepository;
 
-    public List<EnrollmentResponse> getAllEnrollments() {
-        return enrollmentRepository.findAll().stream()
-            .map(this::mapToResponse)
-            .collect(Collectors.toList());
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private ProgressUpdateBuffer progressUpdateBuffer;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // Größe der IN-Listen und Insert-Batches bei Kohorten-Einschreibungen
+    private static final int BULK_CHUNK_SIZE = 1000;
+
+    public List<EnrollmentResponse> getEnrollments(Long afterId, Limit limit) {
+        return enrollmentRepository.findResponsesAfter(afterId, limit);
     }
 
     public UserStatsResponse getUserStats(Long userId) {
-        List<EnrollmentEntity> enrollments = enrollmentRepository.findByUserId(userId);
-        
-        long totalEnrollments = enrollments.size();
-        long completedCourses = enrollments.stream()
-            .filter(e -> Boolean.TRUE.equals(e.getCompleted()))
-            .count();
-        
-        double averageProgress = enrollments.isEmpty() ? 0.0 : 
-            enrollments.stream()
-                .mapToInt(e -> e.getProgress() != null ? e.getProgress() : 0)
-                .average()
-                .orElse(0.0);
-        
-        java.time.LocalDateTime lastActivityLocal = enrollments.stream()
-            .map(EnrollmentEntity::getEnrolledAt)
-            .max(java.time.LocalDateTime::compareTo)
-            .orElse(null);
-        
-        // Konvertiere LocalDateTime zu Instant
-        java.time.Instant lastActivity = lastActivityLocal != null 
-            ? lastActivityLocal.atZone(java.time.ZoneId.systemDefault()).toInstant()
-            : null;
-        
-        return new UserStatsResponse(totalEnrollments, averageProgress, completedCourses, lastActivity);
+        return enrollmentRepository.findStatsByUserId(userId);
     }
 
     public EnrollmentResponse enrollUser(EnrollmentRequest request) {
@@ -89,34 +94,177 @@ public class EnrollmentService {
         return mapToResponse(enrollment);
     }
 
+    /**
+     * Schreibt eine Kohorte mit wenigen mengenbasierten Abfragen ein statt je User enrollUser aufzurufen:
+     * Lernpfad und Users werden je einmal geprüft, bestehende Einschreibungen übersprungen und der Rest per
+     * JDBC-Batch eingefügt. INSERT IGNORE auf dem Unique-Index fängt parallel entstandene Einschreibungen ab;
+     * welche Zeilen dieser Aufruf angelegt hat, zeigt der Update-Count je Zeile (1 oder 0).
+     */
+    @Transactional
+    public BulkEnrollmentResponse enrollCohort(BulkEnrollmentRequest request) {
+        Long courseId = request.courseId();
+        Long learningPathId = request.learningPathId();
+        if (!learningPathRepository.existsByIdAndCourseId(learningPathId, courseId)) {
+            throw new RuntimeException("Lernpfad nicht gefunden");
+        }
+
+        List<Long> userIds = new ArrayList<>(new LinkedHashSet<>(request.userIds()));
+        Set<Long> existingUsers = new HashSet<>();
+        Map<Long, Long> enrollmentIds = new HashMap<>();
+        for (List<Long> chunk : chunks(userIds)) {
+            existingUsers.addAll(userRepository.findExistingIds(chunk));
+            enrollmentIds.putAll(findEnrollmentIds(courseId, learningPathId, chunk));
+        }
+
+        List<Long> toInsert = new ArrayList<>();
+        for (Long userId : userIds) {
+            if (existingUsers.contains(userId) && !enrollmentIds.containsKey(userId)) {
+                toInsert.add(userId);
+            }
+        }
+        Map<Long, Long> created = new HashMap<>();
+        if (!toInsert.isEmpty()) {
+            Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+            for (List<Long> chunk : chunks(toInsert)) {
+                List<Object[]> rows = new ArrayList<>(chunk.size());
+                for (Long userId : chunk) {
+                    rows.add(new Object[]{userId, courseId, learningPathId, now});
+                }
+                // INSERT ... SELECT statt VALUES: Connector/J fasst VALUES-Batches bei rewriteBatchedStatements zu
+                // einem mehrzeiligen INSERT zusammen und meldet dann je Zeile nur SUCCESS_NO_INFO
+                int[] counts = jdbcTemplate.batchUpdate("INSERT IGNORE INTO enrollments (user_id, course_id, learning_path_id, " +
+                        "enrolled_at, progress, completed, version) SELECT ?, ?, ?, ?, 0, FALSE, 0", rows);
+                List<Long> inserted = new ArrayList<>(chunk.size());
+                List<Long> enrolledConcurrently = new ArrayList<>();
+                for (int i = 0; i < chunk.size(); i++) {
+                    (counts[i] == 0 ? enrolledConcurrently : inserted).add(chunk.get(i));
+                }
+                if (!inserted.isEmpty()) {
+                    created.putAll(findEnrollmentIds(courseId, learningPathId, inserted));
+                }
+                if (!enrolledConcurrently.isEmpty()) {
+                    enrollmentIds.putAll(findEnrollmentIds(courseId, learningPathId, enrolledConcurrently));
+                }
+            }
+            // Am StatisticsEntityListener vorbei, daher selbst melden
+            eventPublisher.publishEvent(StatisticsChangedEvent.of(StatisticsChangedEvent.Metric.ENROLLMENTS, created.size()));
+        }
+
+        List<BulkEnrollmentResponse.UserOutcome> results = new ArrayList<>(userIds.size());
+        int enrolled = 0;
+        int alreadyEnrolled = 0;
+        int usersNotFound = 0;
+        for (Long userId : userIds) {
+            if (created.containsKey(userId)) {
+                results.add(new BulkEnrollmentResponse.UserOutcome(userId, BulkEnrollmentResponse.Status.ENROLLED, created.get(userId)));
+                enrolled++;
+            } else if (enrollmentIds.containsKey(userId)) {
+                results.add(new BulkEnrollmentResponse.UserOutcome(userId, BulkEnrollmentResponse.Status.ALREADY_ENROLLED, enrollmentIds.get(userId)));
+                alreadyEnrolled++;
+            } else {
+                results.add(new BulkEnrollmentResponse.UserOutcome(userId, BulkEnrollmentResponse.Status.USER_NOT_FOUND, null));
+                usersNotFound++;
+            }
+        }
+        return new BulkEnrollmentResponse(courseId, learningPathId, enrolled, alreadyEnrolled, usersNotFound, results);
+    }
+
+    private Map<Long, Long> findEnrollmentIds(Long courseId, Long learningPathId, List<Long> userIds) {
+        Map<Long, Long> ids = new HashMap<>();
+        List<Object> args = new ArrayList<>(userIds.size() + 2);
+        args.add(courseId);
+        args.add(learningPathId);
+        args.addAll(userIds);
+        jdbcTemplate.query("SELECT user_id, id FROM enrollments WHERE course_id = ? AND learning_path_id = ? AND user_id IN (" +
+                        String.join(", ", Collections.nCopies(userIds.size(), "?")) + ")",
+                (RowCallbackHandler) rs -> ids.put(rs.getLong(1), rs.getLong(2)),
+                args.toArray());
+        return ids;
+    }
+
+    private static List<List<Long>> chunks(List<Long> ids) {
+        List<List<Long>> chunks = new ArrayList<>();
+        for (int i = 0; i < ids.size(); i += BULK_CHUNK_SIZE) {
+            chunks.add(ids.subList(i, Math.min(i + BULK_CHUNK_SIZE, ids.size())));
+        }
+        return chunks;
+    }
+
     public List<EnrollmentResponse> getUserEnrollments(Long userId) {
-        return enrollmentRepository.findByUserId(userId).stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+        return enrollmentRepository.findResponsesByUserId(userId);
     }
 
     public List<EnrollmentResponse> getCourseEnrollments(Long courseId) {
-        return enrollmentRepository.findByCourseId(courseId).stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+        return enrollmentRepository.findResponsesByCourseId(courseId);
     }
 
     public void unenrollUser(Long enrollmentId) {
         enrollmentRepository.deleteById(enrollmentId);
     }
 
+    /**
+     * Fortschritt aus dem Lernbetrieb: wird gepuffert und gesammelt geschrieben (siehe {@link ProgressUpdateBuffer}).
+     * Der gespeicherte Fortschritt sinkt dabei nie, unbekannte Enrollments werden beim Schreiben ignoriert.
+     */
+    public void recordProgress(Long enrollmentId, Integer progress) {
+        validateProgress(progress);
+        progressUpdateBuffer.record(enrollmentId, progress);
+    }
+
+    /**
+     * Sofortiges Schreiben ohne das Enrollment zu laden. Gleichzeitige Aufrufe können sich nicht gegenseitig
+     * überschreiben: der Fortschritt steigt nur (GREATEST), den Abschluss setzt genau ein Aufrufer.
+     */
+    @Transactional
     public EnrollmentResponse updateProgress(Long enrollmentId, Integer progress) {
-        EnrollmentEntity enrollment = enrollmentRepository.findById(enrollmentId)
-                .orElseThrow(() -> new RuntimeException("Enrollment nicht gefunden"));
+        validateProgress(progress);
+        if (enrollmentRepository.raiseProgress(enrollmentId, progress) == 0) {
+            throw new RuntimeException("Enrollment nicht gefunden");
+        }
+        if (progress >= 100 && enrollmentRepository.markCompleted(enrollmentId, LocalDateTime.now()) == 1) {
+            // Bulk-Updates laufen am StatisticsEntityListener vorbei
+            eventPublisher.publishEvent(StatisticsChangedEvent.of(StatisticsChangedEvent.Metric.COMPLETIONS, 1));
+        }
 
-        enrollment.setProgress(progress);
+        EnrollmentResponse response = enrollmentRepository.findResponseById(enrollmentId)
+                .orElseThrow(() -> new RuntimeException("Enrollment nicht gefunden"));
+        eventPublisher.publishEvent(new EnrollmentProgressedEvent(enrollmentId, response.getCourseId(),
+                response.getLearningPathId(), progress, LocalDateTime.now()));
+        return response;
+    }
 
-        if (progress >= 100) {
-            enrollment.setCompleted(true);
+    /**
+     * Korrektur im Admin-Dashboard, setzt den Wert auch nach unten. Über die Version geschützt, die der Client
+     * mit dem Enrollment gelesen hat ({@link EnrollmentResponse#getVersion()}): hat sich das Enrollment seitdem
+     * geändert, schlägt das Speichern mit {@link ObjectOptimisticLockingFailureException} fehl statt die Änderung
+     * zu überschreiben.
+     */
+    @Transactional
+    public EnrollmentResponse overrideProgress(Long enrollmentId, Integer progress, long version) {
+        validateProgress(progress);
+        progressUpdateBuffer.discard(enrollmentId);
+        if (enrollmentRepository.overrideProgress(enrollmentId, progress, version) == 0) {
+            if (!enrollmentRepository.existsById(enrollmentId)) {
+                throw new RuntimeException("Enrollment nicht gefunden");
+            }
+            throw new ObjectOptimisticLockingFailureException(EnrollmentEntity.class, enrollmentId);
+        }
+        if (progress >= 100 && enrollmentRepository.markCompleted(enrollmentId, LocalDateTime.now()) == 1) {
+            // Bulk-Updates laufen am StatisticsEntityListener vorbei
+            eventPublisher.publishEvent(StatisticsChangedEvent.of(StatisticsChangedEvent.Metric.COMPLETIONS, 1));
         }
 
-        enrollment = enrollmentRepository.save(enrollment);
-        return mapToResponse(enrollment);
+        EnrollmentResponse response = enrollmentRepository.findResponseById(enrollmentId)
+                .orElseThrow(() -> new RuntimeException("Enrollment nicht gefunden"));
+        eventPublisher.publishEvent(new EnrollmentProgressedEvent(enrollmentId, response.getCourseId(),
+                response.getLearningPathId(), progress, LocalDateTime.now()));
+        return response;
+    }
+
+    private static void validateProgress(Integer progress) {
+        if (progress == null || progress < 0 || progress > 100) {
+            throw new IllegalArgumentException("Progress must be between 0 and 100");
+        }
     }
 
     private EnrollmentResponse mapToResponse(EnrollmentEntity enrollment) {
@@ -133,6 +281,7 @@ public class EnrollmentService {
         response.setProgress(enrollment.getProgress());
         response.setCompleted(enrollment.getCompleted());
         response.setCompletedAt(enrollment.getCompletedAt());
+        response.setVersion(enrollment.getVersion());
         return response;
     }
 }
\ No newline at end of file
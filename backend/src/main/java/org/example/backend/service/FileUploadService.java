@@ -1,34 +1,70 @@
 package org.example.backend.service;
 
+import jakarta.annotation.PreDestroy;
 import org.example.backend.entity.SeminarEntity;
 import org.example.backend.entity.SeminarFileEntity;
+import org.example.backend.event.SeminarFileUploadedEvent;
 import org.example.backend.repository.SeminarFileRepository;
 import org.example.backend.repository.SeminarRepository;
+import org.example.backend.storage.BlobStorage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.io.Resource;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.net.URI;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
 
 @Service
 public class FileUploadService {
 
+    private static final Logger log = LoggerFactory.getLogger(FileUploadService.class);
+
     private final SeminarFileRepository seminarFileRepository;
     private final SeminarRepository seminarRepository;
-
-    @Value("${file.upload.dir:uploads/seminars}")
-    private String uploadDir;
+    private final BlobStorage blobStorage;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ThreadPoolExecutor uploadExecutor;
 
     public FileUploadService(SeminarFileRepository seminarFileRepository,
-                             SeminarRepository seminarRepository) {
+                             SeminarRepository seminarRepository,
+                             BlobStorage blobStorage,
+                             ApplicationEventPublisher eventPublisher,
+                             @Value("${upload.batch.workers:4}") int workers,
+                             @Value("${upload.batch.queue-capacity:64}") int queueCapacity) {
         this.seminarFileRepository = seminarFileRepository;
         this.seminarRepository = seminarRepository;
+        this.blobStorage = blobStorage;
+        this.eventPublisher = eventPublisher;
+
+        // Begrenzte Parallelität für Storage-Schreibvorgänge; bei voller Queue schreibt der Request-Thread selbst
+        AtomicInteger threadCount = new AtomicInteger();
+        this.uploadExecutor = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "batch-upload-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
     }
 
     @Transactional
@@ -36,20 +72,77 @@ public class FileUploadService {
         SeminarEntity seminar = seminarRepository.findById(seminarId)
                 .orElseThrow(() -> new RuntimeException("Seminar not found"));
 
-        // Erstelle Upload-Verzeichnis falls nicht vorhanden
-        Path uploadPath = Paths.get(uploadDir);
-        if (!Files.exists(uploadPath)) {
-            Files.createDirectories(uploadPath);
+        SeminarFileEntity saved = seminarFileRepository.save(storeFile(seminar, file, uploadedBy, description));
+
+        // Thumbnails und Vorschau werden nach dem Commit im Hintergrund erzeugt
+        eventPublisher.publishEvent(new SeminarFileUploadedEvent(saved.getId()));
+        return saved;
+    }
+
+    /**
+     * Lädt mehrere Dateien auf einmal hoch. Das Seminar wird nur einmal geladen, die Dateien werden
+     * parallel in den Storage geschrieben und die Datensätze anschließend gemeinsam gespeichert.
+     * Schlägt eine Datei fehl, werden die bereits geschriebenen wieder entfernt und nichts gespeichert.
+     */
+    public List<SeminarFileEntity> uploadFiles(Long seminarId, List<MultipartFile> files, String uploadedBy, String description) throws IOException {
+        SeminarEntity seminar = seminarRepository.findById(seminarId)
+                .orElseThrow(() -> new RuntimeException("Seminar not found"));
+
+        List<Future<SeminarFileEntity>> pending = new ArrayList<>();
+        for (MultipartFile file : files) {
+            pending.add(uploadExecutor.submit(() -> storeFile(seminar, file, uploadedBy, description)));
+        }
+
+        List<SeminarFileEntity> stored = new ArrayList<>();
+        IOException failure = null;
+        for (Future<SeminarFileEntity> future : pending) {
+            try {
+                stored.add(future.get());
+            } catch (ExecutionException e) {
+                if (failure == null) {
+                    failure = new IOException("Upload failed: " + e.getCause().getMessage(), e.getCause());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                if (failure == null) {
+                    failure = new InterruptedIOException("Upload interrupted");
+                }
+            }
+        }
+        if (failure != null) {
+            deleteQuietly(stored);
+            throw failure;
         }
 
+        // saveAll läuft in einer einzigen Transaktion; Events werden danach veröffentlicht, die Zeilen sind dann committet
+        List<SeminarFileEntity> saved;
+        try {
+            saved = seminarFileRepository.saveAll(stored);
+        } catch (RuntimeException e) {
+            deleteQuietly(stored);
+            throw e;
+        }
+        for (SeminarFileEntity fileEntity : saved) {
+            eventPublisher.publishEvent(new SeminarFileUploadedEvent(fileEntity.getId()));
+        }
+        return saved;
+    }
+
+    /**
+     * Schreibt die Datei in den Storage und baut die noch nicht gespeicherte Entity dazu
+     */
+    private SeminarFileEntity storeFile(SeminarEntity seminar, MultipartFile file, String uploadedBy, String description) throws IOException {
         // Generiere eindeutigen Dateinamen
         String originalFileName = file.getOriginalFilename();
         String fileExtension = originalFileName.substring(originalFileName.lastIndexOf("."));
         String fileName = UUID.randomUUID().toString() + fileExtension;
 
         // Speichere Datei
-        Path filePath = uploadPath.resolve(fileName);
-        Files.copy(file.getInputStream(), filePath);
+        String storageKey = "seminars/" + fileName;
+        CRC32 crc = new CRC32();
+        try (InputStream in = new CheckedInputStream(file.getInputStream(), crc)) {
+            blobStorage.put(storageKey, in, file.getSize(), file.getContentType());
+        }
 
         // Bestimme Dateityp
         String fileType = determineFileType(file.getContentType());
@@ -59,13 +152,29 @@ public class FileUploadService {
         fileEntity.setSeminar(seminar);
         fileEntity.setFileName(fileName);
         fileEntity.setOriginalFileName(originalFileName);
-        fileEntity.setFilePath(filePath.toString());
+        fileEntity.setFilePath(storageKey);
         fileEntity.setFileType(fileType);
         fileEntity.setFileSize(file.getSize());
+        fileEntity.setCrc32(crc.getValue());
         fileEntity.setUploadedBy(uploadedBy);
         fileEntity.setDescription(description);
+        fileEntity.setProcessingStatus(SeminarFileEntity.ProcessingStatus.PENDING);
+        return fileEntity;
+    }
 
-        return seminarFileRepository.save(fileEntity);
+    private void deleteQuietly(List<SeminarFileEntity> stored) {
+        for (SeminarFileEntity fileEntity : stored) {
+            try {
+                blobStorage.delete(fileEntity.getFilePath());
+            } catch (IOException e) {
+                log.warn("Could not remove orphaned upload {}: {}", fileEntity.getFilePath(), e.getMessage());
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        uploadExecutor.shutdown();
     }
 
     public List<SeminarFileEntity> getFilesBySeminar(Long seminarId) {
@@ -83,15 +192,36 @@ public class FileUploadService {
                 .orElseThrow(() -> new RuntimeException("File not found with id: " + fileId));
     }
 
+    /**
+     * Öffnet eine gespeicherte Datei (Original oder Vorschaubild) aus dem Storage
+     * @throws java.nio.file.NoSuchFileException wenn die physische Datei fehlt
+     */
+    public Resource loadAsResource(String storageKey) throws IOException {
+        return blobStorage.load(storageKey);
+    }
+
+    /**
+     * Direkter Download-Link beim Storage, falls dieser signierte URLs unterstützt
+     */
+    public Optional<URI> getPresignedDownloadUrl(String storageKey, String downloadFileName, String contentType) {
+        return blobStorage.presignedDownloadUrl(storageKey, downloadFileName, contentType);
+    }
+
     @Transactional
     public void deleteFile(Long fileId) throws IOException {
         SeminarFileEntity fileEntity = seminarFileRepository.findById(fileId)
                 .orElseThrow(() -> new RuntimeException("File not found"));
 
-        // Lösche physische Datei
-        Path filePath = Paths.get(fileEntity.getFilePath());
-        if (Files.exists(filePath)) {
-            Files.delete(filePath);
+        // Lösche physische Datei samt Vorschaubildern
+        blobStorage.delete(fileEntity.getFilePath());
+        if (fileEntity.getThumbnailPath() != null) {
+            blobStorage.delete(fileEntity.getThumbnailPath());
+        }
+        if (fileEntity.getPreviewPath() != null) {
+            blobStorage.delete(fileEntity.getPreviewPath());
+        }
+        if (fileEntity.getGzipPath() != null) {
+            blobStorage.delete(fileEntity.getGzipPath());
         }
 
         // Lösche DB-Eintrag
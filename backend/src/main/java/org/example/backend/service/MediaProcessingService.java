@@ -0,0 +1,171 @@
+package org.example.backend.service;
+
+import jakarta.annotation.PreDestroy;
+import org.example.backend.entity.SeminarFileEntity;
+import org.example.backend.event.SeminarFileUploadedEvent;
+import org.example.backend.media.DocumentCompressor;
+import org.example.backend.media.MediaPreviewRenderer;
+import org.example.backend.repository.SeminarFileRepository;
+import org.example.backend.storage.BlobStorage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Erzeugt nach dem Upload im Hintergrund Thumbnails und Vorschaubilder für Seminar-Dateien
+ * sowie gzip-Varianten für textlastige Dokumente.
+ * Die Warteschlange ist begrenzt: ist sie voll, verarbeitet der hochladende Thread die Datei selbst
+ * und bremst damit weitere Uploads, statt Aufträge zu verlieren oder unbegrenzt Speicher zu belegen.
+ * Das geschieht dann im After-Commit-Callback der Upload-Transaktion; alle Datenbankzugriffe laufen deshalb
+ * in einer eigenen Transaktion (REQUIRES_NEW), statt sich der bereits abgeschlossenen anzuschließen.
+ */
+@Service
+public class MediaProcessingService {
+
+    private static final Logger log = LoggerFactory.getLogger(MediaProcessingService.class);
+
+    private final SeminarFileRepository seminarFileRepository;
+    private final BlobStorage blobStorage;
+    private final MediaPreviewRenderer renderer;
+    private final DocumentCompressor compressor;
+    private final ThreadPoolExecutor executor;
+    private final TransactionTemplate requiresNew;
+    private final int thumbnailSize;
+    private final int previewSize;
+
+    public MediaProcessingService(SeminarFileRepository seminarFileRepository,
+                                  BlobStorage blobStorage,
+                                  MediaPreviewRenderer renderer,
+                                  DocumentCompressor compressor,
+                                  PlatformTransactionManager transactionManager,
+                                  @Value("${media.processing.workers:2}") int workers,
+                                  @Value("${media.processing.queue-capacity:100}") int queueCapacity,
+                                  @Value("${media.processing.thumbnail-size:320}") int thumbnailSize,
+                                  @Value("${media.processing.preview-size:1280}") int previewSize) {
+        this.seminarFileRepository = seminarFileRepository;
+        this.blobStorage = blobStorage;
+        this.renderer = renderer;
+        this.compressor = compressor;
+        this.thumbnailSize = thumbnailSize;
+        this.previewSize = previewSize;
+        this.requiresNew = new TransactionTemplate(transactionManager);
+        this.requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "media-processing-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    // Erst nach dem Commit einplanen, damit der Worker den Datensatz sicher sieht
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onFileUploaded(SeminarFileUploadedEvent event) {
+        submit(event.fileId());
+    }
+
+    public void submit(Long fileId) {
+        executor.execute(() -> process(fileId));
+    }
+
+    private void process(Long fileId) {
+        Optional<SeminarFileEntity> found = inNewTransaction(() -> seminarFileRepository.findById(fileId));
+        if (found.isEmpty()) {
+            return; // inzwischen gelöscht
+        }
+        SeminarFileEntity file = found.get();
+
+        if (compressor.isCompressible(file.getOriginalFileName())) {
+            precompress(file);
+        }
+
+        try {
+            Optional<BufferedImage> source;
+            try (InputStream in = blobStorage.open(file.getFilePath())) {
+                source = renderer.renderSource(file.getFileType(), in, previewSize);
+            }
+            if (source.isEmpty()) {
+                updateProcessingResult(fileId, null, null, SeminarFileEntity.ProcessingStatus.SKIPPED);
+                return;
+            }
+
+            String baseKey = "seminars/previews/" + stripExtension(file.getFileName());
+            String thumbnailKey = baseKey + "-thumb.jpg";
+            String previewKey = baseKey + "-preview.jpg";
+            store(thumbnailKey, renderer.toJpeg(source.get(), thumbnailSize));
+            store(previewKey, renderer.toJpeg(source.get(), previewSize));
+
+            int updated = updateProcessingResult(fileId, thumbnailKey, previewKey, SeminarFileEntity.ProcessingStatus.READY);
+            if (updated == 0) {
+                // Datei wurde während der Verarbeitung gelöscht
+                blobStorage.delete(thumbnailKey);
+                blobStorage.delete(previewKey);
+            }
+        } catch (Exception e) {
+            log.warn("Media processing failed for seminar file {}: {}", fileId, e.getMessage());
+            updateProcessingResult(fileId, null, null, SeminarFileEntity.ProcessingStatus.FAILED);
+        }
+    }
+
+    private int updateProcessingResult(Long fileId, String thumbnailKey, String previewKey,
+                                       SeminarFileEntity.ProcessingStatus status) {
+        return inNewTransaction(() -> seminarFileRepository.updateProcessingResult(fileId, thumbnailKey, previewKey, status));
+    }
+
+    private <T> T inNewTransaction(Supplier<T> work) {
+        return requiresNew.execute(status -> work.get());
+    }
+
+    private void precompress(SeminarFileEntity file) {
+        String gzipKey = "seminars/compressed/" + file.getFileName() + ".gz";
+        try {
+            byte[] gzipped;
+            try (InputStream in = blobStorage.open(file.getFilePath())) {
+                gzipped = compressor.gzip(in, file.getFileSize());
+            }
+            if (gzipped == null) {
+                return; // kaum Ersparnis, Original wird weiter unkomprimiert ausgeliefert
+            }
+            blobStorage.put(gzipKey, new ByteArrayInputStream(gzipped), gzipped.length, "application/gzip");
+            if (inNewTransaction(() -> seminarFileRepository.updateCompressedVariant(file.getId(), gzipKey, (long) gzipped.length)) == 0) {
+                blobStorage.delete(gzipKey);
+            }
+        } catch (Exception e) {
+            log.warn("Precompression failed for seminar file {}: {}", file.getId(), e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private void store(String key, byte[] jpeg) throws IOException {
+        blobStorage.put(key, new ByteArrayInputStream(jpeg), jpeg.length, "image/jpeg");
+    }
+
+    private static String stripExtension(String fileName) {
+        int dot = fileName.lastIndexOf('.');
+        return dot > 0 ? fileName.substring(0, dot) : fileName;
+    }
+}
@@ -0,0 +1,162 @@
+package org.example.backend.service;
+
+import jakarta.annotation.PreDestroy;
+import org.example.backend.event.EnrollmentProgressedEvent;
+import org.example.backend.event.StatisticsChangedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Sammelt Fortschrittsmeldungen und schreibt je Enrollment nur den höchsten Stand des Zeitfensters
+ * ({@code enrollment.progress.flush-interval}) in einem JDBC-Batch. Der Fortschritt kann dabei nur steigen
+ * (GREATEST), der Abschluss wird wie in {@code EnrollmentEntity.setCompleted} genau einmal mit
+ * Zeitstempel gesetzt. Läuft am Entity-Lebenszyklus vorbei, Statistik und Analytics werden daher hier benachrichtigt.
+ */
+@Component
+// Beim Herunterfahren vor dem Analytics-Service beendet, damit dessen letzter Rollup den letzten Flush enthält
+@DependsOn("enrollmentAnalyticsService")
+public class ProgressUpdateBuffer {
+
+    private static final Logger log = LoggerFactory.getLogger(ProgressUpdateBuffer.class);
+
+    private static final int CHUNK_SIZE = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int maxPending;
+    private final Map<Long, Pending> pending = new ConcurrentHashMap<>();
+
+    public ProgressUpdateBuffer(JdbcTemplate jdbcTemplate,
+                                TransactionTemplate transactionTemplate,
+                                ApplicationEventPublisher eventPublisher,
+                                @Value("${enrollment.progress.max-pending:10000}") int maxPending) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.maxPending = maxPending;
+    }
+
+    /**
+     * Merkt den Fortschritt vor. Bei zu vielen offenen Enrollments schreibt der Aufrufer selbst.
+     */
+    public void record(Long enrollmentId, int progress) {
+        pending.merge(enrollmentId, new Pending(progress, 1, LocalDateTime.now()), Pending::merge);
+        if (pending.size() >= maxPending) {
+            flush();
+        }
+    }
+
+    /**
+     * Für direkte Schreibvorgänge (Korrekturen), damit ein älterer gepufferter Stand sie nicht überschreibt.
+     * Wartet auf einen laufenden {@link #flush()}: hat dieser den Stand schon entnommen, ist er danach committet
+     * und erhöht nicht erst nach der Korrektur per GREATEST wieder. Vor dem eigenen Schreiben aufrufen, solange
+     * noch keine Zeilensperre gehalten wird.
+     */
+    public synchronized void discard(Long enrollmentId) {
+        pending.remove(enrollmentId);
+    }
+
+    public int pendingCount() {
+        return pending.size();
+    }
+
+    @Scheduled(fixedDelayString = "${enrollment.progress.flush-interval:PT1S}")
+    public synchronized void flush() {
+        Map<Long, Pending> drained = new HashMap<>();
+        for (Long enrollmentId : pending.keySet()) {
+            Pending entry = pending.remove(enrollmentId);
+            if (entry != null) {
+                drained.put(enrollmentId, entry);
+            }
+        }
+        if (drained.isEmpty()) {
+            return;
+        }
+        // Aufsteigend sperren wie der PointsService, sonst können sich beide gegenseitig blockieren
+        List<Long> ids = new ArrayList<>(drained.keySet());
+        Collections.sort(ids);
+        for (int i = 0; i < ids.size(); i += CHUNK_SIZE) {
+            List<Long> chunk = ids.subList(i, Math.min(i + CHUNK_SIZE, ids.size()));
+            try {
+                transactionTemplate.executeWithoutResult(status -> write(chunk, drained));
+            } catch (RuntimeException e) {
+                // Nicht geschriebene Stände zurücklegen, der nächste Lauf versucht es erneut
+                for (Long enrollmentId : ids.subList(i, ids.size())) {
+                    pending.merge(enrollmentId, drained.get(enrollmentId), Pending::merge);
+                }
+                log.error("Flushing {} progress updates failed: {}", ids.size() - i, e.getMessage(), e);
+                return;
+            }
+        }
+    }
+
+    private void write(List<Long> ids, Map<Long, Pending> drained) {
+        List<Object[]> progressArgs = new ArrayList<>(ids.size());
+        List<Long> completedIds = new ArrayList<>();
+        for (Long enrollmentId : ids) {
+            Pending entry = drained.get(enrollmentId);
+            progressArgs.add(new Object[]{entry.progress(), enrollmentId});
+            if (entry.progress() >= 100) {
+                completedIds.add(enrollmentId);
+            }
+        }
+        jdbcTemplate.batchUpdate("UPDATE enrollments SET progress = GREATEST(COALESCE(progress, 0), ?), version = version + 1 WHERE id = ?", progressArgs);
+
+        if (!completedIds.isEmpty()) {
+            // Nur bisher offene Enrollments zählen als neue Abschlüsse
+            List<Object> args = new ArrayList<>(completedIds.size() + 1);
+            args.add(Timestamp.valueOf(LocalDateTime.now()));
+            args.addAll(completedIds);
+            int completions = jdbcTemplate.update("UPDATE enrollments SET completed = TRUE, " +
+                    "completed_at = COALESCE(completed_at, ?), version = version + 1 " +
+                    "WHERE (completed IS NULL OR completed = FALSE) AND id IN (" + placeholders(completedIds.size()) + ")",
+                    args.toArray());
+            if (completions > 0) {
+                eventPublisher.publishEvent(StatisticsChangedEvent.of(StatisticsChangedEvent.Metric.COMPLETIONS, completions));
+            }
+        }
+
+        jdbcTemplate.query("SELECT id, course_id, learning_path_id FROM enrollments WHERE id IN (" + placeholders(ids.size()) + ")",
+                (RowCallbackHandler) rs -> {
+                    Pending entry = drained.get(rs.getLong(1));
+                    eventPublisher.publishEvent(new EnrollmentProgressedEvent(rs.getLong(1), rs.getLong(2), rs.getLong(3),
+                            entry.progress(), entry.updates(), entry.lastUpdatedAt()));
+                },
+                ids.toArray());
+    }
+
+    private static String placeholders(int count) {
+        return String.join(", ", Collections.nCopies(count, "?"));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    private record Pending(int progress, int updates, LocalDateTime lastUpdatedAt) {
+
+        Pending merge(Pending other) {
+            LocalDateTime last = lastUpdatedAt.isAfter(other.lastUpdatedAt) ? lastUpdatedAt : other.lastUpdatedAt;
+            return new Pending(Math.max(progress, other.progress), updates + other.updates, last);
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package org.example.backend.service;
+
+import org.example.backend.entity.SeminarFileEntity;
+import org.example.backend.entity.StudentSubmissionEntity;
+import org.example.backend.repository.SeminarFileRepository;
+import org.example.backend.repository.SeminarRepository;
+import org.example.backend.repository.StudentSubmissionRepository;
+import org.example.backend.storage.BlobStorage;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Packt alle Materialien eines Seminars (optional inkl. Abgaben) als ZIP direkt in den Response-Stream.
+ * Es wird nie mehr als ein Kopierpuffer im Speicher gehalten und keine temporäre Datei angelegt.
+ */
+@Service
+public class SeminarExportService {
+
+    // Bereits komprimierte Formate werden unverändert abgelegt (STORED), Deflate würde nur CPU kosten
+    private static final Set<String> PRECOMPRESSED_EXTENSIONS = Set.of(
+            "jpg", "jpeg", "png", "gif", "webp", "avif", "heic",
+            "mp4", "webm", "mov", "mkv", "avi", "m4v", "mp3", "m4a", "aac", "ogg", "opus",
+            "zip", "gz", "tgz", "bz2", "xz", "7z", "rar",
+            "docx", "xlsx", "pptx", "odt", "ods", "odp", "epub", "jar");
+
+    private final SeminarRepository seminarRepository;
+    private final SeminarFileRepository seminarFileRepository;
+    private final StudentSubmissionRepository submissionRepository;
+    private final BlobStorage blobStorage;
+
+    public SeminarExportService(SeminarRepository seminarRepository,
+                                SeminarFileRepository seminarFileRepository,
+                                StudentSubmissionRepository submissionRepository,
+                                BlobStorage blobStorage) {
+        this.seminarRepository = seminarRepository;
+        this.seminarFileRepository = seminarFileRepository;
+        this.submissionRepository = submissionRepository;
+        this.blobStorage = blobStorage;
+    }
+
+    /**
+     * Sammelt die Einträge des Archivs. Läuft noch im Request-Thread, damit ein unbekanntes Seminar
+     * als Fehler gemeldet werden kann, bevor der Stream beginnt.
+     */
+    public List<ExportEntry> collectEntries(Long seminarId, boolean includeSubmissions) {
+        if (!seminarRepository.existsById(seminarId)) {
+            throw new RuntimeException("Seminar not found");
+        }
+
+        List<ExportEntry> entries = new ArrayList<>();
+        Set<String> usedNames = new HashSet<>();
+        for (SeminarFileEntity file : seminarFileRepository.findBySeminarIdOrderByUploadTimeDesc(seminarId)) {
+            entries.add(new ExportEntry(uniqueName("materialien/", file.getOriginalFileName(), usedNames),
+                    file.getFilePath(), file.getFileSize(), file.getCrc32()));
+        }
+        if (includeSubmissions) {
+            for (StudentSubmissionEntity submission : submissionRepository.findBySeminarIdOrderBySubmissionTimeDesc(seminarId)) {
+                if (submission.getSubmissionType() == StudentSubmissionEntity.SubmissionType.LINK) {
+                    continue;
+                }
+                String folder = "abgaben/" + sanitize(submission.getStudentName()) + "/";
+                entries.add(new ExportEntry(uniqueName(folder, submission.getFileName(), usedNames),
+                        submission.getContentUrl(), submission.getFileSize(), null));
+            }
+        }
+        return entries;
+    }
+
+    public void writeArchive(List<ExportEntry> entries, OutputStream target) throws IOException {
+        ZipOutputStream zip = new ZipOutputStream(new BufferedOutputStream(target, 64 * 1024));
+        for (ExportEntry entry : entries) {
+            ZipEntry zipEntry = new ZipEntry(entry.name());
+            if (isPrecompressed(entry.name()) && entry.size() != null) {
+                // STORED verlangt Größe und CRC vor den Daten; fehlt die CRC, wird sie in einem Vorlauf berechnet
+                zipEntry.setMethod(ZipEntry.STORED);
+                zipEntry.setSize(entry.size());
+                zipEntry.setCompressedSize(entry.size());
+                zipEntry.setCrc(entry.crc32() != null ? entry.crc32() : computeCrc(entry.storageKey()));
+            }
+            zip.putNextEntry(zipEntry);
+            try (InputStream in = blobStorage.open(entry.storageKey())) {
+                in.transferTo(zip);
+            }
+            zip.closeEntry();
+        }
+        zip.finish();
+        zip.flush();
+    }
+
+    private long computeCrc(String storageKey) throws IOException {
+        CRC32 crc = new CRC32();
+        try (InputStream in = new CheckedInputStream(blobStorage.open(storageKey), crc)) {
+            in.transferTo(OutputStream.nullOutputStream());
+        }
+        return crc.getValue();
+    }
+
+    private static boolean isPrecompressed(String fileName) {
+        int dot = fileName.lastIndexOf('.');
+        return dot >= 0 && PRECOMPRESSED_EXTENSIONS.contains(fileName.substring(dot + 1).toLowerCase(Locale.ROOT));
+    }
+
+    private static String uniqueName(String folder, String fileName, Set<String> usedNames) {
+        String name = sanitize(fileName);
+        String candidate = folder + name;
+        int dot = name.lastIndexOf('.');
+        String base = dot > 0 ? name.substring(0, dot) : name;
+        String extension = dot > 0 ? name.substring(dot) : "";
+        for (int i = 2; !usedNames.add(candidate); i++) {
+            candidate = folder + base + " (" + i + ")" + extension;
+        }
+        return candidate;
+    }
+
+    // Keine Pfadanteile aus Benutzereingaben ins Archiv übernehmen
+    private static String sanitize(String name) {
+        if (name == null || name.isBlank()) {
+            return "unbenannt";
+        }
+        return name.replaceAll("[\\\\/:*?\"<>|]", "_").replaceAll("^\\.+", "_");
+    }
+
+    public record ExportEntry(String name, String storageKey, Long size, Long crc32) {
+    }
+}
@@ -2,6 +2,7 @@ package org.example.backend.service;
 
 import org.example.backend.entity.SeminarEntity;
 import org.example.backend.repository.SeminarRepository;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -55,9 +56,9 @@ public class SeminarService {
         }
     }
 
-    // Alle Seminare abrufen
-    public List<SeminarEntity> getAllSeminars() {
-        return seminarRepository.findAll();
+    // Seminare seitenweise abrufen (Keyset über die ID)
+    public List<SeminarEntity> getSeminars(Long afterId, Limit limit) {
+        return seminarRepository.findByIdGreaterThanOrderByIdAsc(afterId, limit);
     }
 
     // Kommende Seminare
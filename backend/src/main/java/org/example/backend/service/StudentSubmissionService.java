@@ -4,15 +4,13 @@ import org.example.backend.entity.SeminarEntity;
 import org.example.backend.entity.StudentSubmissionEntity;
 import org.example.backend.repository.SeminarRepository;
 import org.example.backend.repository.StudentSubmissionRepository;
-import org.springframework.beans.factory.annotation.Value;
+import org.example.backend.storage.BlobStorage;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
+import java.io.InputStream;
 import java.util.List;
 import java.util.UUID;
 
@@ -21,14 +19,14 @@ public class StudentSubmissionService {
 
     private final StudentSubmissionRepository submissionRepository;
     private final SeminarRepository seminarRepository;
-
-    @Value("${file.upload.dir:uploads/submissions}")
-    private String uploadDir;
+    private final BlobStorage blobStorage;
 
     public StudentSubmissionService(StudentSubmissionRepository submissionRepository,
-                                    SeminarRepository seminarRepository) {
+                                    SeminarRepository seminarRepository,
+                                    BlobStorage blobStorage) {
         this.submissionRepository = submissionRepository;
         this.seminarRepository = seminarRepository;
+        this.blobStorage = blobStorage;
     }
 
     // Link-Submission (YouTube, GitHub, etc.)
@@ -57,18 +55,13 @@ public class StudentSubmissionService {
         SeminarEntity seminar = seminarRepository.findById(seminarId)
                 .orElseThrow(() -> new RuntimeException("Seminar not found"));
 
-        // Erstelle Upload-Verzeichnis
-        Path uploadPath = Paths.get(uploadDir);
-        if (!Files.exists(uploadPath)) {
-            Files.createDirectories(uploadPath);
-        }
-
         // Speichere Datei
         String originalFileName = file.getOriginalFilename();
         String fileExtension = originalFileName.substring(originalFileName.lastIndexOf("."));
-        String fileName = UUID.randomUUID().toString() + fileExtension;
-        Path filePath = uploadPath.resolve(fileName);
-        Files.copy(file.getInputStream(), filePath);
+        String storageKey = "submissions/" + UUID.randomUUID().toString() + fileExtension;
+        try (InputStream in = file.getInputStream()) {
+            blobStorage.put(storageKey, in, file.getSize(), file.getContentType());
+        }
 
         // Bestimme Submission-Typ
         StudentSubmissionEntity.SubmissionType submissionType = determineSubmissionType(file.getContentType());
@@ -80,7 +73,7 @@ public class StudentSubmissionService {
         submission.setTitle(title);
         submission.setDescription(description);
         submission.setSubmissionType(submissionType);
-        submission.setContentUrl(filePath.toString());
+        submission.setContentUrl(storageKey);
         submission.setFileName(originalFileName);
         submission.setFileSize(file.getSize());
 
@@ -113,10 +106,7 @@ public class StudentSubmissionService {
 
         // Lösche Datei falls vorhanden
         if (submission.getSubmissionType() != StudentSubmissionEntity.SubmissionType.LINK) {
-            Path filePath = Paths.get(submission.getContentUrl());
-            if (Files.exists(filePath)) {
-                Files.delete(filePath);
-            }
+            blobStorage.delete(submission.getContentUrl());
         }
 
         submissionRepository.delete(submission);
@@ -0,0 +1,93 @@
+package org.example.backend.statistics;
+
+import org.example.backend.dto.AdminStatisticsResponse;
+import org.example.backend.event.StatisticsChangedEvent;
+import org.example.backend.repository.CourseRepository;
+import org.example.backend.repository.EnrollmentRepository;
+import org.example.backend.repository.TeacherRepository;
+import org.example.backend.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Zähler für das Admin-Dashboard im Speicher. Sie werden nach jedem Commit über
+ * {@link StatisticsChangedEvent} fortgeschrieben und regelmäßig mit der Datenbank abgeglichen,
+ * damit Abweichungen (Massenlöschungen, Änderungen anderer Instanzen) nicht dauerhaft bestehen bleiben.
+ */
+@Component
+public class PlatformStatistics {
+
+    private static final Logger log = LoggerFactory.getLogger(PlatformStatistics.class);
+
+    private final UserRepository userRepository;
+    private final TeacherRepository teacherRepository;
+    private final CourseRepository courseRepository;
+    private final EnrollmentRepository enrollmentRepository;
+    private final Map<StatisticsChangedEvent.Metric, AtomicLong> counters = new EnumMap<>(StatisticsChangedEvent.Metric.class);
+
+    public PlatformStatistics(UserRepository userRepository,
+                              TeacherRepository teacherRepository,
+                              CourseRepository courseRepository,
+                              EnrollmentRepository enrollmentRepository) {
+        this.userRepository = userRepository;
+        this.teacherRepository = teacherRepository;
+        this.courseRepository = courseRepository;
+        this.enrollmentRepository = enrollmentRepository;
+        for (StatisticsChangedEvent.Metric metric : StatisticsChangedEvent.Metric.values()) {
+            counters.put(metric, new AtomicLong());
+        }
+    }
+
+    /**
+     * Aktueller Stand ohne Datenbankzugriff. Zertifikate entsprechen abgeschlossenen Enrollments.
+     */
+    public AdminStatisticsResponse snapshot() {
+        return new AdminStatisticsResponse(
+                get(StatisticsChangedEvent.Metric.STUDENTS),
+                get(StatisticsChangedEvent.Metric.TEACHERS),
+                get(StatisticsChangedEvent.Metric.ENROLLMENTS),
+                get(StatisticsChangedEvent.Metric.COMPLETIONS),
+                get(StatisticsChangedEvent.Metric.COURSES));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStatisticsChanged(StatisticsChangedEvent event) {
+        if (event.isRecount()) {
+            reconcile();
+        } else {
+            counters.get(event.metric()).addAndGet(event.delta());
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${statistics.reconcile-interval:PT10M}", initialDelayString = "${statistics.reconcile-interval:PT10M}")
+    @Transactional(readOnly = true)
+    public void reconcile() {
+        set(StatisticsChangedEvent.Metric.STUDENTS, userRepository.count());
+        set(StatisticsChangedEvent.Metric.TEACHERS, teacherRepository.count());
+        set(StatisticsChangedEvent.Metric.COURSES, courseRepository.count());
+        set(StatisticsChangedEvent.Metric.ENROLLMENTS, enrollmentRepository.count());
+        set(StatisticsChangedEvent.Metric.COMPLETIONS, enrollmentRepository.countByCompletedTrue());
+    }
+
+    private void set(StatisticsChangedEvent.Metric metric, long actual) {
+        long previous = counters.get(metric).getAndSet(actual);
+        if (previous != actual) {
+            log.debug("Statistics counter {} reconciled from {} to {}", metric, previous, actual);
+        }
+    }
+
+    private long get(StatisticsChangedEvent.Metric metric) {
+        return counters.get(metric).get();
+    }
+}
@@ -0,0 +1,77 @@
+package org.example.backend.statistics;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.example.backend.entity.CourseEntity;
+import org.example.backend.entity.EnrollmentEntity;
+import org.example.backend.entity.TeacherEntity;
+import org.example.backend.entity.UserEntity;
+import org.example.backend.event.StatisticsChangedEvent;
+import org.example.backend.event.StatisticsChangedEvent.Metric;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+/**
+ * JPA-Entity-Listener, der Anlage, Löschung und Abschluss als Zähleränderung veröffentlicht.
+ * Die Zähler selbst werden erst nach dem Commit angepasst (siehe {@link PlatformStatistics}),
+ * ein Rollback verändert die Statistik also nicht.
+ */
+@Component
+public class StatisticsEntityListener {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    public StatisticsEntityListener(ApplicationEventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
+    }
+
+    @PostPersist
+    public void onPersist(Object entity) {
+        publish(metricOf(entity), 1);
+        if (entity instanceof EnrollmentEntity enrollment && Boolean.TRUE.equals(enrollment.getCompleted())) {
+            publish(Metric.COMPLETIONS, 1);
+        }
+    }
+
+    @PostRemove
+    public void onRemove(Object entity) {
+        publish(metricOf(entity), -1);
+        if (entity instanceof EnrollmentEntity enrollment && enrollment.isCompletedInDatabase()) {
+            publish(Metric.COMPLETIONS, -1);
+        }
+    }
+
+    // Läuft vor dem @PostUpdate der Entity, isCompletedInDatabase() liefert also noch den alten Stand
+    @PostUpdate
+    public void onUpdate(Object entity) {
+        if (entity instanceof EnrollmentEntity enrollment) {
+            boolean completed = Boolean.TRUE.equals(enrollment.getCompleted());
+            if (completed != enrollment.isCompletedInDatabase()) {
+                publish(Metric.COMPLETIONS, completed ? 1 : -1);
+            }
+        }
+    }
+
+    private void publish(Metric metric, long delta) {
+        if (metric != null) {
+            eventPublisher.publishEvent(StatisticsChangedEvent.of(metric, delta));
+        }
+    }
+
+    private static Metric metricOf(Object entity) {
+        if (entity instanceof UserEntity) {
+            return Metric.STUDENTS;
+        }
+        if (entity instanceof TeacherEntity) {
+            return Metric.TEACHERS;
+        }
+        if (entity instanceof CourseEntity) {
+            return Metric.COURSES;
+        }
+        if (entity instanceof EnrollmentEntity) {
+            return Metric.ENROLLMENTS;
+        }
+        return null;
+    }
+}
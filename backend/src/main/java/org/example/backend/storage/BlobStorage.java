@@ -0,0 +1,39 @@
+package org.example.backend.storage;
+
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.core.io.Resource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.util.Optional;
+
+/**
+ * Ablage für hochgeladene Dateien (Seminar-Materialien, Bücher, Abgaben).
+ * Dateien werden über einen relativen Schlüssel wie {@code seminars/<uuid>.pdf} adressiert,
+ * der in der jeweiligen Entity gespeichert wird.
+ */
+public interface BlobStorage {
+
+    void put(String key, InputStream content, long contentLength, String contentType) throws IOException;
+
+    /**
+     * Öffnet die Datei zum Lesen.
+     * @throws java.nio.file.NoSuchFileException wenn zum Schlüssel keine Datei existiert
+     */
+    InputStream open(String key) throws IOException;
+
+    boolean exists(String key) throws IOException;
+
+    void delete(String key) throws IOException;
+
+    /**
+     * Liefert eine zeitlich begrenzte URL, über die der Client die Datei direkt beim Storage abholen kann,
+     * ohne dass die Bytes durch die Anwendung laufen. Leer, wenn das Backend das nicht unterstützt.
+     */
+    Optional<URI> presignedDownloadUrl(String key, String downloadFileName, String contentType);
+
+    default Resource load(String key) throws IOException {
+        return new InputStreamResource(open(key));
+    }
+}
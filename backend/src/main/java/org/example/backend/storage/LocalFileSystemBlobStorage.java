@@ -0,0 +1,83 @@
+package org.example.backend.storage;
+
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Optional;
+
+/**
+ * Speichert Dateien im lokalen Dateisystem unterhalb eines Wurzelverzeichnisses.
+ */
+public class LocalFileSystemBlobStorage implements BlobStorage {
+
+    private final Path root;
+
+    public LocalFileSystemBlobStorage(Path root) {
+        this.root = root.toAbsolutePath().normalize();
+        try {
+            Files.createDirectories(this.root);
+        } catch (IOException ex) {
+            throw new RuntimeException("Could not create the storage directory " + this.root, ex);
+        }
+    }
+
+    @Override
+    public void put(String key, InputStream content, long contentLength, String contentType) throws IOException {
+        Path target = resolve(key);
+        Files.createDirectories(target.getParent());
+        Files.copy(content, target, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    @Override
+    public InputStream open(String key) throws IOException {
+        return Files.newInputStream(resolve(key));
+    }
+
+    @Override
+    public Resource load(String key) throws IOException {
+        Path path = resolve(key);
+        if (!Files.isReadable(path)) {
+            throw new NoSuchFileException(key);
+        }
+        return new FileSystemResource(path);
+    }
+
+    @Override
+    public boolean exists(String key) throws IOException {
+        return Files.exists(resolve(key));
+    }
+
+    @Override
+    public void delete(String key) throws IOException {
+        Files.deleteIfExists(resolve(key));
+    }
+
+    @Override
+    public Optional<URI> presignedDownloadUrl(String key, String downloadFileName, String contentType) {
+        return Optional.empty();
+    }
+
+    private Path resolve(String key) throws IOException {
+        Path path = Paths.get(key);
+        // Altbestand: vor der Storage-Abstraktion wurden absolute bzw. arbeitsverzeichnis-relative Pfade gespeichert
+        if (path.isAbsolute()) {
+            return path.normalize();
+        }
+        Path resolved = root.resolve(path).normalize();
+        if (!resolved.startsWith(root)) {
+            throw new IOException("Invalid storage key: " + key);
+        }
+        if (!Files.exists(resolved) && Files.exists(path)) {
+            return path;
+        }
+        return resolved;
+    }
+}
@@ -0,0 +1,225 @@
+package org.example.backend.storage;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.NoSuchFileException;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * Speichert Dateien in einem S3-kompatiblen Object Store (AWS S3, MinIO, Ceph, ...).
+ * Spricht die REST-API direkt über den JDK-HttpClient an und signiert Requests mit AWS Signature V4.
+ */
+public class S3BlobStorage implements BlobStorage {
+
+    private static final String ALGORITHM = "AWS4-HMAC-SHA256";
+    private static final String UNSIGNED_PAYLOAD = "UNSIGNED-PAYLOAD";
+    private static final DateTimeFormatter AMZ_DATE = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss'Z'");
+    private static final DateTimeFormatter DATE_STAMP = DateTimeFormatter.ofPattern("yyyyMMdd");
+
+    private final URI endpoint;
+    private final String bucket;
+    private final String region;
+    private final String accessKey;
+    private final String secretKey;
+    private final boolean pathStyleAccess;
+    private final Duration presignExpiry;
+    private final Clock clock;
+    private final HttpClient httpClient;
+
+    public S3BlobStorage(URI endpoint, String bucket, String region, String accessKey, String secretKey,
+                         boolean pathStyleAccess, Duration presignExpiry, Clock clock) {
+        this.endpoint = endpoint;
+        this.bucket = bucket;
+        this.region = region;
+        this.accessKey = accessKey;
+        this.secretKey = secretKey;
+        this.pathStyleAccess = pathStyleAccess;
+        this.presignExpiry = presignExpiry;
+        this.clock = clock;
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+    }
+
+    @Override
+    public void put(String key, InputStream content, long contentLength, String contentType) throws IOException {
+        HttpRequest.Builder request = signedRequest("PUT", key)
+                .PUT(HttpRequest.BodyPublishers.fromPublisher(
+                        HttpRequest.BodyPublishers.ofInputStream(() -> content), contentLength));
+        if (contentType != null) {
+            request.header("Content-Type", contentType);
+        }
+        HttpResponse<String> response = send(request.build(), HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() / 100 != 2) {
+            throw new IOException("S3 upload of " + key + " failed with status " + response.statusCode() + ": " + response.body());
+        }
+    }
+
+    @Override
+    public InputStream open(String key) throws IOException {
+        HttpResponse<InputStream> response = send(signedRequest("GET", key).GET().build(),
+                HttpResponse.BodyHandlers.ofInputStream());
+        if (response.statusCode() == 404) {
+            response.body().close();
+            throw new NoSuchFileException(key);
+        }
+        if (response.statusCode() / 100 != 2) {
+            response.body().close();
+            throw new IOException("S3 download of " + key + " failed with status " + response.statusCode());
+        }
+        return response.body();
+    }
+
+    @Override
+    public boolean exists(String key) throws IOException {
+        HttpResponse<Void> response = send(
+                signedRequest("HEAD", key).method("HEAD", HttpRequest.BodyPublishers.noBody()).build(),
+                HttpResponse.BodyHandlers.discarding());
+        if (response.statusCode() == 404) {
+            return false;
+        }
+        if (response.statusCode() / 100 != 2) {
+            throw new IOException("S3 lookup of " + key + " failed with status " + response.statusCode());
+        }
+        return true;
+    }
+
+    @Override
+    public void delete(String key) throws IOException {
+        HttpResponse<String> response = send(signedRequest("DELETE", key).DELETE().build(),
+                HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() / 100 != 2 && response.statusCode() != 404) {
+            throw new IOException("S3 deletion of " + key + " failed with status " + response.statusCode() + ": " + response.body());
+        }
+    }
+
+    @Override
+    public Optional<URI> presignedDownloadUrl(String key, String downloadFileName, String contentType) {
+        ZonedDateTime now = ZonedDateTime.now(clock).withZoneSameInstant(ZoneOffset.UTC);
+        String amzDate = AMZ_DATE.format(now);
+        String scope = DATE_STAMP.format(now) + "/" + region + "/s3/aws4_request";
+
+        Map<String, String> query = new TreeMap<>();
+        query.put("X-Amz-Algorithm", ALGORITHM);
+        query.put("X-Amz-Credential", accessKey + "/" + scope);
+        query.put("X-Amz-Date", amzDate);
+        query.put("X-Amz-Expires", String.valueOf(presignExpiry.toSeconds()));
+        query.put("X-Amz-SignedHeaders", "host");
+        if (downloadFileName != null) {
+            query.put("response-content-disposition", "attachment; filename=\"" + downloadFileName + "\"");
+        }
+        if (contentType != null) {
+            query.put("response-content-type", contentType);
+        }
+        String canonicalQuery = query.entrySet().stream()
+                .map(e -> encode(e.getKey()) + "=" + encode(e.getValue()))
+                .collect(Collectors.joining("&"));
+
+        String canonicalRequest = "GET\n" + canonicalPath(key) + "\n" + canonicalQuery + "\n"
+                + "host:" + hostHeader() + "\n\n"
+                + "host\n" + UNSIGNED_PAYLOAD;
+        String signature = sign(amzDate, scope, canonicalRequest, now);
+
+        return Optional.of(URI.create(baseUri() + canonicalPath(key) + "?" + canonicalQuery + "&X-Amz-Signature=" + signature));
+    }
+
+    private HttpRequest.Builder signedRequest(String method, String key) {
+        ZonedDateTime now = ZonedDateTime.now(clock).withZoneSameInstant(ZoneOffset.UTC);
+        String amzDate = AMZ_DATE.format(now);
+        String scope = DATE_STAMP.format(now) + "/" + region + "/s3/aws4_request";
+        String signedHeaders = "host;x-amz-content-sha256;x-amz-date";
+
+        String canonicalRequest = method + "\n" + canonicalPath(key) + "\n\n"
+                + "host:" + hostHeader() + "\n"
+                + "x-amz-content-sha256:" + UNSIGNED_PAYLOAD + "\n"
+                + "x-amz-date:" + amzDate + "\n\n"
+                + signedHeaders + "\n" + UNSIGNED_PAYLOAD;
+        String signature = sign(amzDate, scope, canonicalRequest, now);
+
+        return HttpRequest.newBuilder(URI.create(baseUri() + canonicalPath(key)))
+                .timeout(Duration.ofMinutes(5))
+                .header("x-amz-content-sha256", UNSIGNED_PAYLOAD)
+                .header("x-amz-date", amzDate)
+                .header("Authorization", ALGORITHM + " Credential=" + accessKey + "/" + scope
+                        + ", SignedHeaders=" + signedHeaders + ", Signature=" + signature);
+    }
+
+    private String sign(String amzDate, String scope, String canonicalRequest, ZonedDateTime now) {
+        try {
+            String stringToSign = ALGORITHM + "\n" + amzDate + "\n" + scope + "\n"
+                    + HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256")
+                    .digest(canonicalRequest.getBytes(StandardCharsets.UTF_8)));
+
+            byte[] signingKey = hmac(("AWS4" + secretKey).getBytes(StandardCharsets.UTF_8), DATE_STAMP.format(now));
+            signingKey = hmac(signingKey, region);
+            signingKey = hmac(signingKey, "s3");
+            signingKey = hmac(signingKey, "aws4_request");
+            return HexFormat.of().formatHex(hmac(signingKey, stringToSign));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Could not sign S3 request", e);
+        }
+    }
+
+    private static byte[] hmac(byte[] key, String data) throws GeneralSecurityException {
+        Mac mac = Mac.getInstance("HmacSHA256");
+        mac.init(new SecretKeySpec(key, "HmacSHA256"));
+        return mac.doFinal(data.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private String baseUri() {
+        return endpoint.getScheme() + "://" + hostHeader();
+    }
+
+    private String hostHeader() {
+        String host = pathStyleAccess ? endpoint.getHost() : bucket + "." + endpoint.getHost();
+        int port = endpoint.getPort();
+        boolean defaultPort = port == -1
+                || ("http".equals(endpoint.getScheme()) && port == 80)
+                || ("https".equals(endpoint.getScheme()) && port == 443);
+        return defaultPort ? host : host + ":" + port;
+    }
+
+    private String canonicalPath(String key) {
+        String encodedKey = Arrays.stream(key.split("/", -1))
+                .map(S3BlobStorage::encode)
+                .collect(Collectors.joining("/"));
+        return pathStyleAccess ? "/" + bucket + "/" + encodedKey : "/" + encodedKey;
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8)
+                .replace("+", "%20")
+                .replace("*", "%2A")
+                .replace("%7E", "~");
+    }
+
+    private <T> HttpResponse<T> send(HttpRequest request, HttpResponse.BodyHandler<T> handler) throws IOException {
+        try {
+            return httpClient.send(request, handler);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("S3 request interrupted: " + request.uri());
+        }
+    }
+}
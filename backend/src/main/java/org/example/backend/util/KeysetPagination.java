@@ -0,0 +1,74 @@
+package org.example.backend.util;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Seitenweises Auslesen von Listen per Keyset ("WHERE id > :after ORDER BY id LIMIT n").
+ * Im Gegensatz zu OFFSET bleibt jede Seite gleich schnell und verschiebt sich nicht, wenn neue Zeilen dazukommen.
+ * Der Body bleibt ein JSON-Array, der Cursor für die nächste Seite steht im Header X-Next-Cursor.
+ */
+@Component
+public class KeysetPagination {
+
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    private final int defaultSize;
+    private final int maxSize;
+
+    public KeysetPagination(@Value("${pagination.default-size:100}") int defaultSize,
+                            @Value("${pagination.max-size:500}") int maxSize) {
+        this.defaultSize = defaultSize;
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Lädt eine Seite über die übergebene Abfrage und setzt den Cursor-Header, falls weitere Zeilen folgen.
+     */
+    public <T, R> ResponseEntity<List<R>> page(Long after, Integer limit,
+                                                BiFunction<Long, Limit, List<T>> query,
+                                                Function<T, Long> idOf,
+                                                Function<T, R> mapper) {
+        Slice<T> slice = fetch(after, limit, query, idOf);
+        List<R> body = slice.rows().stream().map(mapper).collect(Collectors.toList());
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (slice.nextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, String.valueOf(slice.nextCursor()));
+        }
+        return response.body(body);
+    }
+
+    /**
+     * Lädt eine Seite und ermittelt den Cursor der nächsten. Die Abfrage bekommt eine Zeile mehr
+     * als angefordert, um ohne zusätzliches COUNT zu erkennen, ob weitere Zeilen folgen.
+     */
+    public <T> Slice<T> fetch(Long after, Integer limit,
+                              BiFunction<Long, Limit, List<T>> query,
+                              Function<T, Long> idOf) {
+        int size = pageSize(limit);
+        List<T> rows = query.apply(after != null ? after : 0L, Limit.of(size + 1));
+        if (rows.size() <= size) {
+            return new Slice<>(rows, null);
+        }
+        List<T> page = rows.subList(0, size);
+        return new Slice<>(page, idOf.apply(page.get(size - 1)));
+    }
+
+    public int pageSize(Integer requested) {
+        if (requested == null || requested < 1) {
+            return defaultSize;
+        }
+        return Math.min(requested, maxSize);
+    }
+
+    public record Slice<T>(List<T> rows, Long nextCursor) {
+    }
+}
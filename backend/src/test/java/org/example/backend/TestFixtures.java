@@ -0,0 +1,90 @@
+package org.example.backend;
+
+import org.example.backend.entity.CourseEntity;
+import org.example.backend.entity.EnrollmentEntity;
+import org.example.backend.entity.LearningPathEntity;
+import org.example.backend.entity.SeminarEntity;
+import org.example.backend.entity.UserEntity;
+import org.example.backend.repository.EnrollmentRepository;
+import org.example.backend.repository.SeminarRepository;
+import org.example.backend.repository.UserRepository;
+import org.example.backend.service.CourseService;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Testdaten für Integrationstests. Alle Testkontexte teilen sich die H2-Datenbank, Namen sind daher zufällig.
+ */
+@Component
+public class TestFixtures {
+
+    private final CourseService courseService;
+    private final UserRepository userRepository;
+    private final EnrollmentRepository enrollmentRepository;
+    private final SeminarRepository seminarRepository;
+
+    public TestFixtures(CourseService courseService,
+                        UserRepository userRepository,
+                        EnrollmentRepository enrollmentRepository,
+                        SeminarRepository seminarRepository) {
+        this.courseService = courseService;
+        this.userRepository = userRepository;
+        this.enrollmentRepository = enrollmentRepository;
+        this.seminarRepository = seminarRepository;
+    }
+
+    public CourseEntity course() {
+        return courseService.createCourse("Kurs-" + UUID.randomUUID(), "Beschreibung");
+    }
+
+    // Lernpfad "Anfänger" mit 100 Punkten
+    public LearningPathEntity path(CourseEntity course) {
+        return path(course, "Anfänger", 100);
+    }
+
+    public LearningPathEntity path(CourseEntity course, String level, int points) {
+        return courseService.createLearningPath(course.getId(), level, points, 12, "Überblick");
+    }
+
+    public UserEntity user() {
+        return userRepository.save(newUser());
+    }
+
+    public List<UserEntity> users(int count) {
+        List<UserEntity> users = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            users.add(newUser());
+        }
+        return userRepository.saveAll(users);
+    }
+
+    public Long enroll(UserEntity user, CourseEntity course, LearningPathEntity path) {
+        return enrollmentRepository.save(new EnrollmentEntity(user, course, path)).getId();
+    }
+
+    // Mit einem neuen User
+    public Long enroll(CourseEntity course, LearningPathEntity path) {
+        return enroll(user(), course, path);
+    }
+
+    public SeminarEntity seminar() {
+        SeminarEntity seminar = new SeminarEntity();
+        seminar.setTitle("Seminar-" + UUID.randomUUID());
+        seminar.setInstructorName("Dozent");
+        seminar.setStartTime(LocalDateTime.now().plusDays(1));
+        seminar.setEndTime(LocalDateTime.now().plusDays(1).plusHours(2));
+        return seminarRepository.save(seminar);
+    }
+
+    private static UserEntity newUser() {
+        UserEntity user = new UserEntity();
+        String name = "u-" + UUID.randomUUID().toString().substring(0, 12);
+        user.setUsername(name);
+        user.setEmail(name + "@example.org");
+        return user;
+    }
+}
@@ -0,0 +1,157 @@
+package org.example.backend.analytics;
+
+import org.example.backend.TestFixtures;
+import org.example.backend.dto.ActivityPoint;
+import org.example.backend.entity.CourseEntity;
+import org.example.backend.entity.EnrollmentActivityRollupEntity.Granularity;
+import org.example.backend.entity.EnrollmentEntity;
+import org.example.backend.entity.LearningPathEntity;
+import org.example.backend.repository.EnrollmentActivityRollupRepository;
+import org.example.backend.repository.EnrollmentRepository;
+import org.example.backend.service.EnrollmentService;
+import org.example.backend.service.ProgressUpdateBuffer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class EnrollmentAnalyticsServiceTest {
+
+    // Montag
+    private static final LocalDateTime WEEK_START = LocalDateTime.of(2024, 3, 4, 0, 0);
+
+    @Autowired
+    private EnrollmentAnalyticsService analyticsService;
+
+    @Autowired
+    private EnrollmentService enrollmentService;
+
+    @Autowired
+    private EnrollmentRepository enrollmentRepository;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Autowired
+    private EnrollmentActivityRollupRepository rollupRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ProgressUpdateBuffer progressUpdateBuffer;
+
+    @Test
+    void rollupAggregatesEnrollmentsCompletionsAndProgressPerBucket() {
+        CourseEntity course = fixtures.course();
+        LearningPathEntity beginner = fixtures.path(course);
+        LearningPathEntity advanced = fixtures.path(course, "Profis", 300);
+
+        enroll(beginner, course, WEEK_START.plusHours(9).plusMinutes(5), WEEK_START.plusDays(2).plusHours(14));
+        enroll(beginner, course, WEEK_START.plusHours(9).plusMinutes(40), null);
+        enroll(advanced, course, WEEK_START.plusDays(1).plusHours(18), null);
+        EnrollmentEntity current = enroll(advanced, course, LocalDateTime.now(), null);
+
+        analyticsService.rebuild();
+        // Andere Testkontexte teilen sich die H2-Datenbank, Lernpfad-IDs können sich daher wiederholen
+        LocalDateTime thisWeek = Granularity.WEEK.truncate(LocalDateTime.now());
+        long progressBefore = analyticsService.getActivity(Granularity.WEEK, thisWeek, thisWeek.plusWeeks(1), null, advanced.getId())
+                .get(0).progressUpdates();
+        enrollmentService.updateProgress(current.getId(), 30);
+        enrollmentService.updateProgress(current.getId(), 60);
+        analyticsService.rollup();
+
+        List<ActivityPoint> days = analyticsService.getActivity(Granularity.DAY,
+                WEEK_START, WEEK_START.plusWeeks(1), course.getId(), null);
+        assertThat(days).containsExactly(
+                new ActivityPoint(WEEK_START, 2L, 0L, 0L),
+                new ActivityPoint(WEEK_START.plusDays(1), 1L, 0L, 0L),
+                new ActivityPoint(WEEK_START.plusDays(2), 0L, 1L, 0L));
+
+        List<ActivityPoint> hours = analyticsService.getActivity(Granularity.HOUR,
+                WEEK_START, WEEK_START.plusDays(1), null, beginner.getId());
+        assertThat(hours).containsExactly(new ActivityPoint(WEEK_START.plusHours(9), 2L, 0L, 0L));
+
+        // Woche mit der aktuellen Einschreibung: zwei Fortschrittsmeldungen aus dem Speicher
+        assertThat(analyticsService.getActivity(Granularity.WEEK, thisWeek, thisWeek.plusWeeks(1), null, advanced.getId()))
+                .containsExactly(new ActivityPoint(thisWeek, 1L, 0L, progressBefore + 2));
+
+        // Gelöschte Enrollments verschwinden beim nächsten Lauf, Fortschrittsmeldungen bleiben erhalten
+        enrollmentService.unenrollUser(current.getId());
+        analyticsService.rollup();
+        assertThat(analyticsService.getActivity(Granularity.WEEK, thisWeek, thisWeek.plusWeeks(1), null, advanced.getId()))
+                .containsExactly(new ActivityPoint(thisWeek, 0L, 0L, progressBefore + 2));
+
+        assertThatThrownBy(() -> analyticsService.getActivity(Granularity.HOUR,
+                WEEK_START, WEEK_START.plusYears(5), null, null))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void rollupAfterRestartContinuesFromLatestHourInsteadOfRebuilding() {
+        CourseEntity course = fixtures.course();
+        LearningPathEntity path = fixtures.path(course);
+        enroll(path, course, LocalDateTime.now(), null);
+        analyticsService.rollup();
+
+        // Nachträglich mit altem Zeitstempel angelegt: liegt vor dem jüngsten Stunden-Rollup
+        LocalDateTime backdated = WEEK_START.minusYears(1).plusHours(10);
+        enroll(path, course, backdated, null);
+
+        // Neue Instanz ohne Stand im Speicher, wie nach einem Neustart
+        EnrollmentAnalyticsService restarted = new EnrollmentAnalyticsService(enrollmentRepository, rollupRepository,
+                jdbcTemplate, transactionTemplate, Duration.ofHours(2), 10_000);
+        restarted.rollupOnStartup();
+        assertThat(restarted.getActivity(Granularity.DAY, backdated, backdated.plusDays(1), course.getId(), null)).isEmpty();
+
+        restarted.rebuild();
+        assertThat(restarted.getActivity(Granularity.DAY, backdated, backdated.plusDays(1), course.getId(), null))
+                .containsExactly(new ActivityPoint(Granularity.DAY.truncate(backdated), 1L, 0L, 0L));
+    }
+
+    @Test
+    void shutdownRollsUpBufferedProgressUpdates() {
+        CourseEntity course = fixtures.course();
+        LearningPathEntity path = fixtures.path(course);
+        EnrollmentEntity enrollment = enroll(path, course, LocalDateTime.now(), null);
+        analyticsService.rollup();
+        LocalDateTime thisWeek = Granularity.WEEK.truncate(LocalDateTime.now());
+        long progressBefore = analyticsService.getActivity(Granularity.WEEK, thisWeek, thisWeek.plusWeeks(1), null, path.getId())
+                .get(0).progressUpdates();
+
+        // Reihenfolge beim Herunterfahren: erst der Puffer, dann der letzte Rollup
+        enrollmentService.recordProgress(enrollment.getId(), 40);
+        enrollmentService.recordProgress(enrollment.getId(), 70);
+        progressUpdateBuffer.shutdown();
+        analyticsService.shutdown();
+
+        assertThat(analyticsService.getActivity(Granularity.WEEK, thisWeek, thisWeek.plusWeeks(1), null, path.getId()))
+                .extracting(ActivityPoint::progressUpdates)
+                .containsExactly(progressBefore + 2);
+    }
+
+    private EnrollmentEntity enroll(LearningPathEntity path, CourseEntity course, LocalDateTime enrolledAt, LocalDateTime completedAt) {
+        EnrollmentEntity enrollment = new EnrollmentEntity(fixtures.user(), course, path);
+        enrollment.setEnrolledAt(enrolledAt);
+        if (completedAt != null) {
+            enrollment.setProgress(100);
+            enrollment.setCompletedAt(completedAt);
+            enrollment.setCompleted(true);
+        }
+        return enrollmentRepository.save(enrollment);
+    }
+}
@@ -0,0 +1,103 @@
+package org.example.backend.benchmark;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import org.example.backend.dto.CatalogMapper;
+import org.example.backend.dto.LearningContentRequest;
+import org.example.backend.dto.LearningContentResponse;
+import org.example.backend.entity.LearningContentEntity;
+import org.example.backend.entity.LearningPathEntity;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Vergleicht das frühere Binden von Inhalts-Requests als Map<String,Object> (samt Casts und Antwort-Map)
+ * mit Record-DTOs und dem CatalogMapper: Deserialisieren, auf die Entity übertragen, Response bauen.
+ * Kein Unit-Test, Start per main() aus der IDE bzw. mit dem Test-Classpath:
+ * java -cp target/test-classes:target/classes:<test-classpath> org.example.backend.benchmark.CatalogRequestBindingBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CatalogRequestBindingBenchmark {
+
+    private static final byte[] BODY = """
+            {"title":"Docker Grundlagen","type":"VIDEO",
+             "description":"Container bauen, starten und mit Volumes und Netzwerken verbinden.",
+             "contentUrl":"https://www.youtube.com/watch?v=abcdefghijk","points":25,"orderIndex":3}
+            """.getBytes(StandardCharsets.UTF_8);
+
+    private ObjectReader mapReader;
+    private ObjectReader recordReader;
+    private LearningPathEntity learningPath;
+
+    @Setup
+    public void setUp() {
+        ObjectMapper objectMapper = new ObjectMapper();
+        mapReader = objectMapper.readerFor(new TypeReference<Map<String, Object>>() {});
+        recordReader = objectMapper.readerFor(LearningContentRequest.class);
+        learningPath = new LearningPathEntity();
+        learningPath.setId(1L);
+    }
+
+    @Benchmark
+    public Map<String, Object> mapBinding() throws Exception {
+        Map<String, Object> request = mapReader.readValue(BODY);
+
+        LearningContentEntity content = new LearningContentEntity();
+        content.setLearningPath(learningPath);
+        content.setTitle((String) request.get("title"));
+        content.setType((String) request.get("type"));
+        content.setDescription((String) request.get("description"));
+        content.setContentUrl((String) request.get("contentUrl"));
+        content.setPoints((Integer) request.get("points"));
+        content.setOrderIndex((Integer) request.get("orderIndex"));
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("id", content.getId());
+        response.put("title", content.getTitle());
+        response.put("type", content.getType());
+        response.put("description", content.getDescription());
+        response.put("contentUrl", content.getContentUrl());
+        response.put("points", content.getPoints());
+        response.put("orderIndex", content.getOrderIndex());
+        return response;
+    }
+
+    @Benchmark
+    public LearningContentResponse recordBinding() throws Exception {
+        LearningContentRequest request = recordReader.readValue(BODY);
+
+        LearningContentEntity content = new LearningContentEntity();
+        content.setLearningPath(learningPath);
+        CatalogMapper.apply(request, content);
+        return CatalogMapper.toResponse(content);
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder()
+                .include(CatalogRequestBindingBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
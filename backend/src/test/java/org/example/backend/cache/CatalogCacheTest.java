@@ -0,0 +1,66 @@
+package org.example.backend.cache;
+
+import org.example.backend.dto.LearningContentResponse;
+import org.example.backend.dto.LearningPathResponse;
+import org.example.backend.event.CatalogChangedEvent;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CatalogCacheTest {
+
+    private final CatalogCache cache = new CatalogCache(100, Duration.ofMinutes(10));
+
+    @Test
+    void contentChangeOnlyEvictsContentsOfThatPath() {
+        AtomicInteger pathLoads = new AtomicInteger();
+        AtomicInteger contentLoads = new AtomicInteger();
+        loadPaths(1L, pathLoads);
+        loadContents(10L, contentLoads);
+        loadContents(11L, contentLoads);
+
+        cache.invalidate(CatalogChangedEvent.content(10L));
+        loadPaths(1L, pathLoads);
+        loadContents(10L, contentLoads);
+        loadContents(11L, contentLoads);
+
+        assertThat(pathLoads).hasValue(1);
+        assertThat(contentLoads).hasValue(3);
+    }
+
+    @Test
+    void learningPathChangeEvictsPathsOfCourseAndItsContents() {
+        AtomicInteger pathLoads = new AtomicInteger();
+        AtomicInteger contentLoads = new AtomicInteger();
+        loadPaths(1L, pathLoads);
+        loadPaths(2L, pathLoads);
+        loadContents(10L, contentLoads);
+
+        cache.invalidate(CatalogChangedEvent.learningPath(1L, 10L));
+        loadPaths(1L, pathLoads);
+        loadPaths(2L, pathLoads);
+        loadContents(10L, contentLoads);
+
+        assertThat(pathLoads).hasValue(3);
+        assertThat(contentLoads).hasValue(2);
+        assertThat(cache.getStatistics().get("learningPaths").get("hits")).isEqualTo(1L);
+    }
+
+    private void loadPaths(Long courseId, AtomicInteger loads) {
+        cache.getLearningPaths(courseId, id -> {
+            loads.incrementAndGet();
+            return List.<LearningPathResponse>of();
+        });
+    }
+
+    private void loadContents(Long learningPathId, AtomicInteger loads) {
+        cache.getContents(learningPathId, id -> {
+            loads.incrementAndGet();
+            return List.<LearningContentResponse>of();
+        });
+    }
+}
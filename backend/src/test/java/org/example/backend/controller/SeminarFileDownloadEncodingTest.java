@@ -0,0 +1,132 @@
+package org.example.backend.controller;
+
+import org.example.backend.TestFixtures;
+import org.example.backend.entity.SeminarEntity;
+import org.example.backend.entity.SeminarFileEntity;
+import org.example.backend.repository.SeminarFileRepository;
+import org.example.backend.storage.BlobStorage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+import java.util.zip.GZIPOutputStream;
+
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Auswahl der vorab komprimierten Variante anhand von Accept-Encoding
+@SpringBootTest(properties = "storage.local.root=target/test-uploads")
+@AutoConfigureMockMvc(addFilters = false)
+@ActiveProfiles("test")
+class SeminarFileDownloadEncodingTest {
+
+    private static final byte[] PLAIN = "Skript ".repeat(200).getBytes(StandardCharsets.UTF_8);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Autowired
+    private SeminarFileRepository seminarFileRepository;
+
+    @Autowired
+    private BlobStorage blobStorage;
+
+    private byte[] gzipped;
+    private SeminarEntity seminar;
+
+    @BeforeEach
+    void createSeminar() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(PLAIN);
+        }
+        gzipped = out.toByteArray();
+
+        seminar = fixtures.seminar();
+    }
+
+    @Test
+    void gzipVariantFollowsAcceptEncodingQualities() throws Exception {
+        SeminarFileEntity file = storeFile(true);
+
+        expectGzip(download(file).header(HttpHeaders.ACCEPT_ENCODING, "gzip"));
+        expectGzip(download(file).header(HttpHeaders.ACCEPT_ENCODING, "deflate, gzip;q=0.5"));
+        expectGzip(download(file).header(HttpHeaders.ACCEPT_ENCODING, "*"));
+
+        expectPlain(download(file));
+        expectPlain(download(file).header(HttpHeaders.ACCEPT_ENCODING, "gzip;q=0"));
+        expectPlain(download(file).header(HttpHeaders.ACCEPT_ENCODING, "gzip;q=0.0, br"));
+        // Eine ausdrückliche Angabe zu gzip geht dem Platzhalter vor
+        expectPlain(download(file).header(HttpHeaders.ACCEPT_ENCODING, "*, gzip;q=0"));
+        expectPlain(download(file).header(HttpHeaders.ACCEPT_ENCODING, "br, *;q=0"));
+        expectPlain(download(file).header(HttpHeaders.ACCEPT_ENCODING, "gzip;q=abc"));
+    }
+
+    @Test
+    void filesWithoutGzipVariantDoNotVaryByEncoding() throws Exception {
+        SeminarFileEntity file = storeFile(false);
+
+        mockMvc.perform(download(file).header(HttpHeaders.ACCEPT_ENCODING, "gzip"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andExpect(header().stringValues(HttpHeaders.VARY, not(hasItem(HttpHeaders.ACCEPT_ENCODING))))
+                .andExpect(content().bytes(PLAIN));
+    }
+
+    private void expectGzip(MockHttpServletRequestBuilder request) throws Exception {
+        mockMvc.perform(request)
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andExpect(header().stringValues(HttpHeaders.VARY, hasItem(HttpHeaders.ACCEPT_ENCODING)))
+                .andExpect(content().bytes(gzipped));
+    }
+
+    private void expectPlain(MockHttpServletRequestBuilder request) throws Exception {
+        mockMvc.perform(request)
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andExpect(header().stringValues(HttpHeaders.VARY, hasItem(HttpHeaders.ACCEPT_ENCODING)))
+                .andExpect(content().bytes(PLAIN));
+    }
+
+    private MockHttpServletRequestBuilder download(SeminarFileEntity file) {
+        return get("/api/seminars/{seminarId}/files/{fileId}/download", seminar.getId(), file.getId());
+    }
+
+    private SeminarFileEntity storeFile(boolean withGzipVariant) throws IOException {
+        String fileName = UUID.randomUUID() + ".txt";
+        SeminarFileEntity file = new SeminarFileEntity();
+        file.setSeminar(seminar);
+        file.setFileName(fileName);
+        file.setOriginalFileName("skript.txt");
+        file.setFilePath("seminars/" + fileName);
+        file.setFileType("DOCUMENT");
+        file.setFileSize((long) PLAIN.length);
+        file.setProcessingStatus(SeminarFileEntity.ProcessingStatus.SKIPPED);
+        blobStorage.put(file.getFilePath(), new ByteArrayInputStream(PLAIN), PLAIN.length, "text/plain");
+        if (withGzipVariant) {
+            file.setGzipPath("seminars/compressed/" + fileName + ".gz");
+            file.setGzipSize((long) gzipped.length);
+            blobStorage.put(file.getGzipPath(), new ByteArrayInputStream(gzipped), gzipped.length, "application/gzip");
+        }
+        return seminarFileRepository.save(file);
+    }
+}
@@ -0,0 +1,70 @@
+package org.example.backend.media;
+
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.junit.jupiter.api.Test;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.zip.CRC32;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MediaPreviewRendererTest {
+
+    private static final int PREVIEW_SIZE = 1280;
+
+    private final MediaPreviewRenderer renderer = new MediaPreviewRenderer("", 100_000_000);
+
+    @Test
+    void largeImageIsSubsampledWhileDecoding() throws IOException {
+        BufferedImage source = renderer.renderSource("IMAGE", png(6000, 4000), PREVIEW_SIZE).orElseThrow();
+
+        // Schrittweite 4: jede vierte Zeile und Spalte
+        assertThat(source.getWidth()).isEqualTo(1500);
+        assertThat(source.getHeight()).isEqualTo(1000);
+    }
+
+    @Test
+    void imageDeclaringTooManyPixelsIsRejectedBeforeDecoding() throws IOException {
+        byte[] bytes = png(1, 1).readAllBytes();
+        // Breite und Höhe im IHDR-Chunk überschreiben, Prüfsumme anpassen
+        ByteBuffer header = ByteBuffer.wrap(bytes);
+        header.putInt(16, 50_000).putInt(20, 50_000);
+        CRC32 crc = new CRC32();
+        crc.update(bytes, 12, 17);
+        header.putInt(29, (int) crc.getValue());
+
+        assertThatThrownBy(() -> renderer.renderSource("IMAGE", new ByteArrayInputStream(bytes), PREVIEW_SIZE))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("50000x50000");
+    }
+
+    @Test
+    void oversizedPdfPageIsRenderedAtPreviewSize() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (PDDocument document = new PDDocument()) {
+            // 200 x 100 Zoll, bei 96 DPI wären das 19.200 x 9.600 Pixel
+            document.addPage(new PDPage(new PDRectangle(14_400, 7_200)));
+            document.save(out);
+        }
+
+        BufferedImage page = renderer.renderSource("PDF", new ByteArrayInputStream(out.toByteArray()), PREVIEW_SIZE)
+                .orElseThrow();
+
+        assertThat(page.getWidth()).isEqualTo(PREVIEW_SIZE);
+        assertThat(page.getHeight()).isEqualTo(PREVIEW_SIZE / 2);
+    }
+
+    private static ByteArrayInputStream png(int width, int height) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB), "png", out);
+        return new ByteArrayInputStream(out.toByteArray());
+    }
+}
@@ -0,0 +1,85 @@
+package org.example.backend.points;
+
+import org.example.backend.TestFixtures;
+import org.example.backend.dto.LeaderboardEntry;
+import org.example.backend.entity.CourseEntity;
+import org.example.backend.entity.EnrollmentEntity;
+import org.example.backend.entity.LearningPathEntity;
+import org.example.backend.entity.PointsLedgerEntity;
+import org.example.backend.entity.PointsLedgerEntity.Reason;
+import org.example.backend.entity.UserEntity;
+import org.example.backend.repository.EnrollmentRepository;
+import org.example.backend.service.EnrollmentService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class PointsServiceTest {
+
+    @Autowired
+    private PointsService pointsService;
+
+    @Autowired
+    private EnrollmentService enrollmentService;
+
+    @Autowired
+    private EnrollmentRepository enrollmentRepository;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Test
+    void progressIsBookedOnceAndRankedPerCourse() {
+        // Andere Testkontexte teilen sich die H2-Datenbank, Kurs-IDs können sich daher wiederholen
+        pointsService.reconcile();
+        CourseEntity course = fixtures.course();
+        LearningPathEntity beginner = fixtures.path(course);
+        LearningPathEntity advanced = fixtures.path(course, "Profis", 300);
+        UserEntity first = fixtures.user();
+        UserEntity second = fixtures.user();
+        UserEntity third = fixtures.user();
+        Long firstEnrollment = fixtures.enroll(first, course, beginner);
+        Long secondEnrollment = fixtures.enroll(second, course, advanced);
+        Long thirdEnrollment = fixtures.enroll(third, course, beginner);
+
+        enrollmentService.updateProgress(firstEnrollment, 50);
+        enrollmentService.updateProgress(secondEnrollment, 100);
+        enrollmentService.updateProgress(thirdEnrollment, 50);
+        // Gleicher Stand erneut gemeldet: keine weitere Buchung
+        long version = enrollmentService.updateProgress(secondEnrollment, 100).getVersion();
+        pointsService.awardPending();
+
+        assertThat(pointsService.getLeaderboard(course.getId(), 0, 10)).containsExactly(
+                new LeaderboardEntry(1, second.getId(), second.getUsername(), 300),
+                new LeaderboardEntry(2, first.getId(), first.getUsername(), 50),
+                new LeaderboardEntry(3, third.getId(), third.getUsername(), 50));
+        assertThat(pointsService.getStanding(third.getId(), course.getId()).rank()).isEqualTo(3);
+        assertThat(pointsService.getStanding(third.getId(), null).points()).isEqualTo(50);
+
+        // Korrektur nach unten wird als Gegenbuchung verbucht
+        enrollmentService.overrideProgress(secondEnrollment, 10, version);
+        pointsService.awardPending();
+        List<PointsLedgerEntity> ledger = pointsService.getLedger(second.getId(), 10);
+        assertThat(ledger).extracting(PointsLedgerEntity::getReason).containsExactly(Reason.CORRECTION, Reason.COMPLETION);
+        assertThat(ledger).extracting(PointsLedgerEntity::getPoints).containsExactly(-270, 300);
+        assertThat(pointsService.getLeaderboard(course.getId(), 0, 2)).extracting(LeaderboardEntry::userId)
+                .containsExactly(first.getId(), third.getId());
+
+        // Am Event vorbei geänderter Fortschritt wird beim Abgleich nachgebucht
+        EnrollmentEntity enrollment = enrollmentRepository.findById(thirdEnrollment).orElseThrow();
+        enrollment.setProgress(80);
+        enrollmentRepository.save(enrollment);
+        pointsService.reconcile();
+        assertThat(pointsService.getLeaderboard(course.getId(), 0, 10)).containsExactly(
+                new LeaderboardEntry(1, third.getId(), third.getUsername(), 80),
+                new LeaderboardEntry(2, first.getId(), first.getUsername(), 50),
+                new LeaderboardEntry(3, second.getId(), second.getUsername(), 30));
+    }
+}
@@ -0,0 +1,73 @@
+package org.example.backend.points;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RankedScoresTest {
+
+    @Test
+    void ranksAndPagesMatchAFullySortedList() {
+        RankedScores scores = new RankedScores();
+        Map<Long, Long> expected = new HashMap<>();
+        Random random = new Random(42);
+
+        for (int step = 0; step < 5000; step++) {
+            long userId = random.nextInt(400);
+            // Überwiegend Gewinne, gelegentlich Korrekturen bis auf 0
+            long current = expected.getOrDefault(userId, 0L);
+            long delta = random.nextInt(10) == 0 ? -current : random.nextInt(50);
+            assertThat(scores.add(userId, delta)).isEqualTo(current + delta);
+            if (current + delta > 0) {
+                expected.put(userId, current + delta);
+            } else {
+                expected.remove(userId);
+            }
+
+            if (step % 500 == 0) {
+                assertMatches(scores, expected);
+            }
+        }
+        assertMatches(scores, expected);
+    }
+
+    @Test
+    void tiesAreOrderedByUserId() {
+        RankedScores scores = new RankedScores();
+        scores.set(7, 100);
+        scores.set(3, 100);
+        scores.set(5, 200);
+
+        assertThat(scores.range(0, 10)).containsExactly(
+                new RankedScores.Entry(1, 5, 200),
+                new RankedScores.Entry(2, 3, 100),
+                new RankedScores.Entry(3, 7, 100));
+        assertThat(scores.rank(42)).isZero();
+        assertThat(scores.range(3, 10)).isEmpty();
+    }
+
+    private static void assertMatches(RankedScores scores, Map<Long, Long> expected) {
+        List<Map.Entry<Long, Long>> sorted = new ArrayList<>(expected.entrySet());
+        sorted.sort(Comparator.comparing((Map.Entry<Long, Long> e) -> -e.getValue()).thenComparing(Map.Entry::getKey));
+
+        assertThat(scores.size()).isEqualTo(sorted.size());
+        for (int i = 0; i < sorted.size(); i++) {
+            assertThat(scores.rank(sorted.get(i).getKey())).isEqualTo(i + 1);
+        }
+        for (int offset = 0; offset < sorted.size(); offset += 37) {
+            List<RankedScores.Entry> page = scores.range(offset, 37);
+            for (int i = 0; i < page.size(); i++) {
+                Map.Entry<Long, Long> entry = sorted.get(offset + i);
+                assertThat(page.get(i)).isEqualTo(new RankedScores.Entry(offset + i + 1, entry.getKey(), entry.getValue()));
+            }
+            assertThat(page).hasSize(Math.min(37, sorted.size() - offset));
+        }
+    }
+}
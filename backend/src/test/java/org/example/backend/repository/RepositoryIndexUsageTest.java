@@ -0,0 +1,182 @@
+package org.example.backend.repository;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Ruft jede in den Repositories deklarierte Abfrage-Methode auf, zeichnet das erzeugte SQL auf und prüft per
+ * H2-EXPLAIN, dass keine Tabelle vollständig gelesen wird. Neue Finder ohne passenden Index lassen den Build scheitern.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "org.example.backend.repository.RepositoryIndexUsageTest$SqlRecorder")
+@ActiveProfiles("test")
+class RepositoryIndexUsageTest {
+
+    private static final int SEED_ROWS = 200;
+
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void noRepositoryFinderScansAWholeTable() {
+        seed();
+        Map<String, String> violations = new LinkedHashMap<>();
+        int checked = 0;
+
+        for (Object repository : applicationContext.getBeansOfType(JpaRepository.class).values()) {
+            for (Class<?> repositoryInterface : AopProxyUtils.proxiedUserInterfaces(repository)) {
+                if (!repositoryInterface.getPackageName().equals(RepositoryIndexUsageTest.class.getPackageName())) {
+                    continue;
+                }
+                for (Method method : repositoryInterface.getDeclaredMethods()) {
+                    if (!isFinder(method)) {
+                        continue;
+                    }
+                    String name = repositoryInterface.getSimpleName() + "." + method.getName();
+                    for (String sql : recordSql(repository, method)) {
+                        String plan = explain(sql);
+                        checked++;
+                        if (plan.contains(".tableScan")) {
+                            violations.put(name, plan);
+                        }
+                    }
+                }
+            }
+        }
+
+        assertThat(checked).isGreaterThan(40);
+        assertThat(violations).as("Finder ohne passenden Index").isEmpty();
+    }
+
+    // Default-Methoden delegieren nur an deklarierte Abfragen, die ohnehin geprüft werden
+    private static boolean isFinder(Method method) {
+        return !method.isSynthetic()
+                && !method.isDefault()
+                && !Modifier.isStatic(method.getModifiers())
+                && !method.isAnnotationPresent(Modifying.class)
+                && !method.getName().startsWith("delete");
+    }
+
+    private List<String> recordSql(Object repository, Method method) {
+        SqlRecorder.RECORDED.clear();
+        Object[] args = new Object[method.getParameterCount()];
+        Class<?>[] types = method.getParameterTypes();
+        for (int i = 0; i < types.length; i++) {
+            args[i] = sampleValue(types[i]);
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            try {
+                method.invoke(repository, args);
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException("Calling " + method + " failed", e);
+            }
+            status.setRollbackOnly();
+        });
+        return List.copyOf(SqlRecorder.RECORDED);
+    }
+
+    // Die Parameter bleiben beim EXPLAIN ungebunden, H2 plant vor dem Binden
+    private String explain(String sql) {
+        int parameters = (int) sql.chars().filter(c -> c == '?').count();
+        return jdbcTemplate.execute((java.sql.Connection connection) -> {
+            try (var statement = connection.prepareStatement("EXPLAIN " + sql)) {
+                for (int i = 1; i <= parameters; i++) {
+                    statement.setObject(i, null);
+                }
+                try (var resultSet = statement.executeQuery()) {
+                    resultSet.next();
+                    return resultSet.getString(1);
+                }
+            }
+        });
+    }
+
+    private static Object sampleValue(Class<?> type) {
+        if (type == Long.class || type == long.class) {
+            return 1L;
+        }
+        if (type == Integer.class || type == int.class) {
+            return 1;
+        }
+        if (type == String.class) {
+            return "x";
+        }
+        if (type == LocalDateTime.class) {
+            return LocalDateTime.now();
+        }
+        if (type == Instant.class) {
+            return Instant.now();
+        }
+        if (type == Limit.class) {
+            return Limit.of(10);
+        }
+        if (Collection.class.isAssignableFrom(type)) {
+            return List.of(1L, 2L);
+        }
+        if (type.isEnum()) {
+            return type.getEnumConstants()[0];
+        }
+        throw new IllegalArgumentException("No sample value for parameter type " + type);
+    }
+
+    // Genug Zeilen, damit H2 Indexzugriffe nicht wegen leerer Tabellen verwirft
+    private void seed() {
+        jdbcTemplate.update("INSERT INTO users (username, email, provider, provider_id, created_at) " +
+                "SELECT 'seed-' || X || '-' || RAND(), 'seed-' || X || '-' || RAND() || '@example.org', 'github', X, CURRENT_TIMESTAMP " +
+                "FROM SYSTEM_RANGE(1, " + SEED_ROWS + ")");
+        jdbcTemplate.update("INSERT INTO seminars (title, instructor_name, start_time, end_time, status) " +
+                "SELECT 'Seminar ' || X, 'Dozent', DATEADD('HOUR', X, CURRENT_TIMESTAMP), DATEADD('HOUR', X + 1, CURRENT_TIMESTAMP), " +
+                "'SCHEDULED' FROM SYSTEM_RANGE(1, " + SEED_ROWS + ")");
+        Long seminarId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM seminars", Long.class);
+        jdbcTemplate.update("INSERT INTO seminar_files (seminar_id, file_name, original_file_name, file_path, file_type, file_size, upload_time) " +
+                "SELECT ?, 'f' || X, 'f' || X, 'p' || X, 'PDF', X, CURRENT_TIMESTAMP FROM SYSTEM_RANGE(1, " + SEED_ROWS + ")", seminarId);
+        jdbcTemplate.update("INSERT INTO whiteboard_drawings (seminar_id, drawing_data, draw_time, action_type) " +
+                "SELECT ?, '{}', CURRENT_TIMESTAMP, 'DRAW' FROM SYSTEM_RANGE(1, " + SEED_ROWS + ")", seminarId);
+        jdbcTemplate.update("INSERT INTO student_submissions (seminar_id, student_id, student_name, title, submission_type, submission_time) " +
+                "SELECT ?, X, 'Student', 'Abgabe', 'LINK', CURRENT_TIMESTAMP FROM SYSTEM_RANGE(1, " + SEED_ROWS + ")", seminarId);
+    }
+
+    /**
+     * Von Hibernate instanziiert (siehe Property oben), sammelt das SQL des aktuell geprüften Finders.
+     */
+    public static class SqlRecorder implements StatementInspector {
+
+        static final List<String> RECORDED = new ArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            synchronized (RECORDED) {
+                RECORDED.add(sql);
+            }
+            return sql;
+        }
+    }
+}
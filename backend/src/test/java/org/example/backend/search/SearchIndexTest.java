@@ -0,0 +1,59 @@
+package org.example.backend.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SearchIndexTest {
+
+    private final SearchIndex index = new SearchIndex();
+
+    @Test
+    void ranksTitleMatchesAboveBodyMatches() {
+        index.upsert(course(1L, "Kubernetes Grundlagen", "Container orchestrieren"));
+        index.upsert(course(2L, "DevOps", "Pipelines mit Jenkins und Kubernetes"));
+        index.upsert(course(3L, "Java", "Streams und Records"));
+
+        List<SearchHit> hits = index.search("kubernetes", null, 10);
+
+        assertThat(hits).extracting(SearchHit::id).containsExactly(1L, 2L);
+    }
+
+    @Test
+    void matchesPrefixesAccentsAndTypos() {
+        index.upsert(course(1L, "Einführung in Kubernetes", null));
+        index.upsert(new SearchDocument(SearchDocument.Type.BOOK, 7L, null, null, "Clean Code", "Robert Martin"));
+
+        assertThat(index.search("kube", null, 10)).extracting(SearchHit::id).containsExactly(1L);
+        assertThat(index.search("einfuhrung", null, 10)).extracting(SearchHit::id).containsExactly(1L);
+        assertThat(index.search("kubernets", null, 10)).extracting(SearchHit::id).containsExactly(1L);
+        assertThat(index.search("martn", SearchDocument.Type.BOOK, 10)).extracting(SearchHit::id).containsExactly(7L);
+        assertThat(index.search("martin", SearchDocument.Type.COURSE, 10)).isEmpty();
+    }
+
+    @Test
+    void updatesAndRemovalsAreVisibleImmediately() {
+        index.upsert(course(1L, "Docker", null));
+        index.upsert(new SearchDocument(SearchDocument.Type.CONTENT, 5L, 1L, 9L, "Docker Compose", null));
+
+        index.upsert(course(1L, "Podman", null));
+        assertThat(index.search("docker", SearchDocument.Type.COURSE, 10)).isEmpty();
+        assertThat(index.search("podman", null, 10)).extracting(SearchHit::id).containsExactly(1L);
+
+        index.removeIf(document -> document.courseId() != null && document.courseId() == 1L);
+        assertThat(index.size()).isZero();
+        assertThat(index.search("compose", null, 10)).isEmpty();
+    }
+
+    @Test
+    void boundedLevenshteinStopsEarly() {
+        assertThat(SearchIndex.boundedLevenshtein("kitten", "sitting", 3)).isEqualTo(3);
+        assertThat(SearchIndex.boundedLevenshtein("kitten", "sitting", 1)).isEqualTo(2);
+    }
+
+    private static SearchDocument course(Long id, String title, String body) {
+        return new SearchDocument(SearchDocument.Type.COURSE, id, id, null, title, body);
+    }
+}
@@ -0,0 +1,124 @@
+package org.example.backend.service;
+
+import org.example.backend.TestFixtures;
+import org.example.backend.dto.BulkEnrollmentRequest;
+import org.example.backend.dto.BulkEnrollmentResponse;
+import org.example.backend.dto.BulkEnrollmentResponse.Status;
+import org.example.backend.dto.BulkEnrollmentResponse.UserOutcome;
+import org.example.backend.entity.CourseEntity;
+import org.example.backend.entity.LearningPathEntity;
+import org.example.backend.entity.UserEntity;
+import org.example.backend.repository.EnrollmentRepository;
+import org.example.backend.statistics.PlatformStatistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class BulkEnrollmentTest {
+
+    @Autowired
+    private EnrollmentService enrollmentService;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Autowired
+    private EnrollmentRepository enrollmentRepository;
+
+    @Autowired
+    private PlatformStatistics platformStatistics;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void cohortIsEnrolledWithPerUserOutcomes() {
+        CourseEntity course = fixtures.course();
+        LearningPathEntity path = fixtures.path(course);
+        List<UserEntity> users = fixtures.users(1200);
+        Long preEnrolledId = fixtures.enroll(users.get(5), course, path);
+
+        List<Long> userIds = new ArrayList<>(users.stream().map(UserEntity::getId).toList());
+        userIds.add(users.get(0).getId()); // doppelt
+        userIds.add(-1L);                  // unbekannt
+
+        BulkEnrollmentResponse response = enrollmentService.enrollCohort(
+                new BulkEnrollmentRequest(course.getId(), path.getId(), userIds));
+
+        assertThat(response.enrolled()).isEqualTo(1199);
+        assertThat(response.alreadyEnrolled()).isEqualTo(1);
+        assertThat(response.usersNotFound()).isEqualTo(1);
+        assertThat(response.results()).hasSize(1201);
+        assertThat(response.results().get(5)).isEqualTo(new UserOutcome(users.get(5).getId(), Status.ALREADY_ENROLLED, preEnrolledId));
+        assertThat(response.results().get(1200)).isEqualTo(new UserOutcome(-1L, Status.USER_NOT_FOUND, null));
+        assertThat(enrollmentRepository.countByCourseId(course.getId())).isEqualTo(1200);
+        assertThat(enrollmentService.getUserEnrollments(users.get(0).getId()))
+                .singleElement()
+                .satisfies(enrollment -> assertThat(enrollment.getId()).isEqualTo(response.results().get(0).enrollmentId()));
+
+        // Wiederholung ist unschädlich
+        BulkEnrollmentResponse again = enrollmentService.enrollCohort(
+                new BulkEnrollmentRequest(course.getId(), path.getId(), userIds));
+        assertThat(again.enrolled()).isZero();
+        assertThat(again.alreadyEnrolled()).isEqualTo(1200);
+
+        CourseEntity otherCourse = fixtures.course();
+        assertThatThrownBy(() -> enrollmentService.enrollCohort(
+                new BulkEnrollmentRequest(otherCourse.getId(), path.getId(), userIds)))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessageContaining("Lernpfad");
+    }
+
+    @Test
+    void enrollmentCreatedConcurrentlyIsReportedAsAlreadyEnrolledAndCountedOnce() throws Exception {
+        CourseEntity course = fixtures.course();
+        LearningPathEntity path = fixtures.path(course);
+        List<UserEntity> users = fixtures.users(3);
+        UserEntity contested = users.get(1);
+        platformStatistics.reconcile();
+        long enrollmentsBefore = platformStatistics.snapshot().getTotalEnrollments();
+
+        // Einzelne Einschreibung, noch nicht committet: die Vorabprüfung der Kohorte sieht sie nicht
+        CountDownLatch inserted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Long> single = CompletableFuture.supplyAsync(() -> transactionTemplate.execute(status -> {
+            Long id = fixtures.enroll(contested, course, path);
+            inserted.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return id;
+        }));
+        assertThat(inserted.await(5, TimeUnit.SECONDS)).isTrue();
+
+        List<Long> userIds = users.stream().map(UserEntity::getId).toList();
+        CompletableFuture<BulkEnrollmentResponse> cohort = CompletableFuture.supplyAsync(() ->
+                enrollmentService.enrollCohort(new BulkEnrollmentRequest(course.getId(), path.getId(), userIds)));
+        // INSERT IGNORE wartet auf die Sperre der fremden Zeile und überspringt sie nach deren Commit
+        Thread.sleep(200);
+        release.countDown();
+        Long singleId = single.get(5, TimeUnit.SECONDS);
+        BulkEnrollmentResponse response = cohort.get(5, TimeUnit.SECONDS);
+
+        assertThat(response.enrolled()).isEqualTo(2);
+        assertThat(response.alreadyEnrolled()).isEqualTo(1);
+        assertThat(response.results().get(1)).isEqualTo(new UserOutcome(contested.getId(), Status.ALREADY_ENROLLED, singleId));
+        assertThat(enrollmentRepository.countByCourseId(course.getId())).isEqualTo(3);
+        assertThat(platformStatistics.snapshot().getTotalEnrollments()).isEqualTo(enrollmentsBefore + 3);
+    }
+}
@@ -0,0 +1,106 @@
+package org.example.backend.service;
+
+import org.example.backend.TestFixtures;
+import org.example.backend.dto.ContentProgressResponse;
+import org.example.backend.dto.LearningContentRequest;
+import org.example.backend.entity.CourseEntity;
+import org.example.backend.entity.LearningPathEntity;
+import org.example.backend.repository.EnrollmentRepository;
+import org.example.backend.statistics.PlatformStatistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class ContentProgressServiceTest {
+
+    @Autowired
+    private ContentProgressService contentProgressService;
+
+    @Autowired
+    private CourseService courseService;
+
+    @Autowired
+    private EnrollmentRepository enrollmentRepository;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Autowired
+    private PlatformStatistics platformStatistics;
+
+    @Test
+    void completedContentsDrivePointsWeightedProgress() {
+        CourseEntity course = fixtures.course();
+        LearningPathEntity path = fixtures.path(course);
+        Long video = content(path, "Video", 10, 1);
+        Long text = content(path, "Text", 30, 2);
+        Long quiz = content(path, "Quiz", 60, 3);
+        Long enrollmentId = fixtures.enroll(course, path);
+
+        ContentProgressResponse response = contentProgressService.completeContent(enrollmentId, text);
+        assertThat(response.progress()).isEqualTo(30);
+        assertThat(response.completedContentIds()).containsExactly(text);
+        long version = enrollmentRepository.findById(enrollmentId).orElseThrow().getVersion();
+
+        // Erneutes Markieren schreibt nichts
+        contentProgressService.completeContent(enrollmentId, text);
+        assertThat(enrollmentRepository.findById(enrollmentId).orElseThrow().getVersion()).isEqualTo(version);
+
+        // Umsortieren verschiebt keine Bits
+        courseService.reorderContents(course.getId(), path.getId(), List.of(quiz, text, video));
+        assertThat(contentProgressService.completeContent(enrollmentId, quiz).progress()).isEqualTo(90);
+
+        platformStatistics.reconcile();
+        long completionsBefore = platformStatistics.snapshot().getTotalCertificates();
+        response = contentProgressService.completeContent(enrollmentId, video);
+        assertThat(response.progress()).isEqualTo(100);
+        assertThat(response.completed()).isTrue();
+        assertThat(response.earnedPoints()).isEqualTo(100);
+        assertThat(response.completedContentIds()).containsExactly(quiz, text, video);
+        assertThat(platformStatistics.snapshot().getTotalCertificates()).isEqualTo(completionsBefore + 1);
+
+        // Neue Inhalte senken den gespeicherten Fortschritt nicht
+        content(path, "Projekt", 100, 4);
+        assertThat(contentProgressService.getContentProgress(enrollmentId).progress()).isEqualTo(100);
+
+        LearningPathEntity otherPath = fixtures.path(course, "Profis", 300);
+        Long foreign = content(otherPath, "Fremd", 10, 1);
+        assertThatThrownBy(() -> contentProgressService.completeContent(enrollmentId, foreign))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void concurrentCompletionsKeepEveryBit() {
+        CourseEntity course = fixtures.course();
+        LearningPathEntity path = fixtures.path(course);
+        List<Long> contents = new ArrayList<>();
+        for (int i = 1; i <= 8; i++) {
+            contents.add(content(path, "Inhalt " + i, 0, i));
+        }
+        Long enrollmentId = fixtures.enroll(course, path);
+
+        CompletableFuture.allOf(contents.stream()
+                .map(contentId -> CompletableFuture.runAsync(() -> contentProgressService.completeContent(enrollmentId, contentId)))
+                .toArray(CompletableFuture[]::new)).join();
+
+        // Inhalte ohne Punkte zählen gleich viel
+        ContentProgressResponse response = contentProgressService.getContentProgress(enrollmentId);
+        assertThat(response.completedContentIds()).containsExactlyElementsOf(contents);
+        assertThat(response.progress()).isEqualTo(100);
+    }
+
+    private Long content(LearningPathEntity path, String title, int points, int orderIndex) {
+        return courseService.createContent(path.getId(),
+                new LearningContentRequest(title, "TEXT", null, null, points, orderIndex)).getId();
+    }
+}
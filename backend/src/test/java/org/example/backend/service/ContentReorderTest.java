@@ -0,0 +1,49 @@
+package org.example.backend.service;
+
+import org.example.backend.TestFixtures;
+import org.example.backend.dto.LearningContentRequest;
+import org.example.backend.dto.LearningContentResponse;
+import org.example.backend.entity.CourseEntity;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class ContentReorderTest {
+
+    @Autowired
+    private CourseService courseService;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Test
+    void reorderAppliesNewPositionsAndRejectsIncompleteOrder() {
+        CourseEntity course = fixtures.course();
+        Long courseId = course.getId();
+        Long pathId = fixtures.path(course).getId();
+        List<Long> ids = new ArrayList<>();
+        for (int i = 1; i <= 4; i++) {
+            ids.add(courseService.createContent(pathId,
+                    new LearningContentRequest("Inhalt " + i, "TEXT", null, null, 10, i)).getId());
+        }
+
+        List<Long> newOrder = List.of(ids.get(3), ids.get(0), ids.get(1), ids.get(2));
+        courseService.reorderContents(courseId, pathId, newOrder);
+
+        List<LearningContentResponse> contents = courseService.getContentsByLearningPathId(pathId);
+        assertThat(contents).extracting(LearningContentResponse::id).containsExactlyElementsOf(newOrder);
+        assertThat(contents).extracting(LearningContentResponse::orderIndex).containsExactly(1, 2, 3, 4);
+
+        assertThatThrownBy(() -> courseService.reorderContents(courseId, pathId, List.of(ids.get(0), ids.get(1))))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
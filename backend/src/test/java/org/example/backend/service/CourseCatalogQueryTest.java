@@ -0,0 +1,122 @@
+package org.example.backend.service;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.example.backend.TestFixtures;
+import org.example.backend.dto.CourseOverviewResponse;
+import org.example.backend.dto.CourseResponse;
+import org.example.backend.dto.LearningContentRequest;
+import org.example.backend.entity.CourseEntity;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class CourseCatalogQueryTest {
+
+    @Autowired
+    private CourseService courseService;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void enableStatistics() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+    }
+
+    @Test
+    void catalogQueryCountDoesNotGrowWithCourseCount() {
+        createCourses(3);
+        long statementsForFewCourses = countStatements(() -> courseService.getCourseCatalog(0L, Limit.of(500)));
+
+        createCourses(30);
+        statistics.clear();
+        List<CourseResponse> catalog = courseService.getCourseCatalog(0L, Limit.of(500));
+        long statementsForManyCourses = statistics.getPrepareStatementCount();
+
+        assertThat(catalog).hasSizeGreaterThanOrEqualTo(33);
+        assertThat(catalog).allSatisfy(course -> assertThat(course.learningPaths()).isNotNull());
+        assertThat(statementsForManyCourses).isEqualTo(statementsForFewCourses).isLessThanOrEqualTo(2);
+    }
+
+    @Test
+    void singleCourseIsLoadedWithTwoStatements() {
+        String name = "Kurs-" + UUID.randomUUID();
+        CourseEntity created = courseService.createCourse(name, "Beschreibung");
+        fixtures.path(created);
+        fixtures.path(created, "Profis", 300);
+        Long courseId = created.getId();
+
+        statistics.clear();
+        CourseResponse course = courseService.getCourseResponseByName(name).orElseThrow();
+
+        assertThat(course.id()).isEqualTo(courseId);
+        assertThat(course.learningPaths()).extracting("level").containsExactly("Anfänger", "Profis");
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    void catalogPagesSeekPastTheCursor() {
+        List<Long> created = createCourses(3);
+
+        List<CourseResponse> firstPage = courseService.getCourseCatalog(created.get(0) - 1, Limit.of(2));
+        List<CourseResponse> secondPage = courseService.getCourseCatalog(firstPage.get(1).id(), Limit.of(2));
+
+        assertThat(firstPage).extracting(CourseResponse::id).containsExactly(created.get(0), created.get(1));
+        assertThat(secondPage).extracting(CourseResponse::id).containsExactly(created.get(2));
+        assertThat(secondPage.get(0).learningPaths()).hasSize(2);
+    }
+
+    @Test
+    void overviewAggregatesContentsWithFourStatements() {
+        List<Long> created = createCourses(5);
+        Long pathId = courseService.getLearningPathsByCourseId(created.get(0)).get(0).id();
+        courseService.createContent(pathId, new LearningContentRequest("Video", "VIDEO", null, null, 10, 1));
+        courseService.createContent(pathId, new LearningContentRequest("Quiz", "QUIZ", null, null, 15, 2));
+
+        statistics.clear();
+        List<CourseOverviewResponse> overview = courseService.getCourseOverview(created.get(0) - 1, Limit.of(5));
+
+        assertThat(overview).extracting(CourseOverviewResponse::id).containsExactlyElementsOf(created);
+        CourseOverviewResponse.LearningPathOverview path = overview.get(0).learningPaths().get(0);
+        assertThat(path.contentCount()).isEqualTo(2);
+        assertThat(path.contentPoints()).isEqualTo(25);
+        assertThat(overview.get(1).learningPaths()).allSatisfy(other -> assertThat(other.contentCount()).isZero());
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(4);
+    }
+
+    private List<Long> createCourses(int count) {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            CourseEntity course = fixtures.course();
+            fixtures.path(course);
+            fixtures.path(course, "Fortgeschrittene", 200);
+            ids.add(course.getId());
+        }
+        return ids;
+    }
+
+    private long countStatements(Runnable action) {
+        statistics.clear();
+        action.run();
+        return statistics.getPrepareStatementCount();
+    }
+}
@@ -0,0 +1,118 @@
+package org.example.backend.service;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.example.backend.TestFixtures;
+import org.example.backend.dto.LearningContentRequest;
+import org.example.backend.entity.CourseEntity;
+import org.example.backend.entity.LearningPathEntity;
+import org.example.backend.entity.UserEntity;
+import org.example.backend.repository.CourseRepository;
+import org.example.backend.repository.EnrollmentRepository;
+import org.example.backend.repository.LearningContentRepository;
+import org.example.backend.repository.LearningPathRepository;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "course.purge.chunk-size=7")
+@ActiveProfiles("test")
+class CourseDeletionTest {
+
+    @Autowired
+    private CourseService courseService;
+
+    @Autowired
+    private CoursePurgeService coursePurgeService;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private LearningPathRepository learningPathRepository;
+
+    @Autowired
+    private LearningContentRepository learningContentRepository;
+
+    @Autowired
+    private EnrollmentRepository enrollmentRepository;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void deleteCourseUsesConstantNumberOfStatements() {
+        Long smallCourse = createCourse(1, 1);
+        Long largeCourse = createCourse(30, 20);
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+
+        statistics.clear();
+        courseService.deleteCourse(smallCourse);
+        long smallStatements = statistics.getPrepareStatementCount();
+
+        statistics.clear();
+        courseService.deleteCourse(largeCourse);
+        long largeStatements = statistics.getPrepareStatementCount();
+
+        // Je ein DELETE pro Tabelle, unabhängig von der Zahl der Lernpfade, Inhalte und Enrollments
+        assertThat(largeStatements).isEqualTo(smallStatements);
+        assertRemoved(smallCourse);
+        assertRemoved(largeCourse);
+    }
+
+    @Test
+    void purgeDeletesInChunks() {
+        // 60 Inhalte und 20 Enrollments bei chunk-size=7
+        Long courseId = createCourse(30, 20);
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+
+        coursePurgeService.purge(courseId);
+
+        // Hibernate zählt keine Ausführungen von DML-Queries. Vor jedem Block-DELETE liest der Purge die nächsten
+        // IDs; die letzte Abfrage ist leer, ceil(20 / 7) = 3 und ceil(60 / 7) = 9 Blöcke ergeben 4 und 10 Abfragen
+        long enrollmentChunks = statistics.getQueryStatistics(
+                "SELECT e.id FROM EnrollmentEntity e WHERE e.course.id = :courseId ORDER BY e.id").getExecutionCount();
+        long contentChunks = statistics.getQueryStatistics(
+                "SELECT c.id FROM LearningContentEntity c WHERE c.learningPath.course.id = :courseId ORDER BY c.id").getExecutionCount();
+        assertThat(enrollmentChunks).isGreaterThanOrEqualTo(4);
+        assertThat(contentChunks).isGreaterThanOrEqualTo(10);
+        // Jeder Block in einer eigenen Transaktion
+        assertThat(statistics.getTransactionCount()).isGreaterThanOrEqualTo(enrollmentChunks + contentChunks);
+        assertRemoved(courseId);
+    }
+
+    private void assertRemoved(Long courseId) {
+        assertThat(courseRepository.existsById(courseId)).isFalse();
+        assertThat(learningPathRepository.findByCourseId(courseId)).isEmpty();
+        assertThat(enrollmentRepository.countByCourseId(courseId)).isZero();
+        assertThat(learningContentRepository.findIdsByCourseId(courseId, Limit.of(1))).isEmpty();
+    }
+
+    private Long createCourse(int contentsPerPath, int users) {
+        CourseEntity course = fixtures.course();
+        LearningPathEntity first = fixtures.path(course);
+        LearningPathEntity second = fixtures.path(course, "Profis", 300);
+        for (int i = 1; i <= contentsPerPath; i++) {
+            courseService.createContent(first.getId(), new LearningContentRequest("Inhalt " + i, "TEXT", null, null, 5, i));
+            courseService.createContent(second.getId(), new LearningContentRequest("Inhalt " + i, "TEXT", null, null, 5, i));
+        }
+        List<UserEntity> enrolled = fixtures.users(users);
+        for (int i = 0; i < enrolled.size(); i++) {
+            fixtures.enroll(enrolled.get(i), course, i % 2 == 0 ? first : second);
+        }
+        return course.getId();
+    }
+}
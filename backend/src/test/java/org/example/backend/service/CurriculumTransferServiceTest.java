@@ -0,0 +1,133 @@
+package org.example.backend.service;
+
+import org.example.backend.dto.CourseResponse;
+import org.example.backend.dto.LearningContentResponse;
+import org.example.backend.dto.LearningPathResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class CurriculumTransferServiceTest {
+
+    @Autowired
+    private CurriculumTransferService curriculumTransferService;
+
+    @Autowired
+    private CourseService courseService;
+
+    @Test
+    void importCreatesOrderedCurriculumAndExportRoundTrips() throws Exception {
+        String name = "Import-" + UUID.randomUUID();
+        StringBuilder jsonl = new StringBuilder()
+                .append("{\"kind\":\"course\",\"ref\":\"k\",\"name\":\"").append(name).append("\",\"description\":\"Importiert\"}\n");
+        for (int p = 0; p < 2; p++) {
+            jsonl.append("{\"kind\":\"path\",\"ref\":\"p").append(p).append("\",\"course\":\"k\",\"level\":\"Stufe ")
+                    .append(p).append("\",\"points\":100,\"durationWeeks\":4}\n");
+        }
+        // Inhalte der Pfade abwechselnd, die Reihenfolge je Pfad ergibt sich aus der Dateireihenfolge
+        for (int i = 0; i < 600; i++) {
+            jsonl.append("{\"kind\":\"content\",\"path\":\"p").append(i % 2).append("\",\"title\":\"Inhalt ")
+                    .append(i).append("\",\"type\":\"TEXT\",\"points\":5}\n");
+        }
+
+        CurriculumTransferService.ImportResult result = curriculumTransferService.importCurriculum(
+                new ByteArrayInputStream(jsonl.toString().getBytes(StandardCharsets.UTF_8)));
+
+        assertThat(result).isEqualTo(new CurriculumTransferService.ImportResult(1, 2, 600));
+        CourseResponse course = courseService.getCourseResponseByName(name).orElseThrow();
+        assertThat(course.learningPaths()).hasSize(2);
+        LearningPathResponse first = course.learningPaths().get(0);
+        List<LearningContentResponse> contents = courseService.getContentsByLearningPathId(first.id());
+        assertThat(contents).hasSize(300);
+        assertThat(contents.get(0).title()).isEqualTo("Inhalt 0");
+        assertThat(contents.get(1).title()).isEqualTo("Inhalt 2");
+        assertThat(contents.get(299).orderIndex()).isEqualTo(300);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        curriculumTransferService.exportCurriculum(course.id(), out);
+        List<String> lines = out.toString(StandardCharsets.UTF_8).lines().toList();
+        assertThat(lines).hasSize(603);
+        assertThat(lines.get(0)).contains("\"kind\":\"course\"", name);
+        assertThat(lines.get(3)).contains("\"kind\":\"content\"", "\"path\":\"path-" + first.id() + "\"", "Inhalt 0");
+    }
+
+    @Test
+    void invalidLineRollsBackWholeImport() {
+        String name = "Import-" + UUID.randomUUID();
+        // Genug Inhalte, damit vor der fehlerhaften Zeile bereits ein Batch geschrieben wurde
+        StringBuilder jsonl = new StringBuilder()
+                .append("{\"kind\":\"course\",\"ref\":\"k\",\"name\":\"").append(name).append("\"}\n")
+                .append("{\"kind\":\"path\",\"ref\":\"p\",\"course\":\"k\",\"level\":\"Anfänger\",\"points\":100,\"durationWeeks\":4}\n");
+        for (int i = 0; i < 510; i++) {
+            jsonl.append("{\"kind\":\"content\",\"path\":\"p\",\"title\":\"Inhalt\",\"type\":\"TEXT\",\"points\":5}\n");
+        }
+        jsonl.append("{\"kind\":\"content\",\"path\":\"unbekannt\",\"title\":\"Inhalt\",\"type\":\"TEXT\",\"points\":5}\n");
+
+        assertThatThrownBy(() -> curriculumTransferService.importCurriculum(
+                new ByteArrayInputStream(jsonl.toString().getBytes(StandardCharsets.UTF_8))))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Line 513");
+        assertThat(courseService.getCourseByName(name)).isEmpty();
+    }
+
+    @Test
+    void abortedUploadRollsBackWholeImport() {
+        String name = "Import-" + UUID.randomUUID();
+        StringBuilder jsonl = new StringBuilder()
+                .append("{\"kind\":\"course\",\"ref\":\"k\",\"name\":\"").append(name).append("\"}\n")
+                .append("{\"kind\":\"path\",\"ref\":\"p\",\"course\":\"k\",\"level\":\"Anfänger\",\"points\":100,\"durationWeeks\":4}\n");
+        for (int i = 0; i < 1000; i++) {
+            jsonl.append("{\"kind\":\"content\",\"path\":\"p\",\"title\":\"Inhalt\",\"type\":\"TEXT\",\"points\":5}\n");
+        }
+        byte[] bytes = jsonl.toString().getBytes(StandardCharsets.UTF_8);
+
+        // Verbindung reißt nach gut zwei Dritteln ab, ein Batch ist dann bereits geschrieben
+        assertThatThrownBy(() -> curriculumTransferService.importCurriculum(
+                new AbortingInputStream(new ByteArrayInputStream(bytes), bytes.length * 2 / 3)))
+                .isInstanceOf(IOException.class);
+        assertThat(courseService.getCourseByName(name)).isEmpty();
+    }
+
+    private static final class AbortingInputStream extends FilterInputStream {
+
+        private int remaining;
+
+        AbortingInputStream(InputStream in, int limit) {
+            super(in);
+            this.remaining = limit;
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] single = new byte[1];
+            return read(single, 0, 1) == -1 ? -1 : single[0] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (remaining <= 0) {
+                throw new IOException("Connection reset");
+            }
+            int read = super.read(b, off, Math.min(len, remaining));
+            if (read > 0) {
+                remaining -= read;
+            }
+            return read;
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package org.example.backend.service;
+
+import org.example.backend.TestFixtures;
+import org.example.backend.entity.CourseEntity;
+import org.example.backend.entity.EnrollmentEntity;
+import org.example.backend.entity.LearningPathEntity;
+import org.example.backend.repository.EnrollmentRepository;
+import org.example.backend.statistics.PlatformStatistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class EnrollmentConcurrencyTest {
+
+    private static final int WRITERS = 64;
+
+    @Autowired
+    private EnrollmentService enrollmentService;
+
+    @Autowired
+    private EnrollmentRepository enrollmentRepository;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Autowired
+    private PlatformStatistics platformStatistics;
+
+    @Test
+    void concurrentAtomicUpdatesKeepHighestProgressAndCompleteOnce() throws Exception {
+        Long enrollmentId = createEnrollment();
+        platformStatistics.reconcile();
+        long completionsBefore = platformStatistics.snapshot().getTotalCertificates();
+
+        // Schreiber i meldet Fortschritt 37 + i, die letzten Schreiber also >= 100
+        runConcurrently(i -> enrollmentService.updateProgress(enrollmentId, Math.min(100, 37 + i)));
+
+        EnrollmentEntity stored = enrollmentRepository.findById(enrollmentId).orElseThrow();
+        assertThat(stored.getProgress()).isEqualTo(100);
+        assertThat(stored.getCompleted()).isTrue();
+        assertThat(stored.getCompletedAt()).isNotNull();
+        // Jeder Schreiber erhöht die Version, der Abschluss genau einmal zusätzlich
+        assertThat(stored.getVersion()).isEqualTo(WRITERS + 1);
+        assertThat(platformStatistics.snapshot().getTotalCertificates()).isEqualTo(completionsBefore + 1);
+    }
+
+    @Test
+    void concurrentOverridesNeverSilentlyLoseUpdates() throws Exception {
+        Long enrollmentId = createEnrollment();
+        // Alle Admins haben denselben Stand geladen
+        long loaded = enrollmentRepository.findById(enrollmentId).orElseThrow().getVersion();
+        AtomicInteger succeeded = new AtomicInteger();
+        AtomicInteger conflicts = new AtomicInteger();
+
+        runConcurrently(i -> {
+            try {
+                // Werte ab 1, damit jeder Schreiber tatsächlich etwas ändert
+                enrollmentService.overrideProgress(enrollmentId, i + 1, loaded);
+                succeeded.incrementAndGet();
+            } catch (ObjectOptimisticLockingFailureException e) {
+                conflicts.incrementAndGet();
+            }
+        });
+
+        // Genau eine Korrektur greift, alle anderen wurden abgewiesen statt überschrieben
+        EnrollmentEntity stored = enrollmentRepository.findById(enrollmentId).orElseThrow();
+        assertThat(succeeded.get()).isEqualTo(1);
+        assertThat(conflicts.get()).isEqualTo(WRITERS - 1);
+        assertThat(stored.getVersion()).isEqualTo(loaded + 1);
+    }
+
+    @Test
+    void overrideOnStaleVersionIsRejectedAfterProgressUpdate() {
+        Long enrollmentId = createEnrollment();
+        long loaded = enrollmentRepository.findById(enrollmentId).orElseThrow().getVersion();
+
+        // Zwischen Laden im Dashboard und Speichern meldet der Student Fortschritt
+        enrollmentService.updateProgress(enrollmentId, 70);
+
+        assertThatThrownBy(() -> enrollmentService.overrideProgress(enrollmentId, 20, loaded))
+                .isInstanceOf(ObjectOptimisticLockingFailureException.class);
+        assertThat(enrollmentRepository.findById(enrollmentId).orElseThrow().getProgress()).isEqualTo(70);
+
+        long current = enrollmentRepository.findById(enrollmentId).orElseThrow().getVersion();
+        assertThat(enrollmentService.overrideProgress(enrollmentId, 20, current).getProgress()).isEqualTo(20);
+    }
+
+    private void runConcurrently(WriterTask task) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(WRITERS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < WRITERS; i++) {
+                int writer = i;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    task.run(writer);
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private Long createEnrollment() {
+        CourseEntity course = fixtures.course();
+        LearningPathEntity path = fixtures.path(course);
+        return fixtures.enroll(course, path);
+    }
+
+    @FunctionalInterface
+    private interface WriterTask {
+        void run(int writer);
+    }
+}
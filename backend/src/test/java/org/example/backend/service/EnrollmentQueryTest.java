@@ -0,0 +1,108 @@
+package org.example.backend.service;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.example.backend.TestFixtures;
+import org.example.backend.dto.EnrollmentResponse;
+import org.example.backend.dto.UserStatsResponse;
+import org.example.backend.entity.CourseEntity;
+import org.example.backend.entity.EnrollmentEntity;
+import org.example.backend.entity.LearningPathEntity;
+import org.example.backend.entity.UserEntity;
+import org.example.backend.repository.EnrollmentRepository;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class EnrollmentQueryTest {
+
+    @Autowired
+    private EnrollmentService enrollmentService;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Autowired
+    private EnrollmentRepository enrollmentRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void thousandEnrollmentsAreLoadedWithOneStatement() {
+        CourseEntity course = fixtures.course();
+        LearningPathEntity beginner = fixtures.path(course);
+        LearningPathEntity advanced = fixtures.path(course, "Profis", 300);
+
+        List<UserEntity> users = fixtures.users(500);
+        List<EnrollmentEntity> enrollments = new ArrayList<>();
+        for (UserEntity user : users) {
+            enrollments.add(new EnrollmentEntity(user, course, beginner));
+            enrollments.add(new EnrollmentEntity(user, course, advanced));
+        }
+        enrollmentRepository.saveAll(enrollments);
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+
+        statistics.clear();
+        List<EnrollmentResponse> courseEnrollments = enrollmentService.getCourseEnrollments(course.getId());
+        assertThat(courseEnrollments).hasSize(1000);
+        assertThat(courseEnrollments).allSatisfy(enrollment -> {
+            assertThat(enrollment.getUsername()).startsWith("u-");
+            assertThat(enrollment.getCourseName()).isEqualTo(course.getName());
+            assertThat(enrollment.getLearningPathLevel()).isIn("Anfänger", "Profis");
+        });
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+
+        statistics.clear();
+        List<EnrollmentResponse> page = enrollmentService.getEnrollments(courseEnrollments.get(0).getId() - 1, Limit.of(1000));
+        assertThat(page).hasSize(1000);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+
+        statistics.clear();
+        assertThat(enrollmentService.getUserEnrollments(users.get(0).getId())).hasSize(2);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void userStatsAreAggregatedInOneStatement() {
+        CourseEntity course = fixtures.course();
+        LearningPathEntity beginner = fixtures.path(course);
+        LearningPathEntity advanced = fixtures.path(course, "Profis", 300);
+        UserEntity user = fixtures.user();
+
+        EnrollmentEntity done = new EnrollmentEntity(user, course, beginner);
+        done.setProgress(100);
+        done.setCompleted(true);
+        EnrollmentEntity running = new EnrollmentEntity(user, course, advanced);
+        running.setProgress(50);
+        enrollmentRepository.saveAll(List.of(done, running));
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+        UserStatsResponse stats = enrollmentService.getUserStats(user.getId());
+
+        assertThat(stats.getTotalEnrollments()).isEqualTo(2);
+        assertThat(stats.getCompletedCourses()).isEqualTo(1);
+        assertThat(stats.getAverageProgress()).isEqualTo(75.0);
+        assertThat(stats.getLastActivity()).isNotNull();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+
+        UserStatsResponse empty = enrollmentService.getUserStats(-1L);
+        assertThat(empty.getTotalEnrollments()).isZero();
+        assertThat(empty.getAverageProgress()).isZero();
+        assertThat(empty.getLastActivity()).isNull();
+    }
+}
@@ -0,0 +1,91 @@
+package org.example.backend.service;
+
+import org.example.backend.TestFixtures;
+import org.example.backend.repository.SeminarFileRepository;
+import org.example.backend.repository.SeminarRepository;
+import org.example.backend.storage.LocalFileSystemBlobStorage;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class FileUploadServiceTest {
+
+    @Autowired
+    private SeminarRepository seminarRepository;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Autowired
+    private SeminarFileRepository seminarFileRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @TempDir
+    private Path storageRoot;
+
+    @Test
+    void failedBatchUploadRemovesAlreadyWrittenFilesAndSavesNothing() throws IOException {
+        List<String> written = new ArrayList<>();
+        AtomicInteger writes = new AtomicInteger();
+        // Der zweite Schreibvorgang schlägt fehl, der erste ist dann bereits im Storage
+        LocalFileSystemBlobStorage storage = new LocalFileSystemBlobStorage(storageRoot) {
+            @Override
+            public void put(String key, InputStream content, long contentLength, String contentType) throws IOException {
+                if (writes.incrementAndGet() == 2) {
+                    throw new IOException("disk full");
+                }
+                super.put(key, content, contentLength, contentType);
+                written.add(key);
+            }
+        };
+        // Ein Worker: die Dateien werden in Reihenfolge geschrieben
+        FileUploadService uploadService = new FileUploadService(seminarFileRepository, seminarRepository, storage,
+                eventPublisher, 1, 4);
+
+        Long seminarId = fixtures.seminar().getId();
+
+        List<MultipartFile> files = List.of(file("eins.txt"), file("zwei.txt"), file("drei.txt"));
+        try {
+            assertThatThrownBy(() -> uploadService.uploadFiles(seminarId, files, "Dozent", null))
+                    .isInstanceOf(IOException.class)
+                    .hasMessageContaining("disk full");
+        } finally {
+            uploadService.shutdown();
+        }
+
+        assertThat(written).isNotEmpty();
+        for (String key : written) {
+            assertThat(storage.exists(key)).as(key).isFalse();
+        }
+        try (Stream<Path> remaining = Files.walk(storageRoot)) {
+            assertThat(remaining.filter(Files::isRegularFile)).isEmpty();
+        }
+        assertThat(seminarFileRepository.findBySeminarIdOrderByUploadTimeDesc(seminarId)).isEmpty();
+    }
+
+    private static MultipartFile file(String name) {
+        return new MockMultipartFile("files", name, "text/plain", ("Inhalt von " + name).getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,141 @@
+package org.example.backend.service;
+
+import org.example.backend.TestFixtures;
+import org.example.backend.entity.SeminarEntity;
+import org.example.backend.entity.SeminarFileEntity;
+import org.example.backend.event.SeminarFileUploadedEvent;
+import org.example.backend.media.DocumentCompressor;
+import org.example.backend.media.MediaPreviewRenderer;
+import org.example.backend.repository.SeminarFileRepository;
+import org.example.backend.repository.SeminarRepository;
+import org.example.backend.storage.BlobStorage;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Volle Warteschlange: der hochladende Thread verarbeitet im After-Commit-Callback selbst
+@SpringBootTest
+@ActiveProfiles("test")
+class MediaProcessingQueueTest {
+
+    @Autowired
+    private SeminarRepository seminarRepository;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Autowired
+    private SeminarFileRepository seminarFileRepository;
+
+    @Autowired
+    private MediaPreviewRenderer renderer;
+
+    @Autowired
+    private DocumentCompressor compressor;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void callerRunsInsideAfterCommitStillStoresResult() throws Exception {
+        SeminarEntity seminar = fixtures.seminar();
+        Long seminarId = seminar.getId();
+
+        SeminarFileEntity blocking = seminarFileRepository.save(file(seminar));
+        SeminarFileEntity queued = seminarFileRepository.save(file(seminar));
+
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        BlobStorage storage = new InMemoryBlobStorage(blocking.getFilePath(), started, release);
+        MediaProcessingService service = new MediaProcessingService(seminarFileRepository, storage, renderer, compressor,
+                transactionManager, 1, 1, 32, 64);
+        try {
+            service.onFileUploaded(new SeminarFileUploadedEvent(blocking.getId()));
+            assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+            service.onFileUploaded(new SeminarFileUploadedEvent(queued.getId()));
+
+            // Wie beim Upload: Datei in einer Transaktion speichern, Verarbeitung nach dem Commit anstoßen
+            Long inlineId = new TransactionTemplate(transactionManager).execute(status -> {
+                Long id = seminarFileRepository.save(file(seminarRepository.findById(seminarId).orElseThrow())).getId();
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        service.onFileUploaded(new SeminarFileUploadedEvent(id));
+                    }
+                });
+                return id;
+            });
+
+            assertThat(seminarFileRepository.findById(inlineId).orElseThrow().getProcessingStatus())
+                    .isEqualTo(SeminarFileEntity.ProcessingStatus.SKIPPED);
+        } finally {
+            release.countDown();
+            service.shutdown();
+        }
+    }
+
+    private static SeminarFileEntity file(SeminarEntity seminar) {
+        SeminarFileEntity file = new SeminarFileEntity();
+        String name = UUID.randomUUID() + ".bin";
+        file.setSeminar(seminar);
+        file.setFileName(name);
+        file.setOriginalFileName("daten.bin");
+        file.setFilePath("seminars/" + name);
+        file.setFileType("DOCUMENT");
+        file.setFileSize(4L);
+        file.setProcessingStatus(SeminarFileEntity.ProcessingStatus.PENDING);
+        return file;
+    }
+
+    // Hält den Worker beim Lesen der ersten Datei fest, bis der Test ihn freigibt
+    private record InMemoryBlobStorage(String blockingKey, CountDownLatch started, CountDownLatch release) implements BlobStorage {
+
+        @Override
+        public void put(String key, InputStream content, long contentLength, String contentType) {
+        }
+
+        @Override
+        public InputStream open(String key) throws IOException {
+            if (key.equals(blockingKey)) {
+                started.countDown();
+                try {
+                    release.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IOException(e);
+                }
+            }
+            return new ByteArrayInputStream(new byte[]{1, 2, 3, 4});
+        }
+
+        @Override
+        public boolean exists(String key) {
+            return true;
+        }
+
+        @Override
+        public void delete(String key) {
+        }
+
+        @Override
+        public Optional<URI> presignedDownloadUrl(String key, String downloadFileName, String contentType) {
+            return Optional.empty();
+        }
+    }
+}
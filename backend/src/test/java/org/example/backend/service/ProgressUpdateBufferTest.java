@@ -0,0 +1,147 @@
+package org.example.backend.service;
+
+import org.example.backend.TestFixtures;
+import org.example.backend.entity.CourseEntity;
+import org.example.backend.entity.EnrollmentEntity;
+import org.example.backend.entity.LearningPathEntity;
+import org.example.backend.repository.EnrollmentRepository;
+import org.example.backend.statistics.PlatformStatistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// Ein zwischenzeitliches automatisches Leeren ändert die erwarteten Endstände nicht
+@SpringBootTest
+@ActiveProfiles("test")
+class ProgressUpdateBufferTest {
+
+    @Autowired
+    private EnrollmentService enrollmentService;
+
+    @Autowired
+    private ProgressUpdateBuffer progressUpdateBuffer;
+
+    @Autowired
+    private EnrollmentRepository enrollmentRepository;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Autowired
+    private PlatformStatistics platformStatistics;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ThreadPoolTaskScheduler taskScheduler;
+
+    @Test
+    void flushHasItsOwnSchedulerThread() {
+        // Flush, Punktevergabe, beide Abgleiche und Rollup laufen parallel statt nacheinander
+        assertThat(taskScheduler.getScheduledThreadPoolExecutor().getCorePoolSize()).isGreaterThanOrEqualTo(5);
+    }
+
+    @Test
+    void bufferedUpdatesAreCoalescedMonotonicAndCompleteOnce() {
+        CourseEntity course = fixtures.course();
+        LearningPathEntity path = fixtures.path(course);
+        Long enrollmentId = fixtures.enroll(course, path);
+
+        enrollmentService.recordProgress(enrollmentId, 30);
+        enrollmentService.recordProgress(enrollmentId, 80);
+        enrollmentService.recordProgress(enrollmentId, 50);
+        progressUpdateBuffer.flush();
+
+        EnrollmentEntity stored = enrollmentRepository.findById(enrollmentId).orElseThrow();
+        assertThat(stored.getProgress()).isEqualTo(80);
+        assertThat(stored.getCompleted()).isFalse();
+
+        // Ein späterer, niedrigerer Stand überschreibt den höheren nicht
+        enrollmentService.recordProgress(enrollmentId, 40);
+        progressUpdateBuffer.flush();
+        assertThat(enrollmentRepository.findById(enrollmentId).orElseThrow().getProgress()).isEqualTo(80);
+
+        platformStatistics.reconcile();
+        long completionsBefore = platformStatistics.snapshot().getTotalCertificates();
+        enrollmentService.recordProgress(enrollmentId, 100);
+        progressUpdateBuffer.flush();
+        stored = enrollmentRepository.findById(enrollmentId).orElseThrow();
+        assertThat(stored.getProgress()).isEqualTo(100);
+        assertThat(stored.getCompleted()).isTrue();
+        assertThat(stored.getCompletedAt()).isNotNull();
+        assertThat(platformStatistics.snapshot().getTotalCertificates()).isEqualTo(completionsBefore + 1);
+
+        // Erneutes Abschließen zählt nicht doppelt
+        enrollmentService.recordProgress(enrollmentId, 100);
+        progressUpdateBuffer.flush();
+        assertThat(platformStatistics.snapshot().getTotalCertificates()).isEqualTo(completionsBefore + 1);
+
+        assertThatThrownBy(() -> enrollmentService.recordProgress(enrollmentId, 101))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void overrideWaitsForFlushThatAlreadyDrainedTheEnrollment() throws Exception {
+        CourseEntity course = fixtures.course();
+        LearningPathEntity path = fixtures.path(course);
+        // Niedrigere ID: der Flush schreibt sie zuerst und bleibt an ihrer Sperre hängen
+        Long blockingId = createEnrollment(course, path, 10);
+        Long enrollmentId = createEnrollment(course, path, 50);
+        // Stand, den der Admin im Dashboard geladen hat
+        long loaded = enrollmentRepository.findById(enrollmentId).orElseThrow().getVersion();
+
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Void> lockHolder = CompletableFuture.runAsync(() -> transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.queryForList("SELECT id FROM enrollments WHERE id = ? FOR UPDATE", blockingId);
+            locked.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }));
+        assertThat(locked.await(5, TimeUnit.SECONDS)).isTrue();
+
+        enrollmentService.recordProgress(blockingId, 20);
+        enrollmentService.recordProgress(enrollmentId, 80);
+        CompletableFuture<Void> flushing = CompletableFuture.runAsync(progressUpdateBuffer::flush);
+        while (progressUpdateBuffer.pendingCount() > 0) {
+            Thread.sleep(5);
+        }
+        // Der Flush hat 80 entnommen, aber noch nicht geschrieben
+        CompletableFuture<Void> override = CompletableFuture.runAsync(() -> enrollmentService.overrideProgress(enrollmentId, 20, loaded));
+        Thread.sleep(100);
+        release.countDown();
+        lockHolder.get(5, TimeUnit.SECONDS);
+        flushing.get(5, TimeUnit.SECONDS);
+
+        // Die Korrektur wartet auf den Flush und trifft dann auf eine neuere Version, statt zu gelingen
+        // und anschließend per GREATEST wieder überschrieben zu werden
+        assertThatThrownBy(() -> override.get(5, TimeUnit.SECONDS))
+                .hasCauseInstanceOf(ObjectOptimisticLockingFailureException.class);
+        assertThat(enrollmentRepository.findById(enrollmentId).orElseThrow().getProgress()).isEqualTo(80);
+    }
+
+    private Long createEnrollment(CourseEntity course, LearningPathEntity path, int progress) {
+        EnrollmentEntity enrollment = new EnrollmentEntity(fixtures.user(), course, path);
+        enrollment.setProgress(progress);
+        return enrollmentRepository.save(enrollment).getId();
+    }
+}
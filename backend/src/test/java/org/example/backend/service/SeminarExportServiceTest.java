@@ -0,0 +1,147 @@
+package org.example.backend.service;
+
+import org.example.backend.TestFixtures;
+import org.example.backend.entity.SeminarEntity;
+import org.example.backend.entity.SeminarFileEntity;
+import org.example.backend.entity.StudentSubmissionEntity;
+import org.example.backend.repository.SeminarFileRepository;
+import org.example.backend.repository.SeminarRepository;
+import org.example.backend.repository.StudentSubmissionRepository;
+import org.example.backend.storage.BlobStorage;
+import org.example.backend.storage.LocalFileSystemBlobStorage;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class SeminarExportServiceTest {
+
+    @Autowired
+    private SeminarRepository seminarRepository;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Autowired
+    private SeminarFileRepository seminarFileRepository;
+
+    @Autowired
+    private StudentSubmissionRepository submissionRepository;
+
+    @TempDir
+    private Path storageRoot;
+
+    @Test
+    void archiveStoresPrecompressedFilesWithValidCrcAndUniqueSafeNames() throws IOException {
+        BlobStorage storage = new LocalFileSystemBlobStorage(storageRoot);
+        SeminarExportService exportService = new SeminarExportService(seminarRepository, seminarFileRepository,
+                submissionRepository, storage);
+
+        SeminarEntity seminar = fixtures.seminar();
+
+        byte[] firstImage = bytes("erstes Bild");
+        byte[] secondImage = bytes("zweites Bild");
+        byte[] notes = bytes("Notizen ".repeat(100));
+        byte[] secret = bytes("kein Pfad");
+        // Ohne gespeicherte CRC muss sie vor dem STORED-Eintrag berechnet werden
+        storeMaterial(storage, seminar, "bild.jpg", firstImage, null);
+        storeMaterial(storage, seminar, "bild.jpg", secondImage, crc(secondImage));
+        storeMaterial(storage, seminar, "notizen.txt", notes, null);
+        storeMaterial(storage, seminar, "../../etc/passwd", secret, null);
+
+        byte[] submission = bytes("Abgabe");
+        storage.put("submissions/abgabe.pdf", new ByteArrayInputStream(submission), submission.length, "application/pdf");
+        submissionRepository.save(submission(seminar, "Max/Muster", StudentSubmissionEntity.SubmissionType.DOCUMENT,
+                "submissions/abgabe.pdf", "abgabe.pdf", (long) submission.length));
+        submissionRepository.save(submission(seminar, "Erika", StudentSubmissionEntity.SubmissionType.LINK,
+                "https://example.org/repo", null, null));
+
+        List<SeminarExportService.ExportEntry> entries = exportService.collectEntries(seminar.getId(), true);
+        ByteArrayOutputStream archive = new ByteArrayOutputStream();
+        exportService.writeArchive(entries, archive);
+
+        Map<String, byte[]> contents = new HashMap<>();
+        Map<String, Integer> methods = new HashMap<>();
+        // ZipInputStream prüft beim Lesen von STORED-Einträgen Größe und CRC
+        try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(archive.toByteArray()))) {
+            for (ZipEntry entry = zip.getNextEntry(); entry != null; entry = zip.getNextEntry()) {
+                contents.put(entry.getName(), zip.readAllBytes());
+                methods.put(entry.getName(), entry.getMethod());
+            }
+        }
+
+        assertThat(contents.keySet()).containsExactlyInAnyOrder(
+                "materialien/bild.jpg",
+                "materialien/bild (2).jpg",
+                "materialien/notizen.txt",
+                "materialien/__.._etc_passwd",
+                "abgaben/Max_Muster/abgabe.pdf");
+        assertThat(List.of(contents.get("materialien/bild.jpg"), contents.get("materialien/bild (2).jpg")))
+                .containsExactlyInAnyOrder(firstImage, secondImage);
+        assertThat(contents.get("materialien/notizen.txt")).isEqualTo(notes);
+        assertThat(contents.get("materialien/__.._etc_passwd")).isEqualTo(secret);
+        assertThat(contents.get("abgaben/Max_Muster/abgabe.pdf")).isEqualTo(submission);
+
+        assertThat(methods.get("materialien/bild.jpg")).isEqualTo(ZipEntry.STORED);
+        assertThat(methods.get("materialien/bild (2).jpg")).isEqualTo(ZipEntry.STORED);
+        assertThat(methods.get("materialien/notizen.txt")).isEqualTo(ZipEntry.DEFLATED);
+    }
+
+    private void storeMaterial(BlobStorage storage, SeminarEntity seminar, String originalFileName,
+                               byte[] content, Long crc32) throws IOException {
+        String fileName = UUID.randomUUID().toString();
+        SeminarFileEntity file = new SeminarFileEntity();
+        file.setSeminar(seminar);
+        file.setFileName(fileName);
+        file.setOriginalFileName(originalFileName);
+        file.setFilePath("seminars/" + fileName);
+        file.setFileType("DOCUMENT");
+        file.setFileSize((long) content.length);
+        file.setCrc32(crc32);
+        storage.put(file.getFilePath(), new ByteArrayInputStream(content), content.length, "application/octet-stream");
+        seminarFileRepository.save(file);
+    }
+
+    private static StudentSubmissionEntity submission(SeminarEntity seminar, String studentName,
+                                                      StudentSubmissionEntity.SubmissionType type,
+                                                      String contentUrl, String fileName, Long fileSize) {
+        StudentSubmissionEntity submission = new StudentSubmissionEntity();
+        submission.setSeminar(seminar);
+        submission.setStudentId(1L);
+        submission.setStudentName(studentName);
+        submission.setTitle("Abgabe");
+        submission.setSubmissionType(type);
+        submission.setContentUrl(contentUrl);
+        submission.setFileName(fileName);
+        submission.setFileSize(fileSize);
+        return submission;
+    }
+
+    private static byte[] bytes(String text) {
+        return text.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static long crc(byte[] content) {
+        CRC32 crc = new CRC32();
+        crc.update(content);
+        return crc.getValue();
+    }
+}
@@ -0,0 +1,70 @@
+package org.example.backend.statistics;
+
+import org.example.backend.TestFixtures;
+import org.example.backend.dto.AdminStatisticsResponse;
+import org.example.backend.dto.EnrollmentRequest;
+import org.example.backend.dto.EnrollmentResponse;
+import org.example.backend.entity.CourseEntity;
+import org.example.backend.entity.LearningPathEntity;
+import org.example.backend.entity.UserEntity;
+import org.example.backend.service.CourseService;
+import org.example.backend.service.EnrollmentService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class PlatformStatisticsTest {
+
+    @Autowired
+    private PlatformStatistics platformStatistics;
+
+    @Autowired
+    private CourseService courseService;
+
+    @Autowired
+    private EnrollmentService enrollmentService;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void countersFollowCommittedChangesAndMatchReconcile() {
+        platformStatistics.reconcile();
+        AdminStatisticsResponse before = platformStatistics.snapshot();
+
+        CourseEntity course = fixtures.course();
+        LearningPathEntity path = fixtures.path(course);
+        UserEntity user = fixtures.user();
+        EnrollmentResponse enrollment = enrollmentService.enrollUser(new EnrollmentRequest(user.getId(), course.getId(), path.getId()));
+        enrollmentService.updateProgress(enrollment.getId(), 100);
+
+        // Zurückgerollte Änderungen dürfen nicht mitzählen
+        transactionTemplate.executeWithoutResult(status -> {
+            fixtures.course();
+            status.setRollbackOnly();
+        });
+
+        AdminStatisticsResponse after = platformStatistics.snapshot();
+        assertThat(after.getTotalCourses()).isEqualTo(before.getTotalCourses() + 1);
+        assertThat(after.getTotalStudents()).isEqualTo(before.getTotalStudents() + 1);
+        assertThat(after.getTotalEnrollments()).isEqualTo(before.getTotalEnrollments() + 1);
+        assertThat(after.getTotalCertificates()).isEqualTo(before.getTotalCertificates() + 1);
+
+        platformStatistics.reconcile();
+        AdminStatisticsResponse reconciled = platformStatistics.snapshot();
+        assertThat(reconciled).usingRecursiveComparison().isEqualTo(after);
+
+        courseService.deleteCourse(course.getId());
+        assertThat(platformStatistics.snapshot().getTotalEnrollments()).isEqualTo(before.getTotalEnrollments());
+        assertThat(platformStatistics.snapshot().getTotalCertificates()).isEqualTo(before.getTotalCertificates());
+    }
+}
@@ -1,6 +1,7 @@
 import { useState, useEffect } from 'react';
 import { useNavigate } from 'react-router-dom';
 import axios from 'axios';
+import { fetchAllPages } from './sevices/pagination';
 import './AdminDashboard.css';
 import devopsIcon from './assets/devops-icon.png';
 import kurseIcon from './assets/kurse.webp';
@@ -53,6 +54,7 @@ interface Enrollment {
     progress: number;
     completed: boolean;
     completedAt?: string;
+    version: number;
 }
 
 interface LearningPath {
@@ -193,9 +195,9 @@ function AdminDashboard() {
     const loadBooks = async () => {
         setLoading(true);
         try {
-            const response = await axios.get('http://localhost:8080/api/books');
-            setBooks(response.data);
-            console.log('Bücher geladen:', response.data);
+            const loadedBooks = await fetchAllPages<typeof books[number]>('http://localhost:8080/api/books');
+            setBooks(loadedBooks);
+            console.log('Bücher geladen:', loadedBooks);
         } catch (error) {
             console.error('Fehler beim Laden der Bücher:', error);
             // Fallback zu Demo-Daten, wenn API noch nicht implementiert ist
@@ -291,8 +293,7 @@ function AdminDashboard() {
     const loadStudents = async () => {
         setLoading(true);
         try {
-            const response = await axios.get('http://localhost:8080/api/users');
-            setStudents(response.data);
+            setStudents(await fetchAllPages<Student>('http://localhost:8080/api/users'));
         } catch (error) {
             console.error('Fehler beim Laden der Studenten:', error);
         } finally {
@@ -365,9 +366,9 @@ function AdminDashboard() {
     const loadTeachers = async () => {
         setLoading(true);
         try {
-            const response = await axios.get('http://localhost:8080/api/teachers');
-            console.log('Geladene Dozenten:', response.data);
-            setTeachers(response.data);
+            const loadedTeachers = await fetchAllPages<Teacher>('http://localhost:8080/api/teachers');
+            console.log('Geladene Dozenten:', loadedTeachers);
+            setTeachers(loadedTeachers);
         } catch (error) {
             console.error('Fehler beim Laden der Dozenten:', error);
         } finally {
@@ -449,9 +450,9 @@ function AdminDashboard() {
         console.log('loadCourses aufgerufen');
         setLoading(true);
         try {
-            const response = await axios.get('http://localhost:8080/api/courses');
-            console.log('Kurse geladen:', response.data);
-            setCourses(response.data);
+            const loadedCourses = await fetchAllPages<Course>('http://localhost:8080/api/courses');
+            console.log('Kurse geladen:', loadedCourses);
+            setCourses(loadedCourses);
         } catch (error) {
             console.error('Fehler beim Laden der Kurse:', error);
         } finally {
@@ -696,8 +697,7 @@ function AdminDashboard() {
     const loadEnrollments = async () => {
         setLoading(true);
         try {
-            const response = await axios.get('http://localhost:8080/api/enrollments');
-            setEnrollments(response.data);
+            setEnrollments(await fetchAllPages<Enrollment>('http://localhost:8080/api/enrollments'));
         } catch (error) {
             console.error('Fehler beim Laden der Einschreibungen:', error);
         } finally {
@@ -738,9 +738,11 @@ function AdminDashboard() {
         
         try {
             if (editingEnrollment) {
-                // Update Fortschritt
-                await axios.put(`http://localhost:8080/api/enrollments/${editingEnrollment.id}/progress`, {
-                    progress: enrollmentFormData.progress
+                // Update Fortschritt (exakt und sofort schreiben, die Liste wird direkt neu geladen);
+                // mit der geladenen Version, damit eine zwischenzeitliche Änderung mit 409 abgelehnt wird
+                await axios.put(`http://localhost:8080/api/enrollments/${editingEnrollment.id}/progress?override=true`, {
+                    progress: enrollmentFormData.progress,
+                    version: editingEnrollment.version
                 });
                 showToast('Fortschritt erfolgreich aktualisiert!', 'success');
             } else {
@@ -752,7 +754,7 @@ function AdminDashboard() {
             loadEnrollments();
         } catch (error: any) {
             console.error('Fehler beim Speichern:', error);
-            const errorMsg = error.response?.data?.message || 'Fehler beim Speichern';
+            const errorMsg = error.response?.data?.message || error.response?.data?.error || 'Fehler beim Speichern';
             showToast(errorMsg, 'error');
         }
     };
@@ -1,6 +1,7 @@
 import { useEffect, useState } from 'react';
 import { useNavigate, useSearchParams } from 'react-router-dom';
 import axios from 'axios';
+import { fetchAllPages } from './sevices/pagination';
 import './Campus.css';
 import devopsIcon from './assets/devops-icon.png';
 import cyberIcon from './assets/cyber.webp';
@@ -125,8 +126,7 @@ function Campus() {
 
     const loadCourses = async () => {
         try {
-            const response = await axios.get('http://localhost:8080/api/courses');
-            setCourses(response.data);
+            setCourses(await fetchAllPages<Course>('http://localhost:8080/api/courses'));
         } catch (error) {
             console.error('Fehler beim Laden der Kurse:', error);
         }
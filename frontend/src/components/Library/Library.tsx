@@ -1,5 +1,5 @@
 import React, { useState, useEffect } from 'react';
-import axios from 'axios';
+import { fetchAllPages } from '../../sevices/pagination';
 import { useNavigate } from 'react-router-dom';
 import './Library.css';
 
@@ -26,8 +26,7 @@ const Library: React.FC = () => {
     const loadBooks = async () => {
         try {
             setLoading(true);
-            const response = await axios.get('http://localhost:8080/api/books');
-            setBooks(response.data);
+            setBooks(await fetchAllPages<Book>('http://localhost:8080/api/books'));
             setError(null);
         } catch (err) {
             console.error('Fehler beim Laden der Bücher:', err);
@@ -0,0 +1,13 @@
+import axios from 'axios';
+
+// Die Listen-Endpunkte liefern seitenweise (Standard 100 Zeilen); folgt X-Next-Cursor, bis keine Seite mehr folgt
+export async function fetchAllPages<T>(url: string): Promise<T[]> {
+    const rows: T[] = [];
+    let after: string | undefined;
+    do {
+        const response = await axios.get<T[]>(url, { params: after ? { after } : undefined });
+        rows.push(...response.data);
+        after = response.headers['x-next-cursor'];
+    } while (after);
+    return rows;
+}